@@ -0,0 +1,224 @@
+package org.z3950.zing.cql.cql2pgjsoncli;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+
+/**
+ * Translate many CQL queries with a single CQL2PgJSON instance and measure the translation time.
+ *
+ * <p>Each input line contains a CQL query, optionally followed by a tab character and the
+ * expected SQL. Empty lines and lines starting with # are skipped.
+ *
+ * <p>The output contains the SQL of each query, errors, mismatches and the statistics are
+ * SQL comments so that the output can be passed to psql.
+ */
+class Batch {
+
+  static class Query {
+    final int lineNumber;
+    final String cql;
+    /** null if no expected SQL is given */
+    final String expectedSql;
+
+    Query(int lineNumber, String cql, String expectedSql) {
+      this.lineNumber = lineNumber;
+      this.cql = cql;
+      this.expectedSql = expectedSql;
+    }
+  }
+
+  private final CQL2PgJSON cql2pgJson;
+  private final String fromTable;
+  private boolean explain;
+  private boolean quiet;
+  private int repeat = 1;
+  private int failures;
+
+  /**
+   * @param cql2pgJson  the converter to use for all queries
+   * @param fromTable  the table name for the FROM clause, may include the schema name
+   */
+  Batch(CQL2PgJSON cql2pgJson, String fromTable) {
+    this.cql2pgJson = cql2pgJson;
+    this.fromTable = fromTable;
+  }
+
+  /**
+   * @param explain  whether to prefix the SQL with EXPLAIN (ANALYZE, BUFFERS)
+   */
+  Batch setExplain(boolean explain) {
+    this.explain = explain;
+    return this;
+  }
+
+  /**
+   * @param quiet  whether to output the statistics only
+   */
+  Batch setQuiet(boolean quiet) {
+    this.quiet = quiet;
+    return this;
+  }
+
+  /**
+   * @param repeat  how often to translate each query, at least 1
+   */
+  Batch setRepeat(int repeat) {
+    if (repeat < 1) {
+      throw new IllegalArgumentException("repeat must be at least 1: " + repeat);
+    }
+    this.repeat = repeat;
+    return this;
+  }
+
+  /**
+   * @return number of queries of the last run that failed or didn't match the expected SQL
+   */
+  int getFailures() {
+    return failures;
+  }
+
+  static List<Query> read(BufferedReader reader) throws IOException {
+    List<Query> queries = new ArrayList<>();
+    int lineNumber = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.trim().isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+      int tab = line.indexOf('\t');
+      if (tab < 0) {
+        queries.add(new Query(lineNumber, line, null));
+      } else {
+        queries.add(new Query(lineNumber, line.substring(0, tab), line.substring(tab + 1)));
+      }
+    }
+    return queries;
+  }
+
+  /**
+   * Translate the queries repeat times.
+   *
+   * <p>The latency statistics distinguish the first translation of a query, that includes
+   * the class loading and JIT warm-up of its code paths, from its repeated translations.
+   * CQL2PgJSON remembers the parse tree of the last query only, therefore a repeated
+   * translation directly after the same query skips the CQL parsing and is reported separately.
+   *
+   * @return the SQL of each query followed by the statistics
+   */
+  String run(List<Query> queries) {
+    StringBuilder out = new StringBuilder();
+    failures = 0;
+    Set<String> translated = new HashSet<>();
+    long [] all = new long [queries.size() * repeat];
+    long [] first = new long [queries.size()];
+    long [] repeated = new long [all.length];
+    long [] sameAsPrevious = new long [all.length];
+    int allCount = 0;
+    int firstCount = 0;
+    int repeatedCount = 0;
+    int sameAsPreviousCount = 0;
+    String previousCql = null;
+    long start = System.nanoTime();
+    for (int i = 0; i < repeat; i++) {
+      for (Query query : queries) {
+        String sql = null;
+        QueryValidationException exception = null;
+        long t0 = System.nanoTime();
+        try {
+          sql = CQL2PGCLIMain.parseCQL(cql2pgJson, fromTable, query.cql);
+        } catch (QueryValidationException e) {
+          exception = e;
+        }
+        long nanos = System.nanoTime() - t0;
+        all[allCount++] = nanos;
+        if (translated.add(query.cql)) {
+          first[firstCount++] = nanos;
+        } else if (query.cql.equals(previousCql)) {
+          sameAsPrevious[sameAsPreviousCount++] = nanos;
+        } else {
+          repeated[repeatedCount++] = nanos;
+        }
+        previousCql = query.cql;
+        if (i == 0) {
+          output(out, query, sql, exception);
+        }
+      }
+    }
+    long wallNanos = System.nanoTime() - start;
+
+    out.append(String.format(Locale.ROOT, "-- queries: %d (%d distinct), translations: %d, failures: %d%n",
+        queries.size(), translated.size(), allCount, failures));
+    out.append("-- latency all: ").append(percentiles(all, allCount)).append(System.lineSeparator());
+    out.append("-- latency first translation of a query: ")
+       .append(percentiles(first, firstCount)).append(System.lineSeparator());
+    out.append("-- latency repeated translation of a query, parsed again: ")
+       .append(percentiles(repeated, repeatedCount)).append(System.lineSeparator());
+    out.append("-- latency repeated translation directly after the same query, parse tree reused: ")
+       .append(percentiles(sameAsPrevious, sameAsPreviousCount)).append(System.lineSeparator());
+    out.append(String.format(Locale.ROOT,
+        "-- repeated translations: %.1f%%, throughput: %.0f translations/s",
+        allCount == 0 ? 0.0 : 100.0 * (repeatedCount + sameAsPreviousCount) / allCount,
+        wallNanos == 0 ? 0.0 : allCount * 1e9 / wallNanos));
+    return out.toString();
+  }
+
+  private void output(StringBuilder out, Query query, String sql, QueryValidationException exception) {
+    if (exception != null) {
+      failures++;
+      out.append("-- ERROR line ").append(query.lineNumber).append(": ")
+         .append(oneLine(exception.getMessage())).append(System.lineSeparator());
+      return;
+    }
+    if (query.expectedSql != null && ! query.expectedSql.equals(sql)) {
+      failures++;
+      out.append("-- MISMATCH line ").append(query.lineNumber).append(", expected: ")
+         .append(oneLine(query.expectedSql)).append(System.lineSeparator());
+    }
+    if (quiet) {
+      return;
+    }
+    if (explain) {
+      out.append("EXPLAIN (ANALYZE, BUFFERS) ").append(sql).append(';');
+    } else {
+      out.append(sql);
+    }
+    out.append(System.lineSeparator());
+  }
+
+  private static String oneLine(String s) {
+    return String.valueOf(s).replaceAll("[\r\n]+", " ");
+  }
+
+  /**
+   * @param nanos  the values, the first count values are used, will be sorted
+   * @return p50, p99 and max in milliseconds
+   */
+  static String percentiles(long [] nanos, int count) {
+    if (count == 0) {
+      return "-";
+    }
+    Arrays.sort(nanos, 0, count);
+    return String.format(Locale.ROOT, "p50 %.3f ms, p99 %.3f ms, max %.3f ms",
+        percentile(nanos, count, 50) / 1e6, percentile(nanos, count, 99) / 1e6, nanos[count - 1] / 1e6);
+  }
+
+  /**
+   * Nearest-rank percentile.
+   *
+   * @param sorted  the values, the first count values are sorted ascending
+   */
+  static long percentile(long [] sorted, int count, int percent) {
+    int rank = (int) Math.ceil(percent / 100.0 * count);
+    return sorted[Math.max(rank, 1) - 1];
+  }
+}
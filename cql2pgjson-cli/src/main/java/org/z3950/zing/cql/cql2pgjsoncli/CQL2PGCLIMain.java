@@ -1,6 +1,9 @@
 package org.z3950.zing.cql.cql2pgjsoncli;
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 import java.util.List;
@@ -24,6 +27,8 @@ public class CQL2PGCLIMain {
 
   /** allow to inject a different exit method for unit testing */
   static IntConsumer exit = System::exit;
+  /** number of failed queries of the last batch run, main exits with 1 if not 0 */
+  static int batchFailures;
   private static Logger logger = Logger.getLogger(CQL2PGCLIMain.class.getName());
 
   @SuppressWarnings({
@@ -33,6 +38,9 @@ public class CQL2PGCLIMain {
   public static void main( String[] args ) {
     try {
       System.out.println(handleOptions(args));
+      if (batchFailures > 0) {
+        exit.accept(1);
+      }
     } catch( Exception e ) {
       System.err.println(String.format("Got error %s, %s: ", e.getClass().toString(),
           e.getLocalizedMessage()));
@@ -64,9 +72,43 @@ public class CQL2PGCLIMain {
         .desc("Path to RMB-style schema.json to describe database")
         .build();
 
+    Option input = Option.builder("i")
+        .hasArg()
+        .required(false)
+        .desc("Batch mode: file with one CQL query per line, optionally followed by a tab "
+            + "and the expected SQL; - for stdin")
+        .build();
+
+    Option schema = Option.builder("s")
+        .hasArg()
+        .required(false)
+        .desc("Batch mode: Postgres schema name of the table for the FROM clause")
+        .build();
+
+    Option explain = Option.builder("x")
+        .required(false)
+        .desc("Batch mode: output EXPLAIN (ANALYZE, BUFFERS) statements")
+        .build();
+
+    Option quiet = Option.builder("q")
+        .required(false)
+        .desc("Batch mode: output errors, mismatches and statistics only")
+        .build();
+
+    Option repeat = Option.builder("r")
+        .hasArg()
+        .required(false)
+        .desc("Batch mode: translate each query this many times, default 1")
+        .build();
+
     options.addOption(database);
     options.addOption(field);
     options.addOption(dbschema);
+    options.addOption(input);
+    options.addOption(schema);
+    options.addOption(explain);
+    options.addOption(quiet);
+    options.addOption(repeat);
 
     CommandLineParser parser = new DefaultParser();
     CommandLine line = parser.parse(options, args);
@@ -76,11 +118,38 @@ public class CQL2PGCLIMain {
     if(line.hasOption("b")) {
       cql2pgJson.setDbSchemaPath(line.getOptionValue("b"));
     }
+    batchFailures = 0;
+    if (line.hasOption("i")) {
+      return batch(cql2pgJson, line);
+    }
     List<String> cliArgs = line.getArgList();
     String cql = cliArgs.get(0);
     return parseCQL(cql2pgJson, line.getOptionValue("t"), cql);
   }
 
+  private static String batch(CQL2PgJSON cql2pgJson, CommandLine line) throws IOException {
+    String fromTable = line.getOptionValue("t");
+    if (line.hasOption("s")) {
+      fromTable = line.getOptionValue("s") + "." + fromTable;
+    }
+    Batch batch = new Batch(cql2pgJson, fromTable)
+        .setExplain(line.hasOption("x"))
+        .setQuiet(line.hasOption("q"))
+        .setRepeat(Integer.parseInt(line.getOptionValue("r", "1")));
+    String path = line.getOptionValue("i");
+    List<Batch.Query> queries;
+    if ("-".equals(path)) {
+      queries = Batch.read(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)));
+    } else {
+      try (BufferedReader reader = Files.newBufferedReader(Paths.get(path), StandardCharsets.UTF_8)) {
+        queries = Batch.read(reader);
+      }
+    }
+    String output = batch.run(queries);
+    batchFailures = batch.getFailures();
+    return output;
+  }
+
   static String readFile(String path, Charset encoding) throws IOException
   {
     System.out.println("Reading file " + path);
@@ -1,8 +1,12 @@
 package org.z3950.zing.cql.cql2pgjsoncli;
 
 import java.io.IOException;
+import java.io.BufferedReader;
+import java.io.StringReader;
 import java.net.URISyntaxException;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Logger;
 
 import org.apache.commons.cli.ParseException;
@@ -11,6 +15,7 @@ import org.folio.cql2pgjson.exception.FieldException;
 import org.folio.cql2pgjson.exception.QueryValidationException;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -115,4 +120,80 @@ public class TestCLI {
   public void testCLIParseException() throws Exception {
     testCLI("=", null);
   }
+
+  private static final String QUERIES = "src/test/resources/queries.txt";
+
+  @Test
+  public void testBatch() throws Exception {
+    String output = handleOptions(new String[] { "-t", "instance", "-i", QUERIES });
+    logger.info(output);
+    String [] lines = output.split("\\R");
+    assertEquals("select * from instance where true", lines[0]);
+    assertTrue(lines[1].startsWith("select * from instance where true order by "));
+    assertTrue(lines[2].startsWith("-- ERROR line 5: "));
+    assertEquals("-- MISMATCH line 6, expected: select * from instance where false", lines[3]);
+    assertEquals("select * from instance where true", lines[4]);
+    assertEquals("-- queries: 4 (3 distinct), translations: 4, failures: 2", lines[5]);
+    assertTrue(lines[6].startsWith("-- latency all: p50 "));
+    assertEquals(2, CQL2PGCLIMain.batchFailures);
+  }
+
+  @Test
+  public void testBatchExplainQuietRepeat() throws Exception {
+    String output = handleOptions(new String[] { "-t", "instance", "-s", "diku_mod_inventory_storage",
+        "-x", "-r", "3", "-i", QUERIES });
+    assertTrue(output.contains(
+        "EXPLAIN (ANALYZE, BUFFERS) select * from diku_mod_inventory_storage.instance where true;"));
+    assertTrue(output.contains("-- queries: 4 (3 distinct), translations: 12, failures: 2"));
+    assertTrue(output.contains("-- repeated translations: 75.0%"));
+
+    output = handleOptions(new String[] { "-t", "instance", "-q", "-i", QUERIES });
+    assertFalse(output.contains("select * from instance where true order by"));
+    assertTrue(output.contains("-- MISMATCH line 6"));
+  }
+
+  @Test
+  public void testBatchSameAsPrevious() throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("instance.jsonb");
+    String output = new Batch(cql2pgJson, "instance").setQuiet(true).run(Arrays.asList(
+        new Batch.Query(1, "cql.allRecords=1", null),
+        new Batch.Query(2, "cql.allRecords=1", null),
+        new Batch.Query(3, "cql.allRecords=1 sortBy title", null)));
+    assertTrue(output.contains("-- queries: 3 (2 distinct), translations: 3, failures: 0"));
+    assertTrue(output.contains("-- latency repeated translation of a query, parsed again: -"));
+    assertTrue(output.contains("-- latency repeated translation directly after the same query, "
+        + "parse tree reused: p50 "));
+    assertTrue(output.contains("-- repeated translations: 33.3%"));
+  }
+
+  @Test
+  public void testBatchMainExitStatus() {
+    main("-t instance -i " + QUERIES);
+    assertEquals(1, exitStatus);
+  }
+
+  @Test
+  public void testBatchRead() throws Exception {
+    List<Batch.Query> queries = Batch.read(new BufferedReader(new StringReader("# comment\n\na=1\tb\nc=2\n")));
+    assertEquals(2, queries.size());
+    assertEquals(3, queries.get(0).lineNumber);
+    assertEquals("a=1", queries.get(0).cql);
+    assertEquals("b", queries.get(0).expectedSql);
+    assertEquals("c=2", queries.get(1).cql);
+    assertEquals(null, queries.get(1).expectedSql);
+  }
+
+  @Test
+  public void testPercentile() {
+    long [] values = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+    assertEquals(5, Batch.percentile(values, 10, 50));
+    assertEquals(10, Batch.percentile(values, 10, 99));
+    assertEquals(1, Batch.percentile(values, 1, 99));
+    assertEquals("-", Batch.percentiles(values, 0));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testBatchInvalidRepeat() {
+    new Batch(null, "instance").setRepeat(0);
+  }
 }
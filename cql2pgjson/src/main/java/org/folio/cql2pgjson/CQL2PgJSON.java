@@ -1,14 +1,29 @@
 package org.folio.cql2pgjson;
 
 import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
@@ -25,10 +40,13 @@ import org.folio.cql2pgjson.model.CqlTermFormat;
 import org.folio.cql2pgjson.model.DbFkInfo;
 import org.folio.cql2pgjson.model.DbIndex;
 import org.folio.cql2pgjson.model.IndexTextAndJsonValues;
+import org.folio.cql2pgjson.model.IndexedSort;
+import org.folio.cql2pgjson.model.SortKey;
 import org.folio.cql2pgjson.model.SqlSelect;
 import org.folio.cql2pgjson.util.Cql2SqlUtil;
-import org.folio.cql2pgjson.util.DbSchemaUtils;
+import org.folio.cql2pgjson.util.DbSchemaIndex;
 import org.folio.dbschema.util.SqlUtil;
+import org.folio.dbschema.GeneratedColumn;
 import org.folio.dbschema.Index;
 import org.folio.dbschema.Schema;
 import org.folio.dbschema.Table;
@@ -65,17 +83,25 @@ public class CQL2PgJSON {
   private static Logger logger = LogManager.getLogger(CQL2PgJSON.class);
 
   private static final String JSONB_COLUMN_NAME = "jsonb";
+  private static final String DEFAULT_SCHEMA_PATH = "templates/db_scripts/schema.json";
+
+  /** Maps a schema.json resource path to the parsed and indexed schema */
+  private static final Map<String, DbSchemaIndex> DB_SCHEMA_INDEXES = new ConcurrentHashMap<>();
 
-  private final Pattern uuidPattern = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
+  private static final Pattern UUID_PATTERN = Pattern.compile("^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
+  /** stand-alone star that is not a valid full text word, for example "abc *" */
+  private static final Pattern STANDALONE_STAR = Pattern.compile(" +[*]");
+  /** groups: 1 = date, 2 = time, 3 = offset */
+  private static final Pattern TIMESTAMP_PATTERN = Pattern.compile(
+      "^(\\d{4}-\\d{2}-\\d{2})(?:[T ](\\d{2}:\\d{2}(?::\\d{2}(?:\\.\\d{1,9})?)?)(Z|[+-]\\d{2}(?::?\\d{2})?)?)?$");
 
   private String jsonField = null;
   private List<String> jsonFields = null;
 
   // leverage RMB and consider to merge cql2pgjson into RMB
   private Schema dbSchema;
+  private DbSchemaIndex dbSchemaIndex;
   private Table dbTable;
-  /** Maps an index name to its DbIndex information */
-  private Map<String,DbIndex> dbIndexMap = new HashMap<>();
 
   /**
    * Default index names to be used for cql.serverChoice.
@@ -83,6 +109,31 @@ public class CQL2PgJSON {
    */
   private List<String> serverChoiceIndexes = Collections.emptyList();
 
+  /**
+   * Whether to translate an OR of terms on differently indexed fields into an id IN (... UNION ALL ...)
+   * subquery, see {@link #setOrUnion(String)}; the schema of the subquery table, null if disabled.
+   */
+  private String orUnionSchema = null;
+
+  /** Maximum number of UNION ALL branches, more branches cost too much planning time. */
+  static final int UNION_MAX_BRANCHES = 20;
+
+  /**
+   * The last parsed query; RMB calls toIndexedSort and then toSql for the same query,
+   * and CQLWrapper calls toSql for the WHERE and the ORDER BY clause.
+   */
+  private volatile ParsedCql lastParsedCql;
+
+  private static final class ParsedCql {
+    final String cql;
+    final CQLNode node;
+
+    ParsedCql(String cql, CQLNode node) {
+      this.cql = cql;
+      this.node = node;
+    }
+  }
+
   /**
    * Create an instance for the specified schema.
    *
@@ -162,22 +213,40 @@ public class CQL2PgJSON {
     return dbSchema;
   }
 
+  /**
+   * @return the schema.json table of the jsonField, or null if not found
+   */
+  public Table getDbTable() {
+    return dbTable;
+  }
+
   public void setDbSchemaPath(String dbSchemaPath) {
     loadDbSchema(dbSchemaPath);
     initDbTable();
   }
 
+  /**
+   * Load the schema. The schema of a schemaPath is loaded and indexed only once and
+   * then shared by all instances; it must not be changed.
+   */
   private void loadDbSchema(String schemaPath) {
-    try {
-      if (schemaPath == null) {
-        schemaPath = "templates/db_scripts/schema.json";
+    if (schemaPath == null) {
+      schemaPath = DEFAULT_SCHEMA_PATH;
+    }
+    DbSchemaIndex index = DB_SCHEMA_INDEXES.get(schemaPath);
+    if (index == null) {
+      try {
+        String dbJson = ResourceUtil.asString(schemaPath, CQL2PgJSON.class);
+        logger.info("loadDbSchema: Loaded {} OK", schemaPath);
+        index = new DbSchemaIndex(ObjectMapperTool.getMapper().readValue(dbJson, Schema.class));
+        DB_SCHEMA_INDEXES.put(schemaPath, index);
+      } catch (IOException ex) {
+        logger.error("No schema.json found", ex);
+        return;
       }
-      String dbJson = ResourceUtil.asString(schemaPath, CQL2PgJSON.class);
-      logger.info("loadDbSchema: Loaded {} OK", schemaPath);
-      dbSchema = ObjectMapperTool.getMapper().readValue(dbJson, Schema.class);
-    } catch (IOException ex) {
-      logger.error("No schema.json found", ex);
     }
+    dbSchemaIndex = index;
+    dbSchema = index.getSchema();
   }
 
   enum InitDbTableResult {
@@ -194,7 +263,11 @@ public class CQL2PgJSON {
     }
     // Remove the json blob field name, usually ".jsonb", but in tests also
     // ".user_data" etc.
-    String tname = this.jsonField.replaceAll("\\.[^.]+$", "");
+    String tname = jsonField;
+    int dot = jsonField.lastIndexOf('.');
+    if (dot >= 0) {
+      tname = jsonField.substring(0, dot);
+    }
     for (Table table : dbSchema.getTables()) {
       if ("DELETE".equalsIgnoreCase(table.getMode())) {
         continue;
@@ -217,6 +290,31 @@ public class CQL2PgJSON {
     loadDbSchema(dbSchemaPath);
   }
 
+  /**
+   * Enable or disable the UNION translation of OR queries, disabled by default.
+   *
+   * <p>PostgreSQL often falls back to a sequential scan for an OR of conditions that
+   * use different indexes, for example cql.serverChoice expanding to several fields.
+   * If enabled, such an OR becomes
+   * {@code id IN (SELECT id FROM schema.t WHERE a UNION ALL SELECT id FROM schema.t WHERE b)}
+   * so that each branch uses its own index. This is done only if every branch can use an
+   * index, there are at least two different fields, and there are not more than
+   * {@link #UNION_MAX_BRANCHES} branches; otherwise the plain OR is used.
+   *
+   * @param schemaName  the schema of the table, for example
+   *     {@code PostgresClient.convertToPsqlStandard(tenantId)}; null to disable
+   */
+  public void setOrUnion(String schemaName) {
+    this.orUnionSchema = schemaName;
+  }
+
+  /**
+   * @return whether the UNION translation of OR queries is enabled, see {@link #setOrUnion(String)}
+   */
+  public boolean isOrUnion() {
+    return orUnionSchema != null;
+  }
+
   /**
    * Set the index names (field names) for cql.serverChoice.
    * @param serverChoiceIndexes       List of field names, may be empty, must not contain null,
@@ -294,10 +392,22 @@ public class CQL2PgJSON {
    * @throws QueryValidationException
    */
   public SqlSelect toSql(String cql) throws QueryValidationException {
+    return toSql(parse(cql));
+  }
+
+  /**
+   * Parse cql, or return the node of the last parsed query if it is the same; the node
+   * is not modified by the translation.
+   */
+  private CQLNode parse(String cql) throws QueryValidationException {
+    ParsedCql parsed = lastParsedCql;
+    if (parsed != null && parsed.cql.equals(cql)) {
+      return parsed.node;
+    }
     try {
-      CQLParser parser = new CQLParser();
-      CQLNode node = parser.parse(cql);
-      return toSql(node);
+      CQLNode node = new CQLParser().parse(cql);
+      lastParsedCql = new ParsedCql(cql, node);
+      return node;
     } catch (IOException|CQLParseException e) {
       throw new QueryValidationException(e);
     }
@@ -314,12 +424,28 @@ public class CQL2PgJSON {
     if (node instanceof CQLTermNode) {
       return pg((CQLTermNode) node);
     }
+    StringBuilder sql = new StringBuilder();
+    appendPg(sql, node);
+    return sql.toString();
+  }
+
+  /**
+   * Translate node and append the SQL to sql. Boolean nodes append their operands to the same
+   * StringBuilder so that the SQL of a subtree isn't copied again for each enclosing boolean node.
+   */
+  private void appendPg(StringBuilder sql, CQLNode node) throws QueryValidationException {
+    if (node instanceof CQLTermNode) {
+      sql.append(pg((CQLTermNode) node));
+      return;
+    }
     if (node instanceof CQLBooleanNode) {
-      return pg((CQLBooleanNode) node);
+      appendPg(sql, (CQLBooleanNode) node, null);
+      return;
     }
     if (node instanceof CQLSortNode) {
       SqlSelect sqlSelect = toSql((CQLSortNode) node);
-      return sqlSelect.getWhere() + " ORDER BY " + sqlSelect.getOrderBy();
+      sql.append(sqlSelect.getWhere()).append(" ORDER BY ").append(sqlSelect.getOrderBy());
+      return;
     }
     throw createUnsupportedException(node);
   }
@@ -375,29 +501,59 @@ public class CQL2PgJSON {
     return wrapper.replace("$", term);
   }
 
-  @SuppressWarnings("squid:S135")  // suppress "reduce to one continue in for loop"
   private SqlSelect toSql(CQLSortNode node) throws QueryValidationException {
-    StringBuilder order = new StringBuilder();
     String where = pg(node.getSubtree());
-
-    boolean firstIndex = true;
-    for (ModifierSet modifierSet : node.getSortIndexes()) {
-      if (firstIndex) {
-        firstIndex = false;
-      } else {
+    StringBuilder order = new StringBuilder();
+    for (SortKey sortKey : sortKeys(node)) {
+      if (order.length() > 0) {
         order.append(", ");
       }
+      order.append(sortKey);
+    }
+    return new SqlSelect(where, order.toString());
+  }
 
-      String desc = "";
+  /**
+   * Translate the CQL query if its first sortBy key can be read in sort order from a b-tree
+   * index: the primary key id, a foreign key, an indexed generated column, or a field of an
+   * "index" entry in schema.json whose caseSensitive and removeAccents match the sort modifiers
+   * and that has no whereClause, sqlExpression or multiFieldNames.
+   *
+   * @param cql  the query to convert
+   * @return the WHERE clause and the sort keys, or null if the query has no sortBy clause or the
+   *   first sort key has no such index
+   * @throws QueryValidationException  when parsing or validating cql fails
+   */
+  public IndexedSort toIndexedSort(String cql) throws QueryValidationException {
+    CQLNode node = parse(cql);
+    if (! (node instanceof CQLSortNode) || dbTable == null) {
+      return null;
+    }
+    CQLSortNode sortNode = (CQLSortNode) node;
+    if (! isIndexedSortKey(sortNode.getSortIndexes().get(0))) {
+      return null;
+    }
+    return new IndexedSort(pg(sortNode.getSubtree()), sortKeys(sortNode));
+  }
+
+  @SuppressWarnings("squid:S135")  // suppress "reduce to one continue in for loop"
+  private List<SortKey> sortKeys(CQLSortNode node) throws QueryValidationException {
+    List<SortKey> sortKeys = new ArrayList<>();
+
+    for (ModifierSet modifierSet : node.getSortIndexes()) {
       CqlModifiers modifiers = new CqlModifiers(modifierSet);
-      if (modifiers.getCqlSort() == CqlSort.DESCENDING) {
-        desc = " DESC";
-      }  // ASC not needed, it's Postgres' default
+      boolean desc = modifiers.getCqlSort() == CqlSort.DESCENDING;
 
       String field = modifierSet.getBase();
-      DbIndex dbIndex = dbIndexMap.computeIfAbsent(field, f -> DbSchemaUtils.getDbIndex(dbTable, f));
+      DbIndex dbIndex = dbSchemaIndex.getDbIndex(dbTable, field);
       if (dbIndex.isForeignKey() || "id".equals(field)) {
-        order.append(field).append(desc);
+        sortKeys.add(new SortKey(field, desc));
+        continue;
+      }
+
+      GeneratedColumn column = dbIndex.getGeneratedColumn();
+      if (isTypedSortColumn(column, modifiers)) {
+        sortKeys.add(new SortKey(column.getColumnName(), desc));
         continue;
       }
 
@@ -405,15 +561,59 @@ public class CQL2PgJSON {
 
       // if sort field is marked explicitly as number type
       if (modifiers.getCqlTermFormat() == CqlTermFormat.NUMBER) {
-        order.append(vals.getIndexJson()).append(desc);
+        sortKeys.add(new SortKey(vals.getIndexJson(), desc));
         continue;
       }
 
       // We assume that a CREATE INDEX for this has been installed.
-      order.append(wrapForLength(wrapInLowerUnaccent(vals.getIndexText(), modifiers))).append(desc).append(", ")
-      .append(wrapInLowerUnaccent(vals.getIndexText(), modifiers)).append(desc);
+      sortKeys.add(new SortKey(wrapForLength(wrapInLowerUnaccent(vals.getIndexText(), modifiers)), desc));
+      sortKeys.add(new SortKey(wrapInLowerUnaccent(vals.getIndexText(), modifiers), desc));
     }
-    return new SqlSelect(where, order.toString());
+    return sortKeys;
+  }
+
+  /**
+   * @return whether the column is used for sorting instead of the jsonb value
+   */
+  private static boolean isTypedSortColumn(GeneratedColumn column, CqlModifiers modifiers) {
+    return column != null && (column.getType() == GeneratedColumn.Type.UUID
+        || column.getType() == GeneratedColumn.Type.TIMESTAMP
+        || (column.getType() == GeneratedColumn.Type.NUMERIC
+            && modifiers.getCqlTermFormat() == CqlTermFormat.NUMBER));
+  }
+
+  /**
+   * @return whether the first sort key that sortKeys(CQLSortNode) creates for the modifierSet
+   *   can be read from a b-tree index
+   */
+  private boolean isIndexedSortKey(ModifierSet modifierSet) throws QueryValidationException {
+    CqlModifiers modifiers = new CqlModifiers(modifierSet);
+    String field = modifierSet.getBase();
+    DbIndex dbIndex = dbSchemaIndex.getDbIndex(dbTable, field);
+    if (dbIndex.isForeignKey() || "id".equals(field)) {
+      return true;
+    }
+    GeneratedColumn column = dbIndex.getGeneratedColumn();
+    if (isTypedSortColumn(column, modifiers)) {
+      return column.isIndex();
+    }
+    if (modifiers.getCqlTermFormat() == CqlTermFormat.NUMBER) {
+      return false;
+    }
+    return isSortIndex(dbIndex.getIndex(), modifiers);
+  }
+
+  /**
+   * @return whether the b-tree index expression of the index matches the left(..., 600) sort expression
+   */
+  private static boolean isSortIndex(Index index, CqlModifiers modifiers) {
+    return index != null
+        && index.isStringType()
+        && index.getWhereClause() == null
+        && index.getSqlExpression() == null
+        && index.getMultiFieldNames() == null
+        && index.isCaseSensitive() == (modifiers.getCqlCase() == CqlCase.RESPECT_CASE)
+        && index.isRemoveAccents() == (modifiers.getCqlAccents() != CqlAccents.RESPECT_ACCENTS);
   }
 
   private static String sqlOperator(CQLBooleanNode node) throws CQLFeatureUnsupportedException {
@@ -431,7 +631,12 @@ public class CQL2PgJSON {
     throw createUnsupportedException(node);
   }
 
-  private String pg(CQLBooleanNode node) throws QueryValidationException {
+  /**
+   * @param uuidIndexes  result of uuidIndexes(CQLOrNode) for the OR tree node belongs to, or null
+   */
+  private void appendPg(StringBuilder sql, CQLBooleanNode node, Map<CQLNode, String> uuidIndexes)
+      throws QueryValidationException {
+
     String operator = sqlOperator(node);
     String isNotTrue = "";
 
@@ -442,7 +647,22 @@ public class CQL2PgJSON {
       CQLTermNode r = (CQLTermNode) (node.getRightOperand());
       if ("*".equals(r.getTerm()) && "=".equals(r.getRelation().getBase())) {
         logger.debug("pgFT(): Simplifying =* OR =* ");
-        return pg(node.getLeftOperand());
+        appendOperand(sql, node.getLeftOperand(), uuidIndexes);
+        return;
+      }
+    }
+
+    if ("OR".equals(operator)) {
+      if (uuidIndexes == null) {
+        uuidIndexes = uuidIndexes((CQLOrNode) node);
+      }
+      String or = pgUuidAny(node, uuidIndexes.get(node));
+      if (or == null) {
+        or = pgUnion(node);
+      }
+      if (or != null) {
+        sql.append(or);
+        return;
       }
     }
 
@@ -453,9 +673,273 @@ public class CQL2PgJSON {
       // This completely inverts the right operand.
     }
 
-    return "(" + pg(node.getLeftOperand()) + ") "
-        + operator
-        + " (" + pg(node.getRightOperand()) + isNotTrue + ")";
+    sql.append('(');
+    appendOperand(sql, node.getLeftOperand(), uuidIndexes);
+    sql.append(") ").append(operator).append(" (");
+    appendOperand(sql, node.getRightOperand(), uuidIndexes);
+    sql.append(isNotTrue).append(')');
+  }
+
+  /**
+   * Append the operand of a boolean node, reuse uuidIndexes if the operand belongs to the same OR tree.
+   */
+  private void appendOperand(StringBuilder sql, CQLNode operand, Map<CQLNode, String> uuidIndexes)
+      throws QueryValidationException {
+
+    if (uuidIndexes != null && operand instanceof CQLOrNode && uuidIndexes.containsKey(operand)) {
+      appendPg(sql, (CQLBooleanNode) operand, uuidIndexes);
+      return;
+    }
+    appendPg(sql, operand);
+  }
+
+  /**
+   * Determine for each node of the OR tree whether it is an exact UUID match or an OR chain of
+   * exact UUID matches on the same field, in a single bottom-up pass.
+   *
+   * <p>This is done once for the root of the OR tree; otherwise each OR node would rescan
+   * its subtree and a chain of n terms would take O(n²).
+   *
+   * @return the index (field name) of the UUID matches for each node of the OR tree, null if the
+   *   node doesn't qualify; an OR node with modifiers ends the tree
+   */
+  private static Map<CQLNode, String> uuidIndexes(CQLOrNode root) {
+    Map<CQLNode, String> uuidIndexes = new IdentityHashMap<>();
+    // iterate, a chain of 1000 OR nodes may be too deep for recursion
+    List<CQLOrNode> orNodes = new ArrayList<>();
+    Deque<CQLNode> nodes = new ArrayDeque<>();
+    nodes.push(root);
+    while (! nodes.isEmpty()) {
+      CQLNode n = nodes.pop();
+      if (n instanceof CQLOrNode && ((CQLOrNode) n).getModifiers().isEmpty()) {
+        CQLOrNode orNode = (CQLOrNode) n;
+        orNodes.add(orNode);
+        nodes.push(orNode.getLeftOperand());
+        nodes.push(orNode.getRightOperand());
+        continue;
+      }
+      uuidIndexes.put(n, uuidIndex(n));
+    }
+    // a parent comes before its children in orNodes, walk backwards to have the children done first
+    for (int i = orNodes.size() - 1; i >= 0; i--) {
+      CQLOrNode orNode = orNodes.get(i);
+      String index = uuidIndexes.get(orNode.getLeftOperand());
+      if (index != null && ! index.equals(uuidIndexes.get(orNode.getRightOperand()))) {
+        index = null;
+      }
+      uuidIndexes.put(orNode, index);
+    }
+    return uuidIndexes;
+  }
+
+  /**
+   * @return the index (field name) if node is an exact UUID match, otherwise null
+   */
+  private static String uuidIndex(CQLNode node) {
+    if (! (node instanceof CQLTermNode)) {
+      return null;
+    }
+    CQLTermNode termNode = (CQLTermNode) node;
+    String relation = termNode.getRelation().getBase();
+    if (! ("==".equals(relation) || "=".equals(relation))
+        || ! termNode.getRelation().getModifiers().isEmpty()
+        || ! UUID_PATTERN.matcher(termNode.getTerm()).matches()) {
+      return null;
+    }
+    return termNode.getIndex();
+  }
+
+  /**
+   * Return {@code id = ANY('{...}'::uuid[])} if node is an OR chain of exact UUID matches on
+   * the same id or foreign key field, for example {@code id==(a or b or c)}; otherwise return null.
+   *
+   * <p>The array is much shorter and faster to parse and plan than nested OR expressions,
+   * and PostgreSQL uses the btree index of the column for it.
+   *
+   * @param index  the index of all terms of node as determined by uuidIndexes(CQLOrNode), or null
+   */
+  private String pgUuidAny(CQLBooleanNode node, String index) {
+    if (index == null) {
+      return null;
+    }
+    String column = uuidColumn(index);
+    if (column == null) {
+      return null;
+    }
+    Set<String> distinctUuids = new LinkedHashSet<>();
+    // iterate, a chain of 1000 OR nodes may be too deep for recursion
+    Deque<CQLNode> nodes = new ArrayDeque<>();
+    nodes.push(node);
+    while (! nodes.isEmpty()) {
+      CQLNode n = nodes.pop();
+      if (n instanceof CQLOrNode) {
+        // push right first to collect the terms from left to right
+        nodes.push(((CQLOrNode) n).getRightOperand());
+        nodes.push(((CQLOrNode) n).getLeftOperand());
+        continue;
+      }
+      distinctUuids.add(((CQLTermNode) n).getTerm());
+    }
+    StringBuilder sql = new StringBuilder(column.length() + 20 + 37 * distinctUuids.size());
+    sql.append(column).append(" = ANY ('{");
+    for (String uuid : distinctUuids) {
+      sql.append(uuid).append(',');
+    }
+    sql.setLength(sql.length() - 1);
+    return sql.append("}'::uuid[])").toString();
+  }
+
+  /**
+   * @return the UUID column of the index if it is id or a foreign key of the table, otherwise null
+   */
+  private String uuidColumn(String index) {
+    // same order as pg(CQLTermNode): an index in a foreign table takes precedence
+    if (dbTable != null) {
+      String tableAlias = tableAlias(index);
+      if (! dbSchemaIndex.findForeignKeysFromSourceTableToTargetAlias(dbTable.getTableName(), tableAlias).isEmpty()
+          || ! dbSchemaIndex.findForeignKeysFromSourceAliasToTargetTable(tableAlias, dbTable.getTableName()).isEmpty()) {
+        return null;
+      }
+    }
+    if ("id".equals(index)) {
+      return index;
+    }
+    if (dbSchemaIndex.getDbIndex(dbTable, index).isForeignKey()) {
+      return index.replace('.', '_');
+    }
+    return null;
+  }
+
+  /**
+   * Return {@code id IN (SELECT id FROM t WHERE a UNION ALL SELECT id FROM t WHERE b ...)}
+   * if node is an OR chain of terms that qualifies for {@link #setOrUnion(String)}; otherwise return null.
+   */
+  private String pgUnion(CQLBooleanNode node) throws QueryValidationException {
+    if (orUnionSchema == null || dbTable == null) {
+      return null;
+    }
+    List<CQLTermNode> terms = new ArrayList<>();
+    Deque<CQLNode> nodes = new ArrayDeque<>();
+    nodes.push(node);
+    while (! nodes.isEmpty()) {
+      CQLNode n = nodes.pop();
+      if (n instanceof CQLOrNode && ((CQLOrNode) n).getModifiers().isEmpty()) {
+        nodes.push(((CQLOrNode) n).getRightOperand());
+        nodes.push(((CQLOrNode) n).getLeftOperand());
+        continue;
+      }
+      if (! (n instanceof CQLTermNode) || terms.size() >= UNION_MAX_BRANCHES) {
+        return null;
+      }
+      terms.add((CQLTermNode) n);
+    }
+    return pgUnion(terms);
+  }
+
+  /**
+   * Cost heuristic and translation for {@link #setOrUnion(String)}, cql.serverChoice terms are expanded
+   * into one branch for each serverChoiceIndexes field.
+   *
+   * @return the UNION ALL subquery, or null if a plain OR is expected to be as fast
+   */
+  private String pgUnion(List<CQLTermNode> terms) throws QueryValidationException {
+    if (orUnionSchema == null || dbTable == null) {
+      return null;
+    }
+    List<String> indexes = new ArrayList<>();
+    List<CQLTermNode> nodes = new ArrayList<>();
+    for (CQLTermNode term : terms) {
+      if ("cql.serverChoice".equalsIgnoreCase(term.getIndex())) {
+        if (serverChoiceIndexes.isEmpty()) {
+          // the plain OR reports the missing serverChoiceIndexes, don't drop the term
+          return null;
+        }
+        for (String index : serverChoiceIndexes) {
+          indexes.add(index);
+          nodes.add(term);
+        }
+      } else {
+        indexes.add(term.getIndex());
+        nodes.add(term);
+      }
+    }
+    if (indexes.size() > UNION_MAX_BRANCHES || new LinkedHashSet<>(indexes).size() < 2) {
+      // a single field: PostgreSQL combines the conditions in one index scan or a BitmapOr
+      return null;
+    }
+    for (int i = 0; i < indexes.size(); i++) {
+      if (! usesIndex(indexes.get(i), nodes.get(i))) {
+        // a sequential scan is needed anyway
+        return null;
+      }
+    }
+    String select = "SELECT id FROM " + orUnionSchema + "." + dbTable.getTableName() + " WHERE ";
+    StringBuilder sql = new StringBuilder("id IN (");
+    for (int i = 0; i < indexes.size(); i++) {
+      if (i > 0) {
+        // no duplicate elimination needed, IN does it
+        sql.append(" UNION ALL ");
+      }
+      sql.append(select).append(index2sql(indexes.get(i), nodes.get(i)));
+    }
+    return sql.append(')').toString();
+  }
+
+  /**
+   * @return whether the SQL of index2sql(index, node) can use an index of the table; false if unknown
+   */
+  private boolean usesIndex(String index, CQLTermNode node) throws QueryValidationException {
+    String comparator = node.getRelation().getBase().toLowerCase();
+    String term = node.getTerm();
+    if ("<>".equals(comparator) || "".equals(term) || "*".equals(term)
+        || "cql.allRecords".equalsIgnoreCase(index)) {
+      // matches most records
+      return false;
+    }
+    String tableAlias = tableAlias(index);
+    if (! dbSchemaIndex.findForeignKeysFromSourceTableToTargetAlias(dbTable.getTableName(), tableAlias).isEmpty()
+        || ! dbSchemaIndex.findForeignKeysFromSourceAliasToTargetTable(tableAlias, dbTable.getTableName()).isEmpty()) {
+      return false;
+    }
+    DbIndex dbIndex = dbSchemaIndex.getDbIndex(dbTable, index);
+    if ("id".equals(index) || dbIndex.isForeignKey()) {
+      return true;
+    }
+    CqlModifiers modifiers = new CqlModifiers(node);
+    if (! modifiers.getRelationModifiers().isEmpty()) {
+      // array relation modifiers: only the containment query uses an index
+      return "==".equals(comparator) && dbIndex.hasContainmentIndex()
+          && isContainmentMatch(dbIndex.getContainmentIndex(), modifiers);
+    }
+    switch (comparator) {
+    case "=":
+      if (CqlTermFormat.NUMBER == modifiers.getCqlTermFormat()) {
+        return dbIndex.hasIndex();
+      }
+      return dbIndex.hasFullTextIndex();
+    case "adj":
+    case "all":
+    case "any":
+      return dbIndex.hasFullTextIndex();
+    case "==":
+      if (CqlTermFormat.NUMBER == modifiers.getCqlTermFormat()) {
+        return dbIndex.hasIndex();
+      }
+      if (Cql2SqlUtil.hasCqlWildCard(term)) {
+        return dbIndex.hasGinIndex() || dbIndex.hasLikeIndex();
+      }
+      return dbIndex.hasGinIndex() || dbIndex.hasLikeIndex() || dbIndex.hasUniqueIndex() || dbIndex.hasIndex();
+    default:
+      return dbIndex.hasIndex();
+    }
+  }
+
+  /**
+   * @return the part of index before the first dot, the complete index if it has no dot
+   */
+  private static String tableAlias(String index) {
+    int dot = index.indexOf('.');
+    return dot < 0 ? index : index.substring(0, dot);
   }
 
   private IndexTextAndJsonValues getIndexTextAndJsonValues(String index) {
@@ -464,10 +948,109 @@ public class CQL2PgJSON {
     }
     IndexTextAndJsonValues vals = new IndexTextAndJsonValues();
     vals.setIndexJson(SqlUtil.Cql2PgUtil.cqlNameAsSqlJson(this.jsonField, index));
-    vals.setIndexText(SqlUtil.Cql2PgUtil.cqlNameAsSqlText(this.jsonField, index));
+    GeneratedColumn column = dbSchemaIndex.getDbIndex(dbTable, index).getGeneratedColumn();
+    if (column != null && column.getType() == GeneratedColumn.Type.TEXT) {
+      // the schema.json indexes of this field use the column, see Table.setup()
+      vals.setIndexText(generatedColumnSql(column));
+    } else {
+      vals.setIndexText(SqlUtil.Cql2PgUtil.cqlNameAsSqlText(this.jsonField, index));
+    }
     return vals;
   }
 
+  /**
+   * @return the generated column qualified by the table of the jsonField, for example users.barcode
+   */
+  private String generatedColumnSql(GeneratedColumn column) {
+    int dot = jsonField.lastIndexOf('.');
+    if (dot < 0) {
+      return column.getColumnName();
+    }
+    return jsonField.substring(0, dot + 1) + column.getColumnName();
+  }
+
+  /**
+   * Use the typed generated column of the field: uuid like a foreign key, timestamp and
+   * numeric (/number modifier) for comparisons. Text columns are already used by the
+   * IndexTextAndJsonValues, see getIndexTextAndJsonValues(String).
+   *
+   * @return the SQL expression, or null if the query doesn't use the column
+   */
+  private String generatedColumnNode(GeneratedColumn column, CQLTermNode node, CqlModifiers modifiers)
+      throws QueryValidationException {
+
+    switch (column.getType()) {
+    case UUID:
+      return pgId(node, column.getColumnName());
+    case TIMESTAMP:
+      Matcher matcher = TIMESTAMP_PATTERN.matcher(node.getTerm());
+      if (! matcher.matches()) {
+        return null;
+      }
+      return typedComparison(generatedColumnSql(column), node, timestamp(matcher, node.getTerm()));
+    case NUMERIC:
+      if (CqlTermFormat.NUMBER != modifiers.getCqlTermFormat()) {
+        return null;
+      }
+      return typedComparison(generatedColumnSql(column), node, number(node.getTerm()));
+    default:
+      return null;
+    }
+  }
+
+  /**
+   * Convert the term matched by TIMESTAMP_PATTERN into an ISO timestamp with offset. A term
+   * without offset is UTC like in rmb_to_timestamptz that fills the generated column.
+   *
+   * @throws QueryValidationException if the date or time doesn't exist, for example 2020-02-30
+   */
+  private static String timestamp(Matcher matcher, String term) throws QueryValidationException {
+    try {
+      LocalDate date = LocalDate.parse(matcher.group(1));
+      LocalTime time = matcher.group(2) == null ? LocalTime.MIDNIGHT : LocalTime.parse(matcher.group(2));
+      ZoneOffset offset = matcher.group(3) == null ? ZoneOffset.UTC : ZoneOffset.of(matcher.group(3));
+      return OffsetDateTime.of(date, time, offset).toString();
+    } catch (DateTimeException e) {
+      throw new QueryValidationException("CQL: Invalid timestamp " + term);
+    }
+  }
+
+  /**
+   * @throws QueryValidationException if term is not a number
+   */
+  private static String number(String term) throws QueryValidationException {
+    try {
+      return new BigDecimal(term.trim()).toString();
+    } catch (NumberFormatException e) {
+      throw new QueryValidationException("CQL: Invalid number " + term);
+    }
+  }
+
+  /**
+   * @param term  SQL string without leading and trailing single quote
+   * @return comparison of column and term, or null if the relation isn't a comparison
+   */
+  private static String typedComparison(String column, CQLTermNode node, String term) {
+    if (! node.getRelation().getModifiers().stream().allMatch(m -> m.getType().equalsIgnoreCase("number"))) {
+      return null;
+    }
+    String comparator = node.getRelation().getBase();
+    switch (comparator) {
+    case "==":
+      comparator = "=";
+      break;
+    case "<>":
+    case "<":
+    case ">":
+    case "<=":
+    case ">=":
+      break;
+    default:
+      return null;
+    }
+    return column + comparator + "'" + term + "'";
+  }
+
   private IndexTextAndJsonValues multiFieldProcessing(String index ) {
     IndexTextAndJsonValues vals = new IndexTextAndJsonValues();
 
@@ -496,16 +1079,16 @@ public class CQL2PgJSON {
     // determine if index is in a foreign table
     if (dbTable != null) {
       String srcTabName = dbTable.getTableName();
-      String targetTabAlias = node.getIndex().split("\\.")[0];
+      String targetTabAlias = tableAlias(node.getIndex());
 
       // child to parent
-      List<DbFkInfo> fks = DbSchemaUtils.findForeignKeysFromSourceTableToTargetAlias(dbSchema, srcTabName, targetTabAlias);
+      List<DbFkInfo> fks = dbSchemaIndex.findForeignKeysFromSourceTableToTargetAlias(srcTabName, targetTabAlias);
       if (!fks.isEmpty()) {
         return pgSubQuery(node, fks, true);
       }
 
       // parent to child
-      fks = DbSchemaUtils.findForeignKeysFromSourceAliasToTargetTable(dbSchema, targetTabAlias, srcTabName);
+      fks = dbSchemaIndex.findForeignKeysFromSourceAliasToTargetTable(targetTabAlias, srcTabName);
       if (!fks.isEmpty()) {
         return pgSubQuery(node, fks, false);
       }
@@ -515,11 +1098,18 @@ public class CQL2PgJSON {
       if (serverChoiceIndexes.isEmpty()) {
         throw new QueryValidationException("cql.serverChoice requested, but no serverChoiceIndexes defined.");
       }
-      List<String> sqlPieces = new ArrayList<>();
+      String sql = pgUnion(Collections.singletonList(node));
+      if (sql != null) {
+        return sql;
+      }
+      StringBuilder sqlPieces = new StringBuilder();
       for (String index : serverChoiceIndexes) {
-        sqlPieces.add(index2sql(index, node));
+        if (sqlPieces.length() > 0) {
+          sqlPieces.append(" OR ");
+        }
+        sqlPieces.append(index2sql(index, node));
       }
-      return String.join(" OR ", sqlPieces);
+      return sqlPieces.toString();
     }
     return index2sql(node.getIndex(), node);
   }
@@ -531,15 +1121,15 @@ public class CQL2PgJSON {
     StringBuilder sb = new StringBuilder();
     if (childToParent) {
       // child to parent
-      targetTable = DbSchemaUtils.getTable(dbSchema, fks.get(fks.size() -1).getTargetTable());
+      targetTable = dbSchemaIndex.getTable(fks.get(fks.size() -1).getTargetTable());
       for (DbFkInfo fk : fks) {
-        sb.append(currentTableName).append('.').append(fk.getField().replace(".","_"))
+        sb.append(currentTableName).append('.').append(fk.getField().replace('.', '_'))
           .append(" IN  ( SELECT id FROM ").append(fk.getTargetTable()).append(" WHERE ");
         currentTableName = fk.getTargetTable();
       }
    } else {
       // parent to child
-      targetTable = DbSchemaUtils.getTable(dbSchema, fks.get(0).getTable());
+      targetTable = dbSchemaIndex.getTable(fks.get(0).getTable());
       for (int i = fks.size() - 1 ; i >= 0; i--) {
         DbFkInfo fk = fks.get(i);
         sb.append(currentTableName).append(".id IN  ( SELECT ").append(fks.get(i).getField())
@@ -547,25 +1137,25 @@ public class CQL2PgJSON {
         currentTableName = fk.getTable();
       }
     }
-    String [] foreignTarget = node.getIndex().split("\\.", 2);
-    sb.append(indexNodeForForeignTable(node, targetTable, foreignTarget));
+    // the index without the table alias
+    String foreignIndex = node.getIndex().substring(node.getIndex().indexOf('.') + 1);
+    sb.append(indexNodeForForeignTable(node, targetTable, foreignIndex));
     for (int i = 0; i < fks.size(); i++) {
       sb.append(')');
     }
     return sb.toString();
   }
 
-  private String indexNodeForForeignTable(CQLTermNode node, Table targetTable, String[] foreignTarget)
+  private String indexNodeForForeignTable(CQLTermNode node, Table targetTable, String indexField)
       throws QueryValidationException {
 
     String foreignTableJsonb = targetTable.getTableName() + "." + JSONB_COLUMN_NAME;
 
     IndexTextAndJsonValues vals = new IndexTextAndJsonValues();
-    vals.setIndexJson(SqlUtil.Cql2PgUtil.cqlNameAsSqlJson(foreignTableJsonb, foreignTarget[1]));
-    vals.setIndexText(SqlUtil.Cql2PgUtil.cqlNameAsSqlText(foreignTableJsonb, foreignTarget[1]));
+    vals.setIndexJson(SqlUtil.Cql2PgUtil.cqlNameAsSqlJson(foreignTableJsonb, indexField));
+    vals.setIndexText(SqlUtil.Cql2PgUtil.cqlNameAsSqlText(foreignTableJsonb, indexField));
 
     CqlModifiers cqlModifiers = new CqlModifiers(node);
-    String indexField = foreignTarget[1];
     return indexNode(indexField, targetTable, node, vals, cqlModifiers);
   }
 
@@ -592,7 +1182,7 @@ public class CQL2PgJSON {
     case "<":
     case ">=":
     case "<=":
-      if (!uuidPattern.matcher(term).matches()) {
+      if (!UUID_PATTERN.matcher(term).matches()) {
         throw new QueryValidationException(
             "CQL: Invalid UUID after '" + columnName + comparator + "': " + term);
       }
@@ -631,7 +1221,7 @@ public class CQL2PgJSON {
     }
 
     if (!term.contains("*")) { // exact match
-      if (!uuidPattern.matcher(term).matches()) {
+      if (!UUID_PATTERN.matcher(term).matches()) {
         // avoid SQL injection, don't put term into comment
         return equals
             ? "false /* " + columnName + " == invalid UUID */"
@@ -650,7 +1240,7 @@ public class CQL2PgJSON {
       .replace(0, truncTerm.length(), truncTerm).toString();
     String hi = new StringBuilder("ffffffff-ffff-ffff-ffff-ffffffffffff")
       .replace(0, truncTerm.length(), truncTerm).toString();
-    if (!uuidPattern.matcher(lo).matches() || !uuidPattern.matcher(hi).matches()) {
+    if (!UUID_PATTERN.matcher(lo).matches() || !UUID_PATTERN.matcher(hi).matches()) {
       // avoid SQL injection, don't put term into comment
       return equals ? "false /* " + columnName + " == invalid UUID */"
                     : columnName + " IS NOT NULL /* "  + columnName + " <> invalid UUID */";
@@ -724,11 +1314,14 @@ public class CQL2PgJSON {
       vals.setIndexText(SqlUtil.Cql2PgUtil.cqlNameAsSqlText("t.c", modifiersSubfield));
       sqlOr.append(indexNode(index, this.dbTable, node, vals, modifiers));
     }
-    return "id in (select t.id"
-      + " from (select id as id, "
-      + "             jsonb_array_elements(" + incomingvals.getIndexJson() + ") as c"
-      + "      ) as t"
-      + " where " + sqlOr.toString() + sqlAnd.toString() + ")";
+    return new StringBuilder(sqlOr.length() + sqlAnd.length() + 150)
+      .append("id in (select t.id"
+          + " from (select id as id, "
+          + "             jsonb_array_elements(")
+      .append(incomingvals.getIndexJson())
+      .append(") as c"
+          + "      ) as t"
+          + " where ").append(sqlOr).append(sqlAnd).append(')').toString();
   }
 
   /**
@@ -756,15 +1349,22 @@ public class CQL2PgJSON {
 
     DbIndex dbIndex;
     if (targetTable == null || dbTable.equals(targetTable)) {
-      dbIndex = dbIndexMap.computeIfAbsent(index              , i -> DbSchemaUtils.getDbIndex(dbTable, index));
+      dbIndex = dbSchemaIndex.getDbIndex(dbTable, index);
     } else {  // foreign table
-      dbIndex = dbIndexMap.computeIfAbsent(vals.getIndexJson(), i -> DbSchemaUtils.getDbIndex(targetTable, index));
+      dbIndex = dbSchemaIndex.getDbIndex(targetTable, index);
     }
 
     if (dbIndex.isForeignKey()) {
       return pgId(node, index);
     }
 
+    if (dbIndex.getGeneratedColumn() != null && (targetTable == null || dbTable.equals(targetTable))) {
+      String sql = generatedColumnNode(dbIndex.getGeneratedColumn(), node, modifiers);
+      if (sql != null) {
+        return sql;
+      }
+    }
+
     String comparator = node.getRelation().getBase().toLowerCase();
 
     switch (comparator) {
@@ -779,6 +1379,14 @@ public class CQL2PgJSON {
     case "any":
       return queryByFt(index, dbIndex, vals, node, comparator, modifiers, targetTable);
     case "==":
+      if (dbIndex.hasContainmentIndex() && ! modifiers.getRelationModifiers().isEmpty()
+          && isContainmentMatch(dbIndex.getContainmentIndex(), modifiers)) {
+        String sql = queryByContainment(dbIndex.getContainmentIndex(), vals, node, modifiers.getRelationModifiers());
+        if (sql != null) {
+          return sql;
+        }
+      }
+      // fall through
     case "<>":
       if (CqlTermFormat.STRING == modifiers.getCqlTermFormat()) {
         return queryByLike(index, dbIndex, vals, node, comparator, modifiers, targetTable);
@@ -820,10 +1428,14 @@ public class CQL2PgJSON {
     }
 
     // Clean the term. Remove stand-alone ' *', not valid word.
-    String term = node.getTerm().replaceAll(" +[*]", "").trim();
+    String term = node.getTerm();
+    if (term.indexOf('*') >= 0) {
+      term = STANDALONE_STAR.matcher(term).replaceAll("");
+    }
+    term = term.trim();
     Index schemaIndex = null;
     if (targetTable != null) {
-      schemaIndex = DbSchemaUtils.getIndex(index, targetTable.getFullTextIndex());
+      schemaIndex = dbIndex.getFullTextIndex();
     }
     String sql = queryByFt(indexText, term, comparator, schemaIndex, targetTable);
 
@@ -837,7 +1449,7 @@ public class CQL2PgJSON {
       throw new CQLFeatureUnsupportedException("full text index does not support case sensitive: " + index);
     }
 
-    if (! dbIndex.hasFullTextIndex() && ! "true".equals(sql)) {
+    if (! dbIndex.hasFullTextIndex() && ! "true".equals(sql) && logger.isWarnEnabled()) {
       String s = String.format("%s, CQL >>> SQL: %s >>> %s", indexText, node.toCQL(), sql);
       logger.warn("Doing FT search without index for {}", s);
     }
@@ -941,7 +1553,7 @@ public class CQL2PgJSON {
       sql = arrayNode(index, node, modifiers, relationModifiers, schemaIndex, vals, targetTable);
     } else {
       String likeOperator = comparator.equals("<>") ? "NOT LIKE" : "LIKE";
-      String term = "'" + Cql2SqlUtil.cql2like(node.getTerm()) + "'";
+      String term = quotedLike(node.getTerm());
       String indexMod;
 
       if (schemaIndex != null && schemaIndex.getMultiFieldNames() != null) {
@@ -960,12 +1572,12 @@ public class CQL2PgJSON {
     }
 
     if (Cql2SqlUtil.hasCqlWildCard(node.getTerm())) {  // FIXME: right truncation "abc*" works with index/uniqueIndex
-      if (! dbIndex.hasGinIndex() && ! dbIndex.hasLikeIndex()) {
+      if (! dbIndex.hasGinIndex() && ! dbIndex.hasLikeIndex() && logger.isWarnEnabled()) {
         String s = String.format("%s, CQL >>> SQL: %s >>> %s", indexText, node.toCQL(), sql);
         logger.warn("Doing wildcard LIKE search without index for {}", s);
       }
     } else {
-      if (schemaIndex == null) {
+      if (schemaIndex == null && logger.isWarnEnabled()) {
         String s = String.format("%s, CQL >>> SQL: %s >>> %s", indexText, node.toCQL(), sql);
         logger.warn("Doing LIKE search without index for {}", s);
       }
@@ -975,6 +1587,68 @@ public class CQL2PgJSON {
     return sql;
   }
 
+  /**
+   * Containment compares case and accent sensitive. It yields the same result as the normal
+   * translation only if the query respects case and accents, either by the respectCase and
+   * respectAccents modifiers or by the caseSensitive and removeAccents settings of the index.
+   */
+  private static boolean isContainmentMatch(Index schemaIndex, CqlModifiers modifiers) {
+    boolean respectCase = modifiers.getCqlCase() == CqlCase.RESPECT_CASE || schemaIndex.isCaseSensitive();
+    boolean respectAccents = modifiers.getCqlAccents() == CqlAccents.RESPECT_ACCENTS || ! schemaIndex.isRemoveAccents();
+    return respectCase && respectAccents;
+  }
+
+  /**
+   * Create an SQL expression using jsonb containment for an exact match of an array element,
+   * for example {@code contributors ==/@contributorNameTypeId=abc Terry} becomes
+   * {@code jsonb->'contributors' @> '[{"name":"Terry","contributorNameTypeId":"abc"}]'}
+   * that uses the GIN jsonb_path_ops index. The match is case and accent sensitive,
+   * see {@link #isContainmentMatch(Index, CqlModifiers)}.
+   *
+   * @param schemaIndex  the containment index with arraySubfield and arrayModifiers
+   * @return the SQL expression, or null if the query cannot be expressed as containment,
+   *   for example because of a wildcard or a relation modifier without value
+   */
+  private String queryByContainment(Index schemaIndex, IndexTextAndJsonValues vals, CQLTermNode node,
+      List<Modifier> relationModifiers) {
+
+    String subfield = schemaIndex.getArraySubfield();
+    if (subfield == null || vals.getIndexJson() == null) {
+      return null;
+    }
+    Map<String, String> element = new LinkedHashMap<>();
+    element.put(subfield, node.getTerm());
+    for (Modifier relationModifier : relationModifiers) {
+      String modifierName = lookupModifier(schemaIndex, relationModifier.getType().substring(1));
+      if (modifierName == null || relationModifier.getValue() == null
+          || ! "=".equals(relationModifier.getComparison())
+          || element.containsKey(modifierName)) {
+        return null;
+      }
+      element.put(modifierName, relationModifier.getValue());
+    }
+    JsonStringEncoder encoder = JsonStringEncoder.getInstance();
+    StringBuilder json = new StringBuilder("[{");
+    for (Map.Entry<String, String> entry : element.entrySet()) {
+      String value;
+      try {
+        // unmask and double the single quote ', fails on wildcards
+        value = Cql2SqlUtil.cql2string(entry.getValue());
+      } catch (QueryValidationException e) {
+        return null;
+      }
+      if (json.length() > 2) {
+        json.append(',');
+      }
+      json.append('"').append(encoder.quoteAsString(entry.getKey().replace("'", "''"))).append("\":\"")
+      .append(encoder.quoteAsString(value)).append('"');
+    }
+    json.append("}]");
+    String sql = vals.getIndexJson() + " @> '" + json + "'";
+    logger.info("containment index {} generated SQL {}", vals.getIndexJson(), sql);
+    return sql;
+  }
+
   /**
    * Create an SQL expression using SQL as is syntax.
    *
@@ -992,7 +1666,7 @@ public class CQL2PgJSON {
     }
     Index schemaIndex = dbIndex.getIndex();
     String sql;
-    String term = "'" + Cql2SqlUtil.cql2like(node.getTerm()) + "'";
+    String term = quotedLike(node.getTerm());
     if (CqlTermFormat.NUMBER.equals(modifiers.getCqlTermFormat())) {
       sql = "(" + indexMod + ")::numeric " + comparator + term;
     } else if(schemaIndex != null) {
@@ -1001,7 +1675,8 @@ public class CQL2PgJSON {
       sql = indexMod + " " + comparator + term;
     }
 
-    if (! dbIndex.hasIndex() && ! dbIndex.hasFullTextIndex() && ! dbIndex.hasLikeIndex()) {
+    if (! dbIndex.hasIndex() && ! dbIndex.hasFullTextIndex() && ! dbIndex.hasLikeIndex()
+        && logger.isWarnEnabled()) {
       String s = String.format("%s, CQL >>> SQL: %s >>> %s", indexMod, node.toCQL(), sql);
       logger.warn("Doing SQL query without index for {}", s);
     }
@@ -1012,31 +1687,31 @@ public class CQL2PgJSON {
 
   private String createSQLLengthCase(String comparator, String index, String term, Index schemaIndex) {
     String lengthCaseComparator = lengtCaseComparator(comparator);
-    return  "CASE WHEN length(" + wrapQueryExpression(term, schemaIndex) + ") <= 600"
-        + " THEN " + wrapForLength(wrapIndexExpression(index, schemaIndex)) + " " + comparator + " "
-                   + wrapQueryExpression(term, schemaIndex)
-        + " ELSE "
-        + wrapForLength(wrapIndexExpression(index, schemaIndex)) + " " + comparator + " "
-        + wrapForLength(wrapQueryExpression(term, schemaIndex))
-        + " AND "
-        + wrapIndexExpression(index, schemaIndex) + " " + lengthCaseComparator + " "
-        + wrapQueryExpression(term, schemaIndex)
-        + " END";
+    String query = wrapQueryExpression(term, schemaIndex);
+    String indexExpression = wrapIndexExpression(index, schemaIndex);
+    StringBuilder sql = new StringBuilder(4 * (query.length() + indexExpression.length()) + 80);
+    sql.append("CASE WHEN length(").append(query).append(") <= 600 THEN ");
+    appendWrapForLength(sql, indexExpression).append(' ').append(comparator).append(' ').append(query)
+    .append(" ELSE ");
+    appendWrapForLength(sql, indexExpression).append(' ').append(comparator).append(' ');
+    appendWrapForLength(sql, query).append(" AND ")
+    .append(indexExpression).append(' ').append(lengthCaseComparator).append(' ').append(query)
+    .append(" END");
+    return sql.toString();
   }
 
   private String createLikeLengthCase(String comparator, String indexText, Index schemaIndex, String likeOperator, String term) {
     String joiner = comparator.equals("<>") ? " OR " : " AND ";
-    return "CASE WHEN length(" + wrapQueryExpression(term, schemaIndex) + ") <= 600"
-        + " THEN "
-        + wrapForLength(indexText) + " " + likeOperator + " "
-        + wrapQueryExpression(term, schemaIndex)
-        + " ELSE "
-        + wrapForLength(indexText) + " " + likeOperator + " "
-        + wrapForLength(wrapQueryExpression(term, schemaIndex))
-        + joiner
-        + indexText + " " + likeOperator + " "
-        + wrapQueryExpression(term, schemaIndex)
-        + " END";
+    String query = wrapQueryExpression(term, schemaIndex);
+    StringBuilder sql = new StringBuilder(4 * (query.length() + indexText.length()) + 100);
+    sql.append("CASE WHEN length(").append(query).append(") <= 600 THEN ");
+    appendWrapForLength(sql, indexText).append(' ').append(likeOperator).append(' ').append(query)
+    .append(" ELSE ");
+    appendWrapForLength(sql, indexText).append(' ').append(likeOperator).append(' ');
+    appendWrapForLength(sql, query).append(joiner)
+    .append(indexText).append(' ').append(likeOperator).append(' ').append(query)
+    .append(" END");
+    return sql.toString();
   }
 
   private String lengtCaseComparator(String comparator) {
@@ -1053,4 +1728,17 @@ public class CQL2PgJSON {
   private static String wrapForLength(String term) {
     return "left(" + term + ",600)";
   }
+
+  private static StringBuilder appendWrapForLength(StringBuilder sb, String term) {
+    return sb.append("left(").append(term).append(",600)");
+  }
+
+  /**
+   * @return the CQL term converted to an SQL LIKE string, enclosed in single quotes
+   */
+  private static String quotedLike(String cqlTerm) {
+    StringBuilder term = new StringBuilder(cqlTerm.length() + 10).append('\'');
+    Cql2SqlUtil.appendCql2like(term, cqlTerm);
+    return term.append('\'').toString();
+  }
 }
@@ -5,8 +5,10 @@ import java.util.function.Function;
 
 import org.folio.cql2pgjson.util.DbSchemaUtils;
 import org.folio.dbschema.ForeignKeys;
+import org.folio.dbschema.GeneratedColumn;
 import org.folio.dbschema.Index;
 import org.folio.dbschema.Table;
+import org.folio.dbschema.TableOperation;
 
 /**
  * Stores index information to avoid iterating through the table's index lists repeatedly.
@@ -31,7 +33,13 @@ public class DbIndex {
    * @see <a href="https://www.postgresql.org/docs/current/textsearch-tables.html#TEXTSEARCH-TABLES-INDEX">https://www.postgresql.org/docs/current/textsearch-tables.html#TEXTSEARCH-TABLES-INDEX</a>
    */
   private final Index fullTextIndex;
+  /**
+   * GIN index using jsonb_path_ops for jsonb containment
+   * @see <a href="https://www.postgresql.org/docs/current/datatype-json.html#JSON-INDEXING">https://www.postgresql.org/docs/current/datatype-json.html#JSON-INDEXING</a>
+   */
+  private final Index containmentIndex;
   private final ForeignKeys foreignKeys;
+  private final GeneratedColumn generatedColumn;
 
   /**
    * @param table  where to get the index information from
@@ -43,7 +51,9 @@ public class DbIndex {
     index         = DbSchemaUtils.getIndex(indexName, get(table, Table::getIndex));
     ginIndex      = DbSchemaUtils.getIndex(indexName, get(table, Table::getGinIndex));
     fullTextIndex = DbSchemaUtils.getIndex(indexName, get(table, Table::getFullTextIndex));
+    containmentIndex = DbSchemaUtils.getIndex(indexName, get(table, Table::getContainmentIndex));
     foreignKeys   = findForeignKey        (indexName, get(table, Table::getForeignKeys));
+    generatedColumn = findGeneratedColumn (indexName, get(table, Table::getGeneratedColumns));
   }
 
   private static <U> U get(Table table, Function<Table, U> function) {
@@ -65,6 +75,18 @@ public class DbIndex {
     return null;
   }
 
+  private static GeneratedColumn findGeneratedColumn(String indexName, List<GeneratedColumn> generatedColumns) {
+    if (generatedColumns == null) {
+      return null;
+    }
+    for (GeneratedColumn generatedColumn : generatedColumns) {
+      if (generatedColumn.gettOps() != TableOperation.DELETE && indexName.equals(generatedColumn.getFieldName())) {
+        return generatedColumn;
+      }
+    }
+    return null;
+  }
+
   /**
    * @return the index using text_pattern_ops, or null if no such index exists
    * @see <a href="https://www.postgresql.org/docs/current/indexes-opclass.html">https://www.postgresql.org/docs/current/indexes-opclass.html</a>
@@ -99,6 +121,14 @@ public class DbIndex {
     return fullTextIndex;
   }
 
+  /**
+   * @return GIN index using jsonb_path_ops for jsonb containment, or null if no such index exists
+   * @see <a href="https://www.postgresql.org/docs/current/datatype-json.html#JSON-INDEXING">https://www.postgresql.org/docs/current/datatype-json.html#JSON-INDEXING</a>
+   */
+  public Index getContainmentIndex() {
+    return containmentIndex;
+  }
+
   /**
    * @return the foreign key information
    */
@@ -106,6 +136,13 @@ public class DbIndex {
     return foreignKeys;
   }
 
+  /**
+   * @return the STORED generated column with a typed copy of the field, or null if no such column exists
+   */
+  public GeneratedColumn getGeneratedColumn() {
+    return generatedColumn;
+  }
+
   /**
    * @return whether an index using text_pattern_ops exists
    * @see <a href="https://www.postgresql.org/docs/current/indexes-opclass.html">https://www.postgresql.org/docs/current/indexes-opclass.html</a>
@@ -140,6 +177,14 @@ public class DbIndex {
     return fullTextIndex != null;
   }
 
+  /**
+   * @return whether a GIN index using jsonb_path_ops for jsonb containment exists
+   * @see <a href="https://www.postgresql.org/docs/current/datatype-json.html#JSON-INDEXING">https://www.postgresql.org/docs/current/datatype-json.html#JSON-INDEXING</a>
+   */
+  public boolean hasContainmentIndex() {
+    return containmentIndex != null;
+  }
+
   /**
    * @return whether the field is a foreign key
    */
@@ -0,0 +1,42 @@
+package org.folio.cql2pgjson.model;
+
+import java.util.List;
+
+/**
+ * The WHERE clause and the sort keys of a CQL query whose first sort key matches a b-tree
+ * index so that PostgreSQL can read the records in sort order by scanning that index.
+ */
+public class IndexedSort {
+  private final String where;
+  private final List<SortKey> sortKeys;
+
+  /**
+   * @param where  the WHERE clause without "WHERE" keyword
+   * @param sortKeys  the sort keys, the first one matches a b-tree index
+   */
+  public IndexedSort(String where, List<SortKey> sortKeys) {
+    this.where = where;
+    this.sortKeys = sortKeys;
+  }
+
+  /**
+   * @return the WHERE clause without "WHERE" keyword
+   */
+  public String getWhere() {
+    return where;
+  }
+
+  /**
+   * @return all sort keys of the ORDER BY clause, not empty
+   */
+  public List<SortKey> getSortKeys() {
+    return sortKeys;
+  }
+
+  /**
+   * @return the first sort key, it matches a b-tree index
+   */
+  public SortKey getIndexKey() {
+    return sortKeys.get(0);
+  }
+}
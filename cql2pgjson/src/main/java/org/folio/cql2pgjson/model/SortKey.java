@@ -0,0 +1,40 @@
+package org.folio.cql2pgjson.model;
+
+/**
+ * A SQL expression of an ORDER BY clause and its sort direction.
+ */
+public class SortKey {
+  private final String expression;
+  private final boolean descending;
+
+  /**
+   * @param expression  the SQL expression to sort by
+   * @param descending  true for DESC, false for ASC
+   */
+  public SortKey(String expression, boolean descending) {
+    this.expression = expression;
+    this.descending = descending;
+  }
+
+  /**
+   * @return the SQL expression to sort by, without ASC or DESC
+   */
+  public String getExpression() {
+    return expression;
+  }
+
+  /**
+   * @return true for DESC, false for ASC
+   */
+  public boolean isDescending() {
+    return descending;
+  }
+
+  /**
+   * @return the expression, followed by " DESC" if descending
+   */
+  @Override
+  public String toString() {
+    return descending ? expression + " DESC" : expression;
+  }
+}
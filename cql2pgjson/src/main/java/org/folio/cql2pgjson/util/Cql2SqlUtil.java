@@ -33,11 +33,25 @@ public final class Cql2SqlUtil {
    * @param s CQL string without leading or trailing double quote
    * @return SQL LIKE string without leading or trailing single quote
    */
-  @SuppressWarnings("squid:S3776")  // suppress "Cognitive Complexity of methods should not be too high"
   public static String cql2like(String s) {
-    StringBuilder like = new StringBuilder();
+    StringBuilder like = new StringBuilder(s.length() + 8);
+    appendCql2like(like, s);
+    return like.toString();
+  }
+
+  /**
+   * Convert a CQL string to an SQL LIKE string and append it to like.
+   *
+   * @param like where to append
+   * @param s CQL string without leading or trailing double quote
+   * @see #cql2like(String)
+   */
+  @SuppressWarnings("squid:S3776")  // suppress "Cognitive Complexity of methods should not be too high"
+  public static void appendCql2like(StringBuilder like, CharSequence s) {
     boolean backslash = false;  // previous character is backslash
-    for (char c : s.toCharArray()) {
+    final int length = s.length();
+    for (int i = 0; i < length; i++) {
+      char c = s.charAt(i);
       switch (c) {
         case '\\':
           if (backslash) {
@@ -79,8 +93,6 @@ public final class Cql2SqlUtil {
       // a single backslash at the end is an error but we handle it gracefully matching one.
       like.append("\\\\");
     }
-
-    return like.toString();
   }
 
   /**
@@ -91,9 +103,23 @@ public final class Cql2SqlUtil {
    * @return SQL string without leading or trailing single quote
    */
   public static String cql2string(String cql) throws QueryValidationException {
-    StringBuilder s = new StringBuilder();
+    StringBuilder s = new StringBuilder(cql.length() + 8);
+    appendCql2string(s, cql);
+    return s.toString();
+  }
+
+  /**
+   * Convert a CQL string to an SQL string and append it to s.
+   *
+   * @param s where to append
+   * @param cql CQL string without leading or trailing double quote
+   * @see #cql2string(String)
+   */
+  public static void appendCql2string(StringBuilder s, CharSequence cql) throws QueryValidationException {
     boolean backslash = false; // previous character is escaping backslash
-    for (char c : cql.toCharArray()) {
+    final int length = cql.length();
+    for (int i = 0; i < length; i++) {
+      char c = cql.charAt(i);
       switch (c) {
         case '\\':
           if (backslash) {
@@ -124,7 +150,6 @@ public final class Cql2SqlUtil {
     if (backslash) {
       throw new QueryValidationException("Unterminated \\-character");
     }
-    return s.toString();
   }
 
   /**
@@ -133,11 +158,25 @@ public final class Cql2SqlUtil {
    * @param s CQL string without leading or trailing double quote
    * @return SQL regexp string without leading and trailing single quote
    */
-  @SuppressWarnings("squid:S3776")  // suppress "Cognitive Complexity of methods should not be too high"
   public static String cql2regexp(String s) {
-    StringBuilder regexp = new StringBuilder();
+    StringBuilder regexp = new StringBuilder(s.length() + 8);
+    appendCql2regexp(regexp, s);
+    return regexp.toString();
+  }
+
+  /**
+   * Convert a CQL string to an SQL regexp string for the ~ operator and append it to regexp.
+   *
+   * @param regexp where to append
+   * @param s CQL string without leading or trailing double quote
+   * @see #cql2regexp(String)
+   */
+  @SuppressWarnings("squid:S3776")  // suppress "Cognitive Complexity of methods should not be too high"
+  public static void appendCql2regexp(StringBuilder regexp, CharSequence s) {
     boolean backslash = false;  // previous character is backslash
-    for (char c : s.toCharArray()) {
+    final int length = s.length();
+    for (int i = 0; i < length; i++) {
+      char c = s.charAt(i);
       switch (c) {
         case '\\':
           if (backslash) {
@@ -195,8 +234,6 @@ public final class Cql2SqlUtil {
       // a single backslash at the end is an error but we handle it gracefully matching one.
       regexp.append("\\\\");
     }
-
-    return regexp.toString();
   }
 
   /**
@@ -0,0 +1,199 @@
+package org.folio.cql2pgjson.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.folio.cql2pgjson.model.DbFkInfo;
+import org.folio.cql2pgjson.model.DbIndex;
+import org.folio.dbschema.ForeignKeys;
+import org.folio.dbschema.GeneratedColumn;
+import org.folio.dbschema.Index;
+import org.folio.dbschema.Schema;
+import org.folio.dbschema.Table;
+
+/**
+ * Lookup maps of a {@link Schema} for the CQL translation so that it doesn't need to iterate
+ * through the tables, indexes and foreign keys for each CQL term.
+ *
+ * <p>The maps are built in the constructor, they return the same results as the corresponding
+ * {@link DbSchemaUtils} methods. The Schema must not be changed after the constructor has been called.
+ */
+public class DbSchemaIndex {
+  private static final DbIndex NO_INDEX = new DbIndex(null, "");
+
+  /**
+   * Result of a foreign key path lookup: either the list or the exception
+   * that the lookup has thrown.
+   */
+  private static class FkPath {
+    private final List<DbFkInfo> list;
+    private final IllegalStateException exception;
+
+    FkPath(List<DbFkInfo> list, IllegalStateException exception) {
+      this.list = list;
+      this.exception = exception;
+    }
+
+    List<DbFkInfo> get() {
+      if (exception != null) {
+        throw new IllegalStateException(exception.getMessage(), exception);
+      }
+      return list;
+    }
+  }
+
+  private final Schema schema;
+  /** table name to table, the first table if several have the same name */
+  private final Map<String, Table> tables = new HashMap<>();
+  /** table to field name to DbIndex */
+  private final Map<Table, Map<String, DbIndex>> dbIndexes = new IdentityHashMap<>();
+  /** source table name to target table alias to foreign keys */
+  private final Map<String, Map<String, FkPath>> sourceTableToTargetAlias = new HashMap<>();
+  /** source table alias to target table name to foreign keys */
+  private final Map<String, Map<String, FkPath>> sourceAliasToTargetTable = new HashMap<>();
+
+  /**
+   * @param schema  the schema to index, must not be changed afterwards
+   */
+  public DbSchemaIndex(Schema schema) {
+    this.schema = schema;
+    List<Table> tableList = schema.getTables() == null ? Collections.emptyList() : schema.getTables();
+    for (Table table : tableList) {
+      tables.putIfAbsent(table.getTableName(), table);
+      dbIndexes.put(table, dbIndexes(table));
+    }
+    for (Table table : tableList) {
+      if (table.getForeignKeys() == null) {
+        continue;
+      }
+      boolean firstTableWithThisName = tables.get(table.getTableName()) == table;
+      for (ForeignKeys fk : table.getForeignKeys()) {
+        if (firstTableWithThisName && fk.getTargetTableAlias() != null) {
+          sourceTableToTargetAlias
+          .computeIfAbsent(table.getTableName(), k -> new HashMap<>())
+          .computeIfAbsent(fk.getTargetTableAlias(), k -> fkPath(table, fk));
+        }
+        if (fk.getTableAlias() != null && fk.getTargetTable() != null) {
+          Map<String, FkPath> map = sourceAliasToTargetTable.computeIfAbsent(fk.getTableAlias(), k -> new HashMap<>());
+          FkPath fkPath = map.get(fk.getTargetTable());
+          // the first non-empty path or the first exception wins
+          if (fkPath == null || (fkPath.exception == null && fkPath.list.isEmpty())) {
+            map.put(fk.getTargetTable(), fkPath(table, fk));
+          }
+        }
+      }
+    }
+  }
+
+  private FkPath fkPath(Table table, ForeignKeys fk) {
+    try {
+      return new FkPath(Collections.unmodifiableList(DbSchemaUtils.findForeignKeys(schema, table, fk)), null);
+    } catch (IllegalStateException e) {
+      return new FkPath(null, e);
+    }
+  }
+
+  private static Map<String, DbIndex> dbIndexes(Table table) {
+    Map<String, DbIndex> map = new HashMap<>();
+    Function<String, DbIndex> newDbIndex = field -> DbSchemaUtils.getDbIndex(table, field);
+    for (List<Index> indexes : Arrays.asList(table.getLikeIndex(), table.getUniqueIndex(),
+        table.getIndex(), table.getGinIndex(), table.getFullTextIndex(), table.getContainmentIndex())) {
+      if (indexes == null) {
+        continue;
+      }
+      for (Index index : indexes) {
+        if (index.getFieldName() != null) {
+          map.computeIfAbsent(index.getFieldName(), newDbIndex);
+        }
+      }
+    }
+    if (table.getForeignKeys() != null) {
+      for (ForeignKeys fk : table.getForeignKeys()) {
+        if (fk.getFieldName() != null) {
+          map.computeIfAbsent(fk.getFieldName(), newDbIndex);
+        }
+      }
+    }
+    if (table.getGeneratedColumns() != null) {
+      for (GeneratedColumn generatedColumn : table.getGeneratedColumns()) {
+        if (generatedColumn.getFieldName() != null) {
+          map.computeIfAbsent(generatedColumn.getFieldName(), newDbIndex);
+        }
+      }
+    }
+    return map;
+  }
+
+  /**
+   * @return the schema this index has been built for
+   */
+  public Schema getSchema() {
+    return schema;
+  }
+
+  /**
+   * Same as {@link DbSchemaUtils#getTable(Schema, String)}.
+   *
+   * @param tableName
+   * @return table; null if not found
+   */
+  public Table getTable(String tableName) {
+    return tables.get(tableName);
+  }
+
+  /**
+   * Same as {@link DbSchemaUtils#getDbIndex(Table, String)}.
+   *
+   * @param table  table of the schema, may be null
+   * @param indexName  the name of the field
+   * @return index information, not null
+   */
+  public DbIndex getDbIndex(Table table, String indexName) {
+    if (table == null) {
+      return NO_INDEX;
+    }
+    Map<String, DbIndex> map = dbIndexes.get(table);
+    if (map == null) {
+      // table is not part of the schema
+      return DbSchemaUtils.getDbIndex(table, indexName);
+    }
+    return map.getOrDefault(indexName, NO_INDEX);
+  }
+
+  /**
+   * Same as {@link DbSchemaUtils#findForeignKeysFromSourceTableToTargetAlias(Schema, String, String)}.
+   *
+   * @return a list of {@link DbFkInfo}; empty if none found
+   * @throws IllegalStateException if the targetPath of the foreign key is invalid
+   */
+  public List<DbFkInfo> findForeignKeysFromSourceTableToTargetAlias(String srcTabName, String targetTabAlias) {
+    return find(sourceTableToTargetAlias, srcTabName, targetTabAlias);
+  }
+
+  /**
+   * Same as {@link DbSchemaUtils#findForeignKeysFromSourceAliasToTargetTable(Schema, String, String)}.
+   *
+   * @return a list of {@link DbFkInfo}; empty if none found
+   * @throws IllegalStateException if the targetPath of the foreign key is invalid
+   */
+  public List<DbFkInfo> findForeignKeysFromSourceAliasToTargetTable(String sourceTableAlias, String targetTable) {
+    return find(sourceAliasToTargetTable, sourceTableAlias, targetTable);
+  }
+
+  private static List<DbFkInfo> find(Map<String, Map<String, FkPath>> map, String key1, String key2) {
+    Map<String, FkPath> map2 = map.get(key1);
+    if (map2 == null) {
+      return Collections.emptyList();
+    }
+    FkPath fkPath = map2.get(key2);
+    if (fkPath == null) {
+      return Collections.emptyList();
+    }
+    return fkPath.get();
+  }
+}
@@ -149,7 +149,7 @@ public class DbSchemaUtils {
   /**
    * Find foreign keys info about foreignKeys via its "fieldName" or "targetPath" property.
    */
-  private static List<DbFkInfo> findForeignKeys(Schema dbSchema, Table table, ForeignKeys foreignKeys) {
+  static List<DbFkInfo> findForeignKeys(Schema dbSchema, Table table, ForeignKeys foreignKeys) {
     // join one table with a second table only?
     if (foreignKeys.getFieldName() != null) {
       List<DbFkInfo> list = new ArrayList<>();
@@ -3,6 +3,7 @@ package org.folio.cql2pgjson;
 import static org.hamcrest.Matchers.*;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -829,6 +830,134 @@ public class CQL2PgJSONTest extends DatabaseTestBase {
     assertEquals(expectedSql, cql2pgJson.toSql(cql).getWhere());
   }
 
+  @Test
+  @Parameters({
+    "id==(11111111-1111-1111-1111-111111111111 or 22222222-2222-2222-2222-222222222222 "
+        + "or 11111111-1111-1111-1111-111111111111), "
+        + "id = ANY ('{11111111-1111-1111-1111-111111111111\\,22222222-2222-2222-2222-222222222222}'::uuid[])",
+    "id=11111111-1111-1111-1111-111111111111 or id==22222222-2222-2222-2222-222222222222, "
+        + "id = ANY ('{11111111-1111-1111-1111-111111111111\\,22222222-2222-2222-2222-222222222222}'::uuid[])",
+    "groupId==(11111111-1111-1111-1111-111111111111 or 22222222-2222-2222-2222-222222222222), "
+        + "groupId = ANY ('{11111111-1111-1111-1111-111111111111\\,22222222-2222-2222-2222-222222222222}'::uuid[])",
+    "id==(11111111-1111-1111-1111-111111111111 or 2222), "
+        + "(id='11111111-1111-1111-1111-111111111111') OR (false /* id == invalid UUID */)",
+    "id==(11111111-1111-1111-1111-111111111111 or 2222*), "
+        + "(id='11111111-1111-1111-1111-111111111111') OR ((id BETWEEN '22220000-0000-0000-0000-000000000000' "
+        + "AND '2222ffff-ffff-ffff-ffff-ffffffffffff'))",
+    "id==11111111-1111-1111-1111-111111111111 or groupId==22222222-2222-2222-2222-222222222222, "
+        + "(id='11111111-1111-1111-1111-111111111111') OR (groupId='22222222-2222-2222-2222-222222222222')",
+    "id==11111111-1111-1111-1111-111111111111 and id==22222222-2222-2222-2222-222222222222, "
+        + "(id='11111111-1111-1111-1111-111111111111') AND (id='22222222-2222-2222-2222-222222222222')",
+  })
+  public void idAny(String cql, String expectedSql) throws QueryValidationException {
+    assertEquals(expectedSql, cql2pgJson.toSql(cql).getWhere());
+  }
+
+  /**
+   * 1000 ids like BuildCQL creates them, see CQL2PgJSONBenchmark for the timing.
+   */
+  @Test
+  public void idAny1000() throws QueryValidationException {
+    StringBuilder cql = new StringBuilder("id==(");
+    for (int i = 0; i < 1000; i++) {
+      if (i > 0) {
+        cql.append(" or ");
+      }
+      cql.append(String.format("%08x-1111-1111-1111-111111111111", i));
+    }
+    cql.append(')');
+    String where = cql2pgJson.toSql(cql.toString()).getWhere();
+    assertThat(where, startsWith("id = ANY ('{00000000-1111-1111-1111-111111111111,"));
+    assertThat(where.length(), is(lessThan(40 * 1000)));
+  }
+
+  @Test
+  public void idAnyAfterOtherTerm() throws QueryValidationException {
+    String jo = cql2pgJson.toSql("name=Jo").getWhere();
+    assertEquals("((" + jo + ") OR (id='11111111-1111-1111-1111-111111111111')) "
+        + "OR (id='22222222-2222-2222-2222-222222222222')",
+        cql2pgJson.toSql("name=Jo or id==11111111-1111-1111-1111-111111111111 "
+            + "or id==22222222-2222-2222-2222-222222222222").getWhere());
+    assertEquals("(id = ANY ('{11111111-1111-1111-1111-111111111111,22222222-2222-2222-2222-222222222222}'::uuid[])) "
+        + "OR (" + jo + ")",
+        cql2pgJson.toSql("id==11111111-1111-1111-1111-111111111111 "
+            + "or id==22222222-2222-2222-2222-222222222222 or name=Jo").getWhere());
+  }
+
+  private CQL2PgJSON orUnionCql2pgJson() throws CQL2PgJSONException {
+    CQL2PgJSON aCql2pgJson = new CQL2PgJSON("users.user_data", Arrays.asList("name", "address.zip"));
+    aCql2pgJson.setOrUnion(DB_NAME);
+    return aCql2pgJson;
+  }
+
+  @Test
+  @Parameters({
+    "name==\"Ka Keller\" or address.zip==2450                    # Jo Jane; Ka Keller",
+    "name=Lea or groupId==77777777-7777-7777-7777-777777777777 # Jo Jane; Lea Long",
+    "cql.serverChoice==2450                                    # Jo Jane",
+    "cql.serverChoice==\"Lea Long\" or id==11111111-1111-1111-1111-111111111111 # Jo Jane; Lea Long",
+    "name==Jo* or address.zip==2450 or email==ka@example.com   # Jo Jane; Ka Keller",
+  })
+  public void orUnion(String testcase) throws CQL2PgJSONException {
+    select(orUnionCql2pgJson(), testcase);
+  }
+
+  private String where(CQL2PgJSON aCql2pgJson, String cql) throws QueryValidationException {
+    return aCql2pgJson.toSql(cql).getWhere();
+  }
+
+  @Test
+  public void orUnionSql() throws CQL2PgJSONException {
+    CQL2PgJSON aCql2pgJson = orUnionCql2pgJson();
+    assertThat(where(aCql2pgJson, "name==Jo or address.zip==2450"), is("id IN ("
+        + "SELECT id FROM " + DB_NAME + ".users WHERE " + where(aCql2pgJson, "name==Jo")
+        + " UNION ALL SELECT id FROM " + DB_NAME + ".users WHERE " + where(aCql2pgJson, "address.zip==2450") + ")"));
+    assertThat(where(aCql2pgJson, "cql.serverChoice==Jo"), is("id IN ("
+        + "SELECT id FROM " + DB_NAME + ".users WHERE " + where(aCql2pgJson, "name==Jo")
+        + " UNION ALL SELECT id FROM " + DB_NAME + ".users WHERE " + where(aCql2pgJson, "address.zip==Jo") + ")"));
+  }
+
+  @Test
+  @Parameters({
+    "name==Jo or name==Ka",                 // same field
+    "name==Jo or email==ka@example.com",    // email has no index
+    "name==Jo or address.zip<>2450",        // <> matches most records
+    "address.zip=2450 or name==Jo",         // = needs a full text index
+    "cql.serverChoice=Jo",                  // = needs a full text index
+  })
+  public void orUnionNotUsed(String cql) throws CQL2PgJSONException {
+    assertThat(where(orUnionCql2pgJson(), cql), not(containsString("UNION")));
+  }
+
+  @Test
+  public void orUnionDisabled() throws CQL2PgJSONException {
+    CQL2PgJSON aCql2pgJson = orUnionCql2pgJson();
+    aCql2pgJson.setOrUnion(null);
+    assertThat(aCql2pgJson.isOrUnion(), is(false));
+    assertThat(where(aCql2pgJson, "name==Jo or address.zip==2450"), not(containsString("UNION")));
+  }
+
+  @Test
+  public void orUnionServerChoiceWithoutIndexes() throws CQL2PgJSONException {
+    CQL2PgJSON aCql2pgJson = new CQL2PgJSON("users.user_data");
+    aCql2pgJson.setOrUnion(DB_NAME);
+    QueryValidationException e = assertThrows(QueryValidationException.class,
+        () -> where(aCql2pgJson, "name==Jo or address.zip==2450 or Ka"));
+    assertThat(e.getMessage(), containsString("no serverChoiceIndexes defined"));
+  }
+
+  @Test
+  public void orUnionMaxBranches() throws CQL2PgJSONException {
+    CQL2PgJSON aCql2pgJson = orUnionCql2pgJson();
+    StringBuilder cql = new StringBuilder("address.zip==0");
+    for (int i = 1; i < CQL2PgJSON.UNION_MAX_BRANCHES; i++) {
+      cql.append(" or name==").append(i);
+    }
+    assertThat(where(aCql2pgJson, cql.toString()), containsString("UNION"));
+    cql.append(" or name==x");
+    assertThat(where(aCql2pgJson, cql.toString()), not(startsWith("id IN")));
+  }
+
   @Test
   @Parameters({
     "cql.allRecords=1 sortBy id                               , WHERE true ORDER BY id     ",
@@ -896,6 +1025,10 @@ public class CQL2PgJSONTest extends DatabaseTestBase {
     "groupId==\"\"                                             #",
     "groupId=           77777777-7777-7777-7777-777777777777   # Jo Jane",
     "groupId<>          77777777-7777-7777-7777-777777777777   # Ka Keller; Lea Long",
+    "id==(11111111-1111-1111-1111-111111111111 or 22222222-2222-2222-2222-222222222222) # Jo Jane; Ka Keller",
+    "id=(11111111-1111-1111-1111-111111111111 or 44444444-4444-4444-4444-444444444444)  # Jo Jane",
+    "name=Jo not id==(11111111-1111-1111-1111-111111111111 or 22222222-2222-2222-2222-222222222222) #",
+    "groupId==(77777777-7777-7777-7777-777777777777 or 44444444-4444-4444-4444-444444444444) # Jo Jane",
   })
   public void idMatch(String testcase) {
     select(cql2pgJson, testcase);
@@ -1049,7 +1182,15 @@ public class CQL2PgJSONTest extends DatabaseTestBase {
     "contactInformation.phone == /@type=mobile 0912212 # b ",
     "contactInformation.phone == /@type=home 0912212 # ",
     "contactInformation.phone == /@type=home 091221? # b",
-    "contactInformation.phone == /@type=home 09122* # b"
+    "contactInformation.phone == /@type=home 09122* # b",
+    "contactInformation.phone == /@type=home 0912213 # b",
+    "contactInformation.phone == /@type=Home 0912213 # b",  // no containment, ignores case
+    "contactInformation.phone == /respectCase/respectAccents/@type=Home 0912213 # ",  // containment
+    "contactInformation.phone == /respectCase/respectAccents/@type=home 0912213 # b",
+    "contactInformation.phone == /@type=mobile 0912213 # ",
+    "contactInformation.phone == /@type 0912213 # b",
+    "contactInformation.phone == /@type=home/@number=0912213 0912213 # b",
+    "contactInformation.phone == /@type=home \"091'2213\" # ",
     })
   public void arrayRelationModifiers(String testcase) throws IOException, CQL2PgJSONException {
     logger.debug("arrayRelationModifiers():" + testcase);
@@ -1059,6 +1200,33 @@ public class CQL2PgJSONTest extends DatabaseTestBase {
     logger.debug("arrayRelationModifiers(): " + testcase + " OK");
   }
 
+  @Test
+  @Parameters({
+    "contactInformation.phone == /respectCase/respectAccents/@type=home 0912213, "
+        + "users.user_data->'contactInformation'->'phone' @> '[{\"number\":\"0912213\"\\,\"type\":\"home\"}]'",
+    "contactInformation.phone == /respectAccents/respectCase/@type=home \"091'2213\", "
+        + "users.user_data->'contactInformation'->'phone' @> '[{\"number\":\"091''2213\"\\,\"type\":\"home\"}]'",
+  })
+  public void arrayContainment(String cql, String expectedSql) throws CQL2PgJSONException {
+    CQL2PgJSON aCql2pgJson = new CQL2PgJSON("users.user_data", Arrays.asList("name"));
+    assertEquals(expectedSql, aCql2pgJson.toSql(cql).getWhere());
+  }
+
+  @Test
+  @Parameters({
+    "contactInformation.phone == /@type=home 09122*",
+    "contactInformation.phone == /@type 0912213",
+    "contactInformation.phone <> /@type=home 0912213",
+    "contactInformation.phone == /@number=0912212 0912213",
+    "contactInformation.phone == /@type=home 0912213",
+    "contactInformation.phone == /respectCase/@type=home 0912213",
+    "contactInformation.phone == /respectAccents/@type=home 0912213",
+  })
+  public void arrayNoContainment(String cql) throws CQL2PgJSONException {
+    CQL2PgJSON aCql2pgJson = new CQL2PgJSON("users.user_data", Arrays.asList("name"));
+    assertThat(aCql2pgJson.toSql(cql).getWhere(), not(containsString("@>")));
+  }
+
   @Ignore("Need to sort out the array stuff first")
   @Test
   @Parameters({
@@ -23,7 +23,8 @@ import org.testcontainers.containers.PostgreSQLContainer;
  * and closeDatabase() (for example in a @AfterClass function).
  */
 public class DatabaseTestBase {
-  private static final String DB_NAME = "test_cql2pgjson";
+  /** schema of the test tables */
+  static final String DB_NAME = "test_cql2pgjson";
   private static final String EMBEDDED_USERNAME = "test";
   private static final String EMBEDDED_PASSWORD = "test";
   private static PostgreSQLContainer<?> postgresSQLContainer;
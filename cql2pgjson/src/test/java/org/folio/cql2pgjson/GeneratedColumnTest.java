@@ -0,0 +1,89 @@
+package org.folio.cql2pgjson;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
+import org.junit.Test;
+
+public class GeneratedColumnTest {
+
+  private static SqlSelect toSql(String cql) throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("item.jsonb");
+    cql2pgJson.setDbSchemaPath("templates/db_scripts/generatedColumns.json");
+    return cql2pgJson.toSql(cql);
+  }
+
+  private static String where(String cql) throws Exception {
+    return toSql(cql).getWhere();
+  }
+
+  private static String orderBy(String cql) throws Exception {
+    return toSql(cql).getOrderBy();
+  }
+
+  @Test
+  public void text() throws Exception {
+    assertThat(where("barcode == abc"), is("lower(f_unaccent(item.barcode)) LIKE lower(f_unaccent('abc'))"));
+    assertThat(orderBy("cql.allRecords=1 sortBy barcode"),
+        is("left(lower(f_unaccent(item.barcode)),600), lower(f_unaccent(item.barcode))"));
+  }
+
+  @Test
+  public void numeric() throws Exception {
+    assertThat(where("purchaseOrder.quantity >=/number 5"), is("item.quantity>='5'"));
+    assertThat(where("purchaseOrder.quantity ==/number 5"), is("item.quantity='5'"));
+    assertThat(orderBy("cql.allRecords=1 sortBy purchaseOrder.quantity/sort.descending/number"),
+        is("quantity DESC"));
+  }
+
+  @Test(expected = QueryValidationException.class)
+  public void numericInvalid() throws Exception {
+    where("purchaseOrder.quantity >/number abc");
+  }
+
+  @Test
+  public void numericWithoutNumberModifier() throws Exception {
+    assertThat(where("purchaseOrder.quantity >= 5"), is("item.jsonb->'purchaseOrder'->>'quantity' >='5'"));
+  }
+
+  @Test
+  public void timestamp() throws Exception {
+    assertThat(where("metadata.updatedDate > \"2020-01-31T12:00:00.000+00:00\""),
+        is("item.updated_date>'2020-01-31T12:00Z'"));
+    assertThat(where("metadata.updatedDate > \"2020-01-31 12:00:01.5+0130\""),
+        is("item.updated_date>'2020-01-31T12:00:01.500+01:30'"));
+    // without offset it is UTC like the generated column
+    assertThat(where("metadata.updatedDate <= 2020-01-31"), is("item.updated_date<='2020-01-31T00:00Z'"));
+    assertThat(orderBy("cql.allRecords=1 sortBy metadata.updatedDate/sort.descending"), is("updated_date DESC"));
+  }
+
+  @Test(expected = QueryValidationException.class)
+  public void timestampInvalidDate() throws Exception {
+    where("metadata.updatedDate > 2020-13-45");
+  }
+
+  @Test(expected = QueryValidationException.class)
+  public void timestampInvalidTime() throws Exception {
+    where("metadata.updatedDate > 2020-01-31T25:00");
+  }
+
+  @Test
+  public void timestampNoDate() throws Exception {
+    assertThat(where("metadata.updatedDate > foo"), is("item.jsonb->'metadata'->>'updatedDate' >'foo'"));
+  }
+
+  @Test
+  public void uuid() throws Exception {
+    assertThat(where("holdingsRecordId == 11111111-1111-1111-1111-111111111111"),
+        is("holdings_record_id='11111111-1111-1111-1111-111111111111'"));
+    assertThat(orderBy("cql.allRecords=1 sortBy holdingsRecordId"), is("holdings_record_id"));
+  }
+
+  @Test
+  public void deletedColumn() throws Exception {
+    assertThat(orderBy("cql.allRecords=1 sortBy status"),
+        is("left(lower(f_unaccent(item.jsonb->>'status')),600), lower(f_unaccent(item.jsonb->>'status'))"));
+  }
+}
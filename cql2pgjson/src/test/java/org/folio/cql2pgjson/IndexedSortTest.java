@@ -0,0 +1,97 @@
+package org.folio.cql2pgjson;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThrows;
+
+import java.util.stream.Collectors;
+
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.IndexedSort;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import junitparams.JUnitParamsRunner;
+import junitparams.Parameters;
+
+@RunWith(JUnitParamsRunner.class)
+public class IndexedSortTest {
+
+  private static IndexedSort indexedSort(String cql) throws Exception {
+    return new CQL2PgJSON("users.user_data").toIndexedSort(cql);
+  }
+
+  private static String sortKeys(IndexedSort indexedSort) {
+    return indexedSort.getSortKeys().stream().map(Object::toString).collect(Collectors.joining(", "));
+  }
+
+  @Test
+  public void indexedSort() throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("users.user_data");
+    String cql = "name=x sortBy address.zip/sort.descending name";
+    IndexedSort indexedSort = cql2pgJson.toIndexedSort(cql);
+    assertThat(indexedSort.getIndexKey().getExpression(),
+        is("left(lower(f_unaccent(users.user_data->'address'->>'zip')),600)"));
+    assertThat(indexedSort.getIndexKey().isDescending(), is(true));
+    assertThat(indexedSort.getWhere(), is(cql2pgJson.toSql(cql).getWhere()));
+    assertThat(sortKeys(indexedSort), is(cql2pgJson.toSql(cql).getOrderBy()));
+  }
+
+  @Test
+  public void reuseParsedQuery() throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("users.user_data");
+    String where = cql2pgJson.toSql("name=x").getWhere();
+    assertThat(cql2pgJson.toIndexedSort("name=x"), is(nullValue()));
+    assertThat(cql2pgJson.toSql("name=x").getWhere(), is(where));
+    assertThat(cql2pgJson.toSql("name=y").getWhere(), is(not(where)));
+    assertThrows(QueryValidationException.class, () -> cql2pgJson.toSql("name="));
+    assertThat(cql2pgJson.toSql("name=x").getWhere(), is(where));
+  }
+
+  @Test
+  @Parameters({
+    "name=x sortBy id, id",
+    "name=x sortBy groupId/sort.descending, groupId DESC",
+    "name=x sortBy lang/sort.ascending, left(lower(f_unaccent(users.user_data->>'lang'))\\,600)",
+  })
+  public void indexKey(String cql, String expected) throws Exception {
+    assertThat(indexedSort(cql).getIndexKey().toString(), is(expected));
+  }
+
+  @Test
+  @Parameters({
+    "name=x",
+    "name=x sortBy name",
+    "name=x sortBy name lang",
+    "name=x sortBy lang/number",
+    "name=x sortBy lang/respectCase",
+    "name=x sortBy lang/respectAccents",
+  })
+  public void notIndexed(String cql) throws Exception {
+    assertThat(indexedSort(cql), is(nullValue()));
+  }
+
+  @Test
+  public void generatedColumn() throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON("item.jsonb");
+    cql2pgJson.setDbSchemaPath("templates/db_scripts/generatedColumns.json");
+    assertThat(cql2pgJson.toIndexedSort("cql.allRecords=1 sortBy metadata.updatedDate").getIndexKey().toString(),
+        is("updated_date"));
+    assertThat(cql2pgJson.toIndexedSort("cql.allRecords=1 sortBy purchaseOrder.quantity/number/sort.descending")
+        .getIndexKey().toString(), is("quantity DESC"));
+    // text column has no "index" entry
+    assertThat(cql2pgJson.toIndexedSort("cql.allRecords=1 sortBy barcode"), is(nullValue()));
+  }
+
+  @Test
+  public void invalidCql() {
+    assertThrows(QueryValidationException.class, () -> indexedSort("name=x sortBy"));
+  }
+
+  @Test
+  public void unknownTable() throws Exception {
+    assertThat(new CQL2PgJSON("foo.jsonb").toIndexedSort("name=x sortBy id"), is(nullValue()));
+  }
+}
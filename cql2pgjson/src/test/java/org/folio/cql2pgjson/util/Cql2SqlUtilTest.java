@@ -98,6 +98,14 @@ public class Cql2SqlUtilTest extends DatabaseTestBase {
     assertThat(Cql2SqlUtil.cql2like(cql), is(sql));
   }
 
+  @Test
+  @Parameters(method = "cql2likeParams")
+  public void appendCql2like(String cql, String sql) {
+    StringBuilder sb = new StringBuilder("x");
+    Cql2SqlUtil.appendCql2like(sb, cql);
+    assertThat(sb.toString(), is("x" + sql));
+  }
+
   public Object cql2stringParams() {
     return params(
       "           ",
@@ -129,6 +137,20 @@ public class Cql2SqlUtilTest extends DatabaseTestBase {
     assertThat(sql.equals("exception"), is(caught));
   }
 
+  @Test
+  @Parameters(method = "cql2stringParams")
+  public void appendCql2string(String cql, String sql) {
+    StringBuilder sb = new StringBuilder("x");
+    boolean caught = false;
+    try {
+      Cql2SqlUtil.appendCql2string(sb, cql);
+      assertThat(sb.toString(), is("x" + sql));
+    } catch (QueryValidationException ex) {
+      caught = true;
+    }
+    assertThat(sql.equals("exception"), is(caught));
+  }
+
   public Object cql2regexpParams() {
     return params(
       "           ",
@@ -168,6 +190,14 @@ public class Cql2SqlUtilTest extends DatabaseTestBase {
     assertThat(Cql2SqlUtil.cql2regexp(cql), is(sql));
   }
 
+  @Test
+  @Parameters(method = "cql2regexpParams")
+  public void appendCql2regexp(String cql, String sql) {
+    StringBuilder sb = new StringBuilder("x");
+    Cql2SqlUtil.appendCql2regexp(sb, cql);
+    assertThat(sb.toString(), is("x" + sql));
+  }
+
   @Test(expected = QueryValidationException.class)
   public void appendCql2tsqueryQuestionmark() throws QueryValidationException {
     Cql2SqlUtil.appendCql2tsquery(new StringBuilder(), "abc d?f");
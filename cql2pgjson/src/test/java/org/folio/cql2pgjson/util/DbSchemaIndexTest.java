@@ -0,0 +1,140 @@
+package org.folio.cql2pgjson.util;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.collection.IsEmptyCollection.empty;
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.folio.cql2pgjson.CQL2PgJSON;
+import org.folio.cql2pgjson.model.DbFkInfo;
+import org.folio.cql2pgjson.model.DbIndex;
+import org.folio.dbschema.Index;
+import org.folio.dbschema.ObjectMapperTool;
+import org.folio.dbschema.Schema;
+import org.folio.dbschema.Table;
+import org.folio.dbschema.TableOperation;
+import org.folio.util.ResourceUtil;
+import org.junit.Test;
+
+public class DbSchemaIndexTest {
+
+  private static Index newIndex(String name) {
+    Index index = new Index();
+    index.setFieldName(name);
+    return index;
+  }
+
+  private static Schema schema(String schemaPath) {
+    try {
+      String dbJson = ResourceUtil.asString(schemaPath, CQL2PgJSON.class);
+      return ObjectMapperTool.getMapper().readValue(dbJson, Schema.class);
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static String toString(List<DbFkInfo> list) {
+    return list.toString();
+  }
+
+  @Test
+  public void dbIndex() {
+    Table table = new Table();
+    table.setTableName("users");
+    table.setFullTextIndex(Arrays.asList(newIndex("name")));
+    table.setGinIndex(Arrays.asList(newIndex("name")));
+    table.setIndex(Arrays.asList(newIndex("name")));
+    table.setUniqueIndex(Arrays.asList(newIndex("email")));
+    Index deleted = newIndex("address");
+    deleted.settOps(TableOperation.DELETE);
+    table.setLikeIndex(Arrays.asList(deleted));
+    Schema schema = new Schema();
+    schema.setTables(Arrays.asList(table));
+    DbSchemaIndex dbSchemaIndex = new DbSchemaIndex(schema);
+
+    assertThat(dbSchemaIndex.getSchema(), is(sameInstance(schema)));
+    assertThat(dbSchemaIndex.getTable("users"), is(sameInstance(table)));
+    assertThat(dbSchemaIndex.getTable("foo"), is(nullValue()));
+
+    DbIndex name = dbSchemaIndex.getDbIndex(table, "name");
+    assertTrue(name.hasFullTextIndex());
+    assertTrue(name.hasGinIndex());
+    assertTrue(name.hasIndex());
+    assertFalse(name.hasUniqueIndex());
+    assertFalse(name.hasLikeIndex());
+
+    DbIndex email = dbSchemaIndex.getDbIndex(table, "email");
+    assertTrue(email.hasUniqueIndex());
+    assertFalse(email.hasIndex());
+
+    for (String field : Arrays.asList("address", "foo")) {
+      DbIndex dbIndex = dbSchemaIndex.getDbIndex(table, field);
+      assertFalse(dbIndex.hasFullTextIndex());
+      assertFalse(dbIndex.hasGinIndex());
+      assertFalse(dbIndex.hasIndex());
+      assertFalse(dbIndex.hasUniqueIndex());
+      assertFalse(dbIndex.hasLikeIndex());
+      assertFalse(dbIndex.isForeignKey());
+    }
+
+    assertFalse(dbSchemaIndex.getDbIndex(null, "name").hasIndex());
+
+    Table otherTable = new Table();
+    otherTable.setIndex(Arrays.asList(newIndex("name")));
+    assertTrue(dbSchemaIndex.getDbIndex(otherTable, "name").hasIndex());
+  }
+
+  @Test
+  public void sameAsDbSchemaUtils() {
+    Schema dbSchema = schema("templates/db_scripts/foreignKeyPath.json");
+    DbSchemaIndex dbSchemaIndex = new DbSchemaIndex(dbSchema);
+    for (String table : Arrays.asList("a", "b", "c", "d", "e", "f", "nonexistingTable")) {
+      for (String alias : Arrays.asList("a", "bAlias", "eAlias", "e2Alias", "nonexistingAlias")) {
+        assertEquals(table + " " + alias,
+            toString(DbSchemaUtils.findForeignKeysFromSourceTableToTargetAlias(dbSchema, table, alias)),
+            toString(dbSchemaIndex.findForeignKeysFromSourceTableToTargetAlias(table, alias)));
+        assertEquals(alias + " " + table,
+            toString(DbSchemaUtils.findForeignKeysFromSourceAliasToTargetTable(dbSchema, alias, table)),
+            toString(dbSchemaIndex.findForeignKeysFromSourceAliasToTargetTable(alias, table)));
+      }
+    }
+  }
+
+  @Test
+  public void findForeignKeys() {
+    DbSchemaIndex dbSchemaIndex = new DbSchemaIndex(schema("templates/db_scripts/foreignKeyPath.json"));
+
+    List<DbFkInfo> list = dbSchemaIndex.findForeignKeysFromSourceTableToTargetAlias("f", "a");
+    assertEquals("f", list.get(0).getTable());
+    assertEquals("e", list.get(1).getTable());
+    assertEquals("c", list.get(2).getTable());
+    assertEquals("b", list.get(3).getTable());
+
+    list = dbSchemaIndex.findForeignKeysFromSourceAliasToTargetTable("eAlias", "b");
+    assertEquals("e", list.get(0).getTable());
+    assertEquals("d", list.get(1).getTable());
+    assertEquals("c", list.get(2).getTable());
+
+    assertThat(dbSchemaIndex.findForeignKeysFromSourceTableToTargetAlias("nonexistingTable", "a"), is(empty()));
+    assertThat(dbSchemaIndex.findForeignKeysFromSourceAliasToTargetTable("nonexistingAlias", "b"), is(empty()));
+  }
+
+  @Test
+  public void invalidPathIsReportedOnLookup() {
+    DbSchemaIndex dbSchemaIndex = new DbSchemaIndex(schema("templates/db_scripts/foreignKeyPath.json"));
+
+    IllegalStateException e = assertThrows(IllegalStateException.class,
+        () -> dbSchemaIndex.findForeignKeysFromSourceTableToTargetAlias("i", "a"));
+    assertThat(e.getMessage().contains("table not found"), is(true));
+
+    e = assertThrows(IllegalStateException.class,
+        () -> dbSchemaIndex.findForeignKeysFromSourceTableToTargetAlias("i", "b"));
+    assertThat(e.getMessage().contains("fieldName=nonexisting"), is(true));
+  }
+}
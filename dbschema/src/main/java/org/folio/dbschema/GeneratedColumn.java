@@ -0,0 +1,133 @@
+package org.folio.dbschema;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import org.folio.dbschema.util.SqlUtil;
+
+/**
+ * A STORED generated column of a table that contains a typed copy of a JSONB property,
+ * for example {@code barcode text GENERATED ALWAYS AS (jsonb->>'barcode') STORED}.
+ *
+ * <p>fieldName is the JSON path in dot notation like for indexes.
+ */
+public class GeneratedColumn extends Field {
+
+  public enum Type {
+    @JsonProperty("text")
+    TEXT("text"),
+
+    @JsonProperty("numeric")
+    NUMERIC("numeric"),
+
+    @JsonProperty("timestamp")
+    TIMESTAMP("timestamptz"),
+
+    @JsonProperty("uuid")
+    UUID("uuid");
+
+    private final String sqlType;
+
+    Type(String sqlType) {
+      this.sqlType = sqlType;
+    }
+
+    public String getSqlType() {
+      return sqlType;
+    }
+  }
+
+  private static final String JSONB = "jsonb";
+  private static final String UUID_REGEXP =
+      "^[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$";
+
+  private String columnName;
+  private Type type = Type.TEXT;
+  private boolean index = false;
+
+  public String getColumnName() {
+    return columnName;
+  }
+
+  /**
+   * @param columnName  name of the database column
+   * @throws IllegalArgumentException on invalid columnName, see {@link SqlUtil#validateSqlIdentifier(String)}
+   */
+  public void setColumnName(String columnName) {
+    SqlUtil.validateSqlIdentifier(columnName);
+    this.columnName = columnName;
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public void setType(Type type) {
+    this.type = type;
+  }
+
+  /**
+   * @return whether to create a btree index on the column
+   */
+  public boolean isIndex() {
+    return index;
+  }
+
+  public void setIndex(boolean index) {
+    this.index = index;
+  }
+
+  public String getSqlType() {
+    return type.getSqlType();
+  }
+
+  /**
+   * @return the SQL expression that extracts the text value from the jsonb column, for example
+   *   {@code jsonb->'a'->>'b'}
+   */
+  public String getJsonTextExpression() {
+    return SqlUtil.Cql2PgUtil.cqlNameAsSqlText(JSONB, fieldName);
+  }
+
+  /**
+   * The expression of the generated column. It is immutable as PostgreSQL requires it;
+   * a value that cannot be converted into the type yields NULL and doesn't fail the insert or update.
+   */
+  public String getSqlExpression() {
+    String text = getJsonTextExpression();
+    switch (type) {
+    case NUMERIC:
+      return "CASE WHEN jsonb_typeof(" + SqlUtil.Cql2PgUtil.cqlNameAsSqlJson(JSONB, fieldName) + ") = 'number'"
+          + " THEN (" + text + ")::numeric END";
+    case TIMESTAMP:
+      return "rmb_to_timestamptz(" + text + ")";
+    case UUID:
+      return "CASE WHEN " + text + " ~ '" + UUID_REGEXP + "' THEN (" + text + ")::uuid END";
+    default:
+      return text;
+    }
+  }
+
+  /**
+   * Validate columnName and type, set fieldPath to the json text expression.
+   * @throws IllegalArgumentException if columnName, fieldName or type is missing
+   */
+  @Override
+  public void setup() {
+    if (fieldName == null) {
+      throw new IllegalArgumentException("fieldName missing for generated column " + columnName);
+    }
+    if (columnName == null) {
+      throw new IllegalArgumentException("columnName missing for generated column of " + fieldName);
+    }
+    if (type == null) {
+      throw new IllegalArgumentException("type missing for generated column " + columnName);
+    }
+    setFieldPath(getJsonTextExpression());
+  }
+
+  @Override
+  public String toString() {
+    return "GeneratedColumn [columnName=" + columnName + ", fieldName=" + fieldName + ", type=" + type
+        + ", index=" + index + ", tOps=" + tOps + "]";
+  }
+}
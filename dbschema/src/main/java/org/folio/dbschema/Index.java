@@ -201,4 +201,16 @@ public class Index extends TableIndexes {
     setFieldPath(convertDotPath2PostgresNotation(null, getFieldName(), true, this, true));
     setFieldName(normalizeFieldName(getFieldName()));
   }
+
+  /**
+   * jsonb containment compares the jsonb values as they are: no text extraction,
+   * no lower(), no f_unaccent().
+   */
+  public void setupContainmentIndex() {
+    setStringType(false);
+    setCaseSensitive(true);
+    setRemoveAccents(false);
+    setFieldPath(convertDotPath2PostgresNotation(null, getFieldName(), false, this, false));
+    setFieldName(normalizeFieldName(getFieldName()));
+  }
 }
@@ -1,12 +1,16 @@
 package org.folio.dbschema;
 
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author shale
@@ -17,6 +21,12 @@ public final class ObjectMapperTool {
 
   private static final ObjectMapper MAPPER = new ObjectMapper();
 
+  /** modules registered with {@link #registerDeserializer(Class, JsonDeserializer)} */
+  private static final List<Module> MODULES = new ArrayList<>();
+
+  /** mappers created with {@link #createMapper(JsonFactory)} */
+  private static final List<ObjectMapper> FORMAT_MAPPERS = new ArrayList<>();
+
   static {
     DEFAULT_MAPPER.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
     MAPPER.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
@@ -34,10 +44,26 @@ public final class ObjectMapperTool {
     return MAPPER;
   }
 
-  public static <M, D extends JsonDeserializer<M>> void registerDeserializer(Class<M> clazz, D deserializer) {
+  /**
+   * Create a mapper for a different data format like Smile or CBOR that is configured
+   * like {@link #getMapper()}, including deserializers registered before or after this call.
+   *
+   * @param jsonFactory factory of the data format, for example new SmileFactory()
+   */
+  public static synchronized ObjectMapper createMapper(JsonFactory jsonFactory) {
+    ObjectMapper mapper = new ObjectMapper(jsonFactory);
+    mapper.configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false);
+    MODULES.forEach(mapper::registerModule);
+    FORMAT_MAPPERS.add(mapper);
+    return mapper;
+  }
+
+  public static synchronized <M, D extends JsonDeserializer<M>> void registerDeserializer(Class<M> clazz, D deserializer) {
     SimpleModule module = new SimpleModule();
     module.addDeserializer(clazz, deserializer);
     MAPPER.registerModule(module);
+    MODULES.add(module);
+    FORMAT_MAPPERS.forEach(mapper -> mapper.registerModule(module));
   }
 
   /**
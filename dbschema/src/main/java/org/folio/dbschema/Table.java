@@ -1,5 +1,6 @@
 package org.folio.dbschema;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -37,6 +38,13 @@ public class Table extends Versioned {
    * @see <a href="https://www.postgresql.org/docs/current/textsearch-indexes.html">https://www.postgresql.org/docs/current/textsearch-indexes.html</a>
    */
   private List<Index> fullTextIndex;
+  /**
+   * GIN indexes using jsonb_path_ops for jsonb containment {@code @>} queries
+   * @see <a href="https://www.postgresql.org/docs/current/datatype-json.html#JSON-INDEXING">https://www.postgresql.org/docs/current/datatype-json.html#JSON-INDEXING</a>
+   */
+  private List<Index> containmentIndex;
+  /** STORED generated columns with typed copies of jsonb properties */
+  private List<GeneratedColumn> generatedColumns;
   private List<ForeignKeys> foreignKeys;
   private String customSnippetPath;
   private List<AddFields> addFields;
@@ -44,6 +52,11 @@ public class Table extends Versioned {
   private AuditingSnippet auditingSnippet;
   private String auditingTableName;
   private String auditingFieldName;
+  /**
+   * number of sort index entries the optimized SQL of PgUtil scans before it switches to
+   * the filter indexes; null for the PgUtil default, 0 to disable the optimization
+   */
+  private Integer optimizedSqlSize;
 
   public String getTableName() {
     return tableName;
@@ -74,6 +87,14 @@ public class Table extends Versioned {
     this.withAuditing = withAuditing;
   }
 
+  public List<GeneratedColumn> getGeneratedColumns() {
+    return generatedColumns;
+  }
+
+  public void setGeneratedColumns(List<GeneratedColumn> generatedColumns) {
+    this.generatedColumns = generatedColumns;
+  }
+
   public List<ForeignKeys> getForeignKeys() {
     return foreignKeys;
   }
@@ -198,6 +219,14 @@ public class Table extends Versioned {
     this.fullTextIndex = fullTextIndex;
   }
 
+  public List<Index> getContainmentIndex() {
+    return containmentIndex;
+  }
+
+  public void setContainmentIndex(List<Index> containmentIndex) {
+    this.containmentIndex = containmentIndex;
+  }
+
   /**
    * Return an empty list if l is null, otherwise return l.
    */
@@ -208,6 +237,26 @@ public class Table extends Versioned {
     return l;
   }
 
+  /**
+   * Replace the jsonb text extraction by the column name in the index expressions of fields that
+   * have a text generated column so that the indexes match the SQL that CQL2PgJSON generates.
+   */
+  private void useTextColumnsInIndexes() {
+    for (GeneratedColumn column : list(getGeneratedColumns())) {
+      if (column.gettOps() != TableOperation.ADD || column.getType() != GeneratedColumn.Type.TEXT) {
+        continue;
+      }
+      for (List<Index> indexes : Arrays.asList(getIndex(), getLikeIndex(), getUniqueIndex(),
+          getGinIndex(), getFullTextIndex())) {
+        for (Index index : list(indexes)) {
+          if (index.getFieldPath() != null) {
+            index.setFieldPath(index.getFieldPath().replace(column.getFieldPath(), column.getColumnName()));
+          }
+        }
+      }
+    }
+  }
+
   /**
    * Set mode to "new" if null. Set fieldName using FieldName for each field.
    */
@@ -228,6 +277,9 @@ public class Table extends Versioned {
     list(getUniqueIndex())  .forEach(Index::setupUniqueIndex);
     list(getGinIndex())     .forEach(Index::setupGinIndex);
     list(getFullTextIndex()).forEach(Index::setupFullTextIndex);
+    list(getContainmentIndex()).forEach(Index::setupContainmentIndex);
+    list(getGeneratedColumns()).forEach(GeneratedColumn::setup);
+    useTextColumnsInIndexes();
     if (isWithAuditing()) {
       if (getAuditingTableName() == null) {
         throw new IllegalArgumentException(
@@ -240,6 +292,21 @@ public class Table extends Versioned {
     }
   }
 
+  public Integer getOptimizedSqlSize() {
+    return optimizedSqlSize;
+  }
+
+  /**
+   * @param optimizedSqlSize  null for the default, 0 to disable the sort index optimization
+   * @throws IllegalArgumentException if optimizedSqlSize is negative
+   */
+  public void setOptimizedSqlSize(Integer optimizedSqlSize) {
+    if (optimizedSqlSize != null && optimizedSqlSize < 0) {
+      throw new IllegalArgumentException("optimizedSqlSize must not be negative: " + optimizedSqlSize);
+    }
+    this.optimizedSqlSize = optimizedSqlSize;
+  }
+
   public OptimisticLockingMode getWithOptimisticLocking() {
     return withOptimisticLocking;
   }
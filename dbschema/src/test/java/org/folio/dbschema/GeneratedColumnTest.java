@@ -0,0 +1,69 @@
+package org.folio.dbschema;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class GeneratedColumnTest {
+
+  private static GeneratedColumn column(String fieldName, String columnName, GeneratedColumn.Type type) {
+    GeneratedColumn column = new GeneratedColumn();
+    column.setFieldName(fieldName);
+    column.setColumnName(columnName);
+    column.setType(type);
+    return column;
+  }
+
+  @Test
+  void text() {
+    GeneratedColumn column = column("a.barcode", "barcode", GeneratedColumn.Type.TEXT);
+    column.setup();
+    assertEquals("text", column.getSqlType());
+    assertEquals("jsonb->'a'->>'barcode'", column.getSqlExpression());
+    assertEquals("jsonb->'a'->>'barcode'", column.getFieldPath());
+  }
+
+  @Test
+  void numeric() {
+    GeneratedColumn column = column("quantity", "quantity", GeneratedColumn.Type.NUMERIC);
+    assertEquals("numeric", column.getSqlType());
+    assertEquals("CASE WHEN jsonb_typeof(jsonb->'quantity') = 'number' THEN (jsonb->>'quantity')::numeric END",
+        column.getSqlExpression());
+  }
+
+  @Test
+  void timestamp() {
+    GeneratedColumn column = column("metadata.updatedDate", "updated_date", GeneratedColumn.Type.TIMESTAMP);
+    assertEquals("timestamptz", column.getSqlType());
+    assertEquals("rmb_to_timestamptz(jsonb->'metadata'->>'updatedDate')", column.getSqlExpression());
+  }
+
+  @Test
+  void uuid() {
+    GeneratedColumn column = column("holdingsRecordId", "holdings_record_id", GeneratedColumn.Type.UUID);
+    assertEquals("uuid", column.getSqlType());
+    assertTrue(column.getSqlExpression().startsWith("CASE WHEN jsonb->>'holdingsRecordId' ~ '^[0-9a-fA-F]{8}-"));
+    assertTrue(column.getSqlExpression().endsWith(" THEN (jsonb->>'holdingsRecordId')::uuid END"));
+  }
+
+  @Test
+  void defaults() {
+    GeneratedColumn column = new GeneratedColumn();
+    assertEquals(GeneratedColumn.Type.TEXT, column.getType());
+    assertFalse(column.isIndex());
+    assertEquals(TableOperation.ADD, column.gettOps());
+  }
+
+  @Test
+  void invalidColumnName() {
+    GeneratedColumn column = new GeneratedColumn();
+    assertThrows(IllegalArgumentException.class, () -> column.setColumnName("foo;bar"));
+  }
+
+  @Test
+  void setupMissingValues() {
+    assertThrows(IllegalArgumentException.class, () -> column(null, "barcode", GeneratedColumn.Type.TEXT).setup());
+    assertThrows(IllegalArgumentException.class, () -> column("barcode", null, GeneratedColumn.Type.TEXT).setup());
+    assertThrows(IllegalArgumentException.class, () -> column("barcode", "barcode", null).setup());
+  }
+}
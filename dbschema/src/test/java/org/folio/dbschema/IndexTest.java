@@ -62,6 +62,18 @@ class IndexTest {
     return index;
   }
 
+  @Test
+  void setupContainmentIndex() {
+    Index index = new Index();
+    index.setFieldName("contributors.names");
+    index.setupContainmentIndex();
+    assertEquals("contributors_names", index.getFieldName());
+    assertEquals("(jsonb->'contributors'->'names')", index.getFinalSqlExpression("test_table"));
+    assertFalse(index.isStringType());
+    assertTrue(index.isCaseSensitive());
+    assertFalse(index.isRemoveAccents());
+  }
+
   @Test
   void multiFieldNames() {
     Index idx = index("testIdx", "testIdx");
@@ -4,7 +4,10 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.UncheckedIOException;
+import java.util.Date;
 import org.folio.okapi.testing.UtilityClassTester;
 import org.folio.util.ResourceUtil;
 import org.junit.jupiter.api.Assertions;
@@ -30,6 +33,12 @@ class ObjectMapperToolTest {
         () -> ObjectMapperTool.readValue("{\"foo\":true}", Schema.class));
   }
 
+  @Test
+  void createMapper() throws Throwable {
+    ObjectMapper mapper = ObjectMapperTool.createMapper(new JsonFactory());
+    assertThat(mapper.writeValueAsString(new Date(0)), is("\"1970-01-01T00:00:00.000+00:00\""));
+  }
+
   @Test
   void canReadSchema() throws Throwable {
     String dbJson = ResourceUtil.asString("schema.json");
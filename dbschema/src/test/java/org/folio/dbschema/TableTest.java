@@ -2,6 +2,8 @@ package org.folio.dbschema;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
+
 import org.folio.dbschema.Table;
 import org.junit.jupiter.api.Test;
 
@@ -11,4 +13,48 @@ class TableTest {
     Table table = new Table();
     assertThrows(IllegalArgumentException.class, () -> table.setTableName("foo&bar"));
   }
+
+  @Test
+  void indexUsesTextGeneratedColumn() {
+    Index barcode = new Index();
+    barcode.setFieldName("barcode");
+    Index status = new Index();
+    status.setFieldName("status");
+    GeneratedColumn column = new GeneratedColumn();
+    column.setFieldName("barcode");
+    column.setColumnName("barcode");
+    Table table = new Table();
+    table.setTableName("item");
+    table.setIndex(Arrays.asList(barcode, status));
+    table.setGeneratedColumns(Arrays.asList(column));
+    table.setup();
+    assertFalse(barcode.getFieldPath().contains("jsonb"), barcode.getFieldPath());
+    assertTrue(barcode.getFieldPath().contains("barcode"), barcode.getFieldPath());
+    assertTrue(status.getFieldPath().contains("jsonb->>'status'"), status.getFieldPath());
+  }
+
+  @Test
+  void indexIgnoresNonTextGeneratedColumn() {
+    Index quantity = new Index();
+    quantity.setFieldName("quantity");
+    GeneratedColumn column = new GeneratedColumn();
+    column.setFieldName("quantity");
+    column.setColumnName("quantity");
+    column.setType(GeneratedColumn.Type.NUMERIC);
+    Table table = new Table();
+    table.setTableName("item");
+    table.setIndex(Arrays.asList(quantity));
+    table.setGeneratedColumns(Arrays.asList(column));
+    table.setup();
+    assertTrue(quantity.getFieldPath().contains("jsonb->>'quantity'"), quantity.getFieldPath());
+  }
+
+  @Test
+  void optimizedSqlSize() {
+    Table table = new Table();
+    assertNull(table.getOptimizedSqlSize());
+    table.setOptimizedSqlSize(0);
+    assertEquals(Integer.valueOf(0), table.getOptimizedSqlSize());
+    assertThrows(IllegalArgumentException.class, () -> table.setOptimizedSqlSize(-1));
+  }
 }
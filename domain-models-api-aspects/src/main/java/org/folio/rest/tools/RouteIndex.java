@@ -0,0 +1,156 @@
+package org.folio.rest.tools;
+
+import io.vertx.core.json.DecodeException;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.tools.utils.ClassPath;
+
+/**
+ * Index of the routes and of the implementation classes, created at build time by the
+ * route-index goal of the domain-models-maven-plugin.
+ *
+ * <p>Loading the index avoids the class path scan and the reflection of
+ * {@link AnnotationGrabber#generateMappings(ClientGrabber)} on each start.
+ */
+public final class RouteIndex {
+  /** class path resource of the index */
+  public static final String RESOURCE = "rmb-route-index.json";
+  /** system property; the index is ignored if it is set to false */
+  public static final String ENABLED_PROPERTY = "rmb.routeIndex";
+
+  static final String MODULE_NAME = "moduleName";
+  static final String MODULE_VERSION = "moduleVersion";
+  static final String MAPPINGS = "mappings";
+  static final String CLASSES = "classes";
+
+  private static final String MODULE_NAME_CLASS = "org.folio.rest.tools.utils.ModuleName";
+  private static final Logger log = LogManager.getLogger(RouteIndex.class);
+  private static RouteIndex instance;
+  private static boolean loaded;
+
+  private final JsonObject index;
+
+  private RouteIndex(JsonObject index) {
+    this.index = index;
+  }
+
+  /**
+   * Create the index using the context class loader.
+   *
+   * @param moduleName value of ModuleName.getModuleName() of the module
+   * @param moduleVersion value of ModuleName.getModuleVersion() of the module
+   * @param packages where to list the top level classes, for example org.folio.rest.impl
+   */
+  public static JsonObject create(String moduleName, String moduleVersion, Collection<String> packages)
+      throws IOException {
+
+    ClassPath classPath = ClassPath.from(Thread.currentThread().getContextClassLoader());
+    JsonObject classes = new JsonObject();
+    for (String packageName : packages) {
+      List<String> names = new ArrayList<>();
+      classPath.getTopLevelClasses(packageName).forEach(classInfo -> names.add(classInfo.getName()));
+      names.sort(null);
+      classes.put(packageName, new JsonArray(names));
+    }
+    return new JsonObject()
+        .put(MODULE_NAME, moduleName)
+        .put(MODULE_VERSION, moduleVersion)
+        .put(MAPPINGS, AnnotationGrabber.generateMappings(null))
+        .put(CLASSES, classes);
+  }
+
+  /**
+   * The index of the running module, loaded on first invocation.
+   *
+   * @return the index, or null if there is no index for the module or it is disabled
+   *     by setting the {@link #ENABLED_PROPERTY} system property to false
+   */
+  public static synchronized RouteIndex get() {
+    if (! loaded) {
+      loaded = true;
+      if ("false".equals(System.getProperty(ENABLED_PROPERTY))) {
+        log.info("{} is disabled", RESOURCE);
+      } else {
+        instance = load(Thread.currentThread().getContextClassLoader(),
+            moduleInfo("getModuleName"), moduleInfo("getModuleVersion"));
+      }
+    }
+    return instance;
+  }
+
+  /**
+   * Load the index from the class path.
+   *
+   * @return the index, or null if not found or if it has been created for a different module name or version
+   */
+  static RouteIndex load(ClassLoader classLoader, String moduleName, String moduleVersion) {
+    try (InputStream inputStream = classLoader.getResourceAsStream(RESOURCE)) {
+      if (inputStream == null) {
+        log.info("No {} found, scanning class path", RESOURCE);
+        return null;
+      }
+      JsonObject json = new JsonObject(read(inputStream));
+      if (! Objects.equals(moduleName, json.getString(MODULE_NAME))
+          || ! Objects.equals(moduleVersion, json.getString(MODULE_VERSION))) {
+        log.warn("Ignoring {} of {} {}, the module is {} {}", RESOURCE,
+            json.getString(MODULE_NAME), json.getString(MODULE_VERSION), moduleName, moduleVersion);
+        return null;
+      }
+      log.info("Using {} of {} {}", RESOURCE, moduleName, moduleVersion);
+      return new RouteIndex(json);
+    } catch (IOException | DecodeException e) {
+      log.warn("Ignoring {}: {}", RESOURCE, e.getMessage(), e);
+      return null;
+    }
+  }
+
+  private static String read(InputStream inputStream) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    byte [] buffer = new byte [8192];
+    int length;
+    while ((length = inputStream.read(buffer)) != -1) {
+      outputStream.write(buffer, 0, length);
+    }
+    return new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+  }
+
+  private static String moduleInfo(String methodName) {
+    try {
+      return Class.forName(MODULE_NAME_CLASS).getMethod(methodName).invoke(null).toString();
+    } catch (ReflectiveOperationException e) {
+      log.warn("{}.{}: {}", MODULE_NAME_CLASS, methodName, e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * @return same as {@link AnnotationGrabber#generateMappings(ClientGrabber)} with null argument
+   */
+  public JsonObject getMappings() {
+    return index.getJsonObject(MAPPINGS);
+  }
+
+  /**
+   * @param packageName for example org.folio.rest.impl
+   * @return names of the top level classes in the package, or null if the package hasn't been indexed
+   */
+  public List<String> getTopLevelClasses(String packageName) {
+    JsonArray names = index.getJsonObject(CLASSES).getJsonArray(packageName);
+    if (names == null) {
+      return null;  //NOSONAR
+    }
+    List<String> list = new ArrayList<>(names.size());
+    names.forEach(name -> list.add((String) name));
+    return list;
+  }
+}
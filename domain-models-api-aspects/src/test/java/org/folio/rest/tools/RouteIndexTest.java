@@ -0,0 +1,62 @@
+package org.folio.rest.tools;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+
+import io.vertx.core.json.JsonObject;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RouteIndexTest {
+  private static final String PACKAGE = "org.folio.rest.jaxrs.resource";
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private ClassLoader classLoader(String content) throws IOException {
+    File dir = folder.newFolder();
+    if (content != null) {
+      Files.write(new File(dir, RouteIndex.RESOURCE).toPath(), content.getBytes(StandardCharsets.UTF_8));
+    }
+    return new URLClassLoader(new URL [] { dir.toURI().toURL() }, null);
+  }
+
+  @Test
+  public void createAndLoad() throws Exception {
+    JsonObject json = RouteIndex.create("mod_foo", "1.2.3", Collections.singletonList(PACKAGE));
+    assertThat(json.getJsonObject("mappings"), is(AnnotationGrabber.generateMappings(null)));
+
+    RouteIndex routeIndex = RouteIndex.load(classLoader(json.encodePrettily()), "mod_foo", "1.2.3");
+    JsonObject unittests = routeIndex.getMappings().getJsonObject("unittests");
+    assertThat(unittests.getString("class"), is("org.folio.rest.jaxrs.resource.TestResource"));
+    assertThat(routeIndex.getTopLevelClasses(PACKAGE), contains("org.folio.rest.jaxrs.resource.TestResource"));
+    assertThat(routeIndex.getTopLevelClasses("org.folio.rest.impl"), is(nullValue()));
+  }
+
+  @Test
+  public void otherModule() throws Exception {
+    JsonObject json = RouteIndex.create("mod_foo", "1.2.3", Collections.singletonList(PACKAGE));
+    ClassLoader classLoader = classLoader(json.encode());
+    assertThat(RouteIndex.load(classLoader, "mod_bar", "1.2.3"), is(nullValue()));
+    assertThat(RouteIndex.load(classLoader, "mod_foo", "1.2.4"), is(nullValue()));
+  }
+
+  @Test
+  public void missing() throws Exception {
+    assertThat(RouteIndex.load(classLoader(null), "mod_foo", "1.2.3"), is(nullValue()));
+  }
+
+  @Test
+  public void invalid() throws Exception {
+    assertThat(RouteIndex.load(classLoader("{"), "mod_foo", "1.2.3"), is(nullValue()));
+  }
+}
@@ -66,6 +66,9 @@ public class ClientGenerator implements ClientGrabber {
   private static final String OKAPI_URL              = "okapiUrl";
   private static final String WEB_CLIENT             = "webClient";
   private static final String HTTP_CLIENT            = "httpClient";
+  private static final String JSON_FORMAT            = "jsonFormat";
+  private static final String JSON_FORMAT_CLASS      = "org.folio.rest.tools.utils.JsonFormat";
+  private static final String APPLICATION_JSON       = "application/json";
 
   private static final Logger log = Logger.getLogger(ClientGenerator.class.getName());
 
@@ -80,6 +83,9 @@ public class ClientGenerator implements ClientGrabber {
 
   private List<String> functionSpecificHeaderParams = new ArrayList<>();
 
+  /* whether the body of the current method is a POJO that can be sent as JSON, Smile or CBOR */
+  private boolean pojoBody = false;
+
   private String className = null;
 
 
@@ -87,6 +93,7 @@ public class ClientGenerator implements ClientGrabber {
   private JFieldVar token;
   private JFieldVar okapiUrl;
   private JFieldVar webClient;
+  private JFieldVar jsonFormat;
 
   public static int generate(String basedir) throws IOException {
     ClientGenerator.basedir = basedir;
@@ -258,6 +265,17 @@ public class ClientGenerator implements ClientGrabber {
           .staticInvoke("wrap").arg(constructor.param(HttpClient.class, HTTP_CLIENT)));
   }
 
+  /** this.jsonFormat = jsonFormat; return this; */
+  private void addWithJsonFormat() {
+    JMethod method = jc.method(JMod.PUBLIC, jc, "withJsonFormat");
+    addCommentAutogenerated(method);
+    method.javadoc().add("Send POJO request bodies as JSON (default), Smile or CBOR and ask for the same format\n"
+        + "in the response. Decode a response with JsonFormat.decode(contentType, body, class).");
+    JVar param = method.param(jcodeModel.ref(JSON_FORMAT_CLASS), JSON_FORMAT);
+    method.body().assign(JExpr._this().ref(jsonFormat), param);
+    method.body()._return(JExpr._this());
+  }
+
   /**
    * Create a method and add a comment to the body of the method saying that it
    * is auto-generated and how.
@@ -290,6 +308,8 @@ public class ClientGenerator implements ClientGrabber {
       token = jc.field(JMod.PRIVATE | JMod.FINAL, String.class, TOKEN);
       okapiUrl = jc.field(JMod.PRIVATE | JMod.FINAL, String.class, OKAPI_URL);
       webClient = jc.field(JMod.PRIVATE | JMod.FINAL, WebClient.class, WEB_CLIENT);
+      JClass jsonFormatClass = jcodeModel.ref(JSON_FORMAT_CLASS);
+      jsonFormat = jc.field(JMod.PRIVATE, jsonFormatClass, JSON_FORMAT, jsonFormatClass.staticRef("JSON"));
 
       addConstructorWebClient();
       addConstructorHttpClient();
@@ -303,6 +323,8 @@ public class ClientGenerator implements ClientGrabber {
       addConstructor4Args();
       addConstructor0Args();
 
+      addWithJsonFormat();
+
     } catch (Exception e) {
       log.log(Level.SEVERE, e.getMessage(), e);
     }
@@ -404,6 +426,9 @@ public class ClientGenerator implements ClientGrabber {
       if(contentType.contains("multipart/form-data")){
         body.directStatement("request.putHeader(\"Content-type\", \""+cType+"; boundary=--BOUNDARY\");");
       }
+      else if(pojoBody && contentType.contains(APPLICATION_JSON)){
+        body.directStatement("request.putHeader(\"Content-type\", jsonFormat.getMediaType());");
+      }
       else{
         body.directStatement("request.putHeader(\"Content-type\", \""+cType+"\");");
       }
@@ -413,8 +438,14 @@ public class ClientGenerator implements ClientGrabber {
       //replace any/any with */* to allow declaring accpet */* which causes compilation issues
       //when declared in raml. so declare any/any in raml instead and replaced here
       aType = aType.replaceAll("any/any", "");
-      body.directStatement("request.putHeader(\"Accept\", \""+aType+"\");");
+      if(accepts.contains(APPLICATION_JSON)){
+        body.directStatement("request.putHeader(\"Accept\", jsonFormat.accept(\""+aType+"\"));");
+      }
+      else{
+        body.directStatement("request.putHeader(\"Accept\", \""+aType+"\");");
+      }
     }
+    pojoBody = false;
 
     /* push tenant id into x-okapi-tenant and authorization headers for now */
     JConditional ifClause = body._if(tenantId.ne(JExpr._null()));
@@ -594,8 +625,9 @@ public class ClientGenerator implements ClientGrabber {
             JConditional ifClause = methodBody._if(JExpr.ref(objParamName).ne(JExpr._null()));
             JBlock b = ifClause._then();
             if(mappingType.equals("postgres")){
-              b.directStatement("buffer.appendString("
-                  + "org.folio.rest.tools.ClientHelpers.pojo2json("+objParamName+"));");
+              b.directStatement("buffer.appendBuffer("
+                  + "org.folio.rest.tools.ClientHelpers.encode("+objParamName+", jsonFormat));");
+              pojoBody = true;
             }else{
               b.directStatement( "buffer.appendString("
                   + "org.folio.rest.tools.utils.JsonUtils.entity2Json("+objParamName+").encode());");
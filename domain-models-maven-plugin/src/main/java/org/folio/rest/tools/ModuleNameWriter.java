@@ -42,9 +42,21 @@ public class ModuleNameWriter {
     project.addCompileSourceRoot(sourceRoot.getPath());
     Path dir = new File(sourceRoot, "org/folio/rest/tools/utils").toPath();
     Files.createDirectories(dir);
-    MavenProject root = Objects.requireNonNullElse(project.getParent(), project);
-    String name = root.getArtifactId().replace('-', '_');
-    String version = root.getVersion();
-    Files.writeString(dir.resolve("ModuleName.java"), JAVA.replace("{name}", name).replace("{version}", version));
+    Files.writeString(dir.resolve("ModuleName.java"),
+        JAVA.replace("{name}", moduleName(project)).replace("{version}", moduleVersion(project)));
+  }
+
+  /**
+   * The value of ModuleName.getModuleName() of the project.
+   */
+  public static String moduleName(MavenProject project) {
+    return Objects.requireNonNullElse(project.getParent(), project).getArtifactId().replace('-', '_');
+  }
+
+  /**
+   * The value of ModuleName.getModuleVersion() of the project.
+   */
+  public static String moduleVersion(MavenProject project) {
+    return Objects.requireNonNullElse(project.getParent(), project).getVersion();
   }
 }
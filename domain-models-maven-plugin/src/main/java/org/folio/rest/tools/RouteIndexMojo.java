@@ -0,0 +1,72 @@
+package org.folio.rest.tools;
+
+import io.vertx.core.json.JsonObject;
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Write the {@link RouteIndex} of the compiled classes and the runtime dependencies
+ * into the output directory so that RestVerticle doesn't need to scan the class path
+ * on start.
+ */
+@Mojo(name = "route-index", defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+    requiresDependencyResolution = ResolutionScope.RUNTIME, threadSafe = true)
+public class RouteIndexMojo extends AbstractMojo {
+
+  @Parameter(defaultValue= "${project}", readonly = true)
+  private MavenProject project;
+
+  /** same as the packageOfImplementations config of RestVerticle */
+  @Parameter(property = "packagesOfImplementations", defaultValue = "org.folio.rest.impl")
+  private String[] packagesOfImplementations;
+
+  /** for unit tests */
+  RouteIndexMojo withProject(MavenProject project) {
+    this.project = project;
+    this.packagesOfImplementations = new String[] { "org.folio.rest.impl" };
+    return this;
+  }
+
+  @Override
+  public void execute() throws MojoExecutionException {
+    Thread thread = Thread.currentThread();
+    ClassLoader contextClassLoader = thread.getContextClassLoader();
+    try (URLClassLoader classLoader = new URLClassLoader(urls(project.getRuntimeClasspathElements()),
+        getClass().getClassLoader())) {
+      thread.setContextClassLoader(classLoader);
+      JsonObject index = RouteIndex.create(ModuleNameWriter.moduleName(project),
+          ModuleNameWriter.moduleVersion(project), Arrays.asList(packagesOfImplementations));
+      Path file = Path.of(project.getBuild().getOutputDirectory(), RouteIndex.RESOURCE);
+      Files.createDirectories(file.getParent());
+      Files.writeString(file, index.encodePrettily());
+      getLog().info("Route index written to " + file);
+    } catch (IOException | DependencyResolutionRequiredException e) {
+      throw new MojoExecutionException(e.getMessage(), e);
+    } finally {
+      thread.setContextClassLoader(contextClassLoader);
+    }
+  }
+
+  private static URL [] urls(List<String> classpathElements) throws MalformedURLException {
+    URL [] urls = new URL [classpathElements.size()];
+    for (int i = 0; i < urls.length; i++) {
+      urls[i] = new File(classpathElements.get(i)).toURI().toURL();
+    }
+    return urls;
+  }
+}
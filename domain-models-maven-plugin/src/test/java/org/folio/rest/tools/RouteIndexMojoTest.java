@@ -0,0 +1,27 @@
+package org.folio.rest.tools;
+
+import io.vertx.core.json.JsonObject;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.maven.project.MavenProject;
+import org.assertj.core.api.WithAssertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RouteIndexMojoTest implements WithAssertions {
+
+  @Test
+  void execute(@TempDir Path outputDirectory) throws Exception {
+    MavenProject project = new MavenProject();
+    project.getBuild().setOutputDirectory(outputDirectory.toString());
+
+    new RouteIndexMojo().withProject(project).execute();
+
+    JsonObject index = new JsonObject(Files.readString(outputDirectory.resolve(RouteIndex.RESOURCE)));
+    assertThat(index.getString("moduleName")).isEqualTo(ModuleNameWriter.moduleName(project));
+    assertThat(index.getString("moduleVersion")).isEqualTo(ModuleNameWriter.moduleVersion(project));
+    assertThat(index.getJsonObject("mappings").getJsonObject("unittests").getString("class"))
+        .isEqualTo("org.folio.rest.jaxrs.resource.TestResource");
+    assertThat(index.getJsonObject("classes").getJsonArray("org.folio.rest.impl")).isNotNull();
+  }
+}
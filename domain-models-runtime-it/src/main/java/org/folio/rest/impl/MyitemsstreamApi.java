@@ -0,0 +1,26 @@
+package org.folio.rest.impl;
+
+import java.util.LinkedList;
+import java.util.Map;
+
+import javax.ws.rs.core.Response;
+
+import org.folio.rest.jaxrs.model.Myitem;
+import org.folio.rest.persist.PgUtil;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+
+public class MyitemsstreamApi implements org.folio.rest.jaxrs.resource.Myitemsstream {
+  private static final String TABLE = "myitems";
+
+  @Override
+  public void getMyitemsstream(String query, String totalRecords, int offset, int limit,
+      RoutingContext routingContext, Map<String, String> okapiHeaders,
+      Handler<AsyncResult<Response>> asyncResultHandler, Context vertxContext) {
+    PgUtil.streamGet(TABLE, Myitem.class, query, offset, limit, new LinkedList<>(), "myitems",
+        routingContext, okapiHeaders, vertxContext);
+  }
+}
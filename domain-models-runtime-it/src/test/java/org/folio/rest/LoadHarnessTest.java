@@ -0,0 +1,80 @@
+package org.folio.rest;
+
+import static io.restassured.RestAssured.port;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.folio.rest.load.LatencyRecorder;
+import org.folio.rest.load.LoadHarness;
+import org.folio.rest.load.LoadHarness.Endpoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+public class LoadHarnessTest extends ApiTestBase {
+  /**
+   * Delete records inserted and posted by the load harness
+   */
+  @AfterEach
+  void deleteAll() {
+    deleteAll("/myitems", "myitems");
+  }
+
+  @Test
+  void percentile() {
+    LatencyRecorder recorder = new LatencyRecorder();
+    assertThat(recorder.percentile(50), is(0L));
+    for (long i = 2000; i > 0; i--) {
+      recorder.record(i);
+    }
+    recorder.error();
+    assertThat(recorder.getCount(), is(2000));
+    assertThat(recorder.getErrors(), is(1));
+    assertThat(recorder.percentile(50), is(1000L));
+    assertThat(recorder.percentile(99), is(1980L));
+    assertThat(recorder.percentile(99.9), is(1998L));
+    assertThat(recorder.max(), is(2000L));
+  }
+
+  @Test
+  void invalidOption() {
+    LoadHarness loadHarness = new LoadHarness(vertx, null);
+    assertThrows(IllegalArgumentException.class, () -> loadHarness.configure("rate"));
+    assertThrows(IllegalArgumentException.class, () -> loadHarness.configure("rate=0"));
+    assertThrows(IllegalArgumentException.class, () -> loadHarness.configure("foo=1"));
+    assertThrows(IllegalArgumentException.class, () -> loadHarness.configure("mix=get:0"));
+    assertThrows(IllegalArgumentException.class, () -> loadHarness.configure("mix=delete:1"));
+  }
+
+  @Test
+  void run() throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    Map<Endpoint, LatencyRecorder> recorders = new LoadHarness(vertx, null)
+        .setOut(new PrintStream(out, true, StandardCharsets.UTF_8))
+        .configure("deploy=false")
+        .configure("port=" + port)
+        .configure("tenant=testlib")
+        .configure("records=20")
+        .configure("rate=50")
+        .configure("duration=2")
+        .configure("warmup=0")
+        .configure("mix=get,search,post,put,stream")
+        .run().toCompletionStage().toCompletableFuture().get(60, TimeUnit.SECONDS);
+
+    assertThat(recorders.keySet(), containsInAnyOrder(Endpoint.values()));
+    int requests = 0;
+    for (LatencyRecorder recorder : recorders.values()) {
+      assertThat(recorder.getErrors(), is(0));
+      requests += recorder.getCount();
+    }
+    assertThat(requests, is(100));
+    assertThat(out.toString(StandardCharsets.UTF_8), allOf(
+        containsString("p99.9 ms"), containsString("stream"), containsString("total")));
+  }
+}
@@ -180,4 +180,22 @@ public class MyitemsApiTest extends ApiTestBase {
       statusCode(200).
       body("id", equalTo(xyzId));
   }
+
+  @Test
+  void stream() {
+    for (String name : new String [] { "Streamer", "Strom", "Bach" }) {
+      given(r).body(new JsonObject().put("name", name).encode()).
+      when().post("/myitems").
+      then()
+        .statusCode(201);
+    }
+
+    given(r).
+    when().get("/myitemsstream?query=name==Str* sortBy name").
+    then().
+      statusCode(200).
+      body("totalRecords", equalTo(2)).
+      body("myitems[0].name", equalTo("Streamer")).
+      body("myitems[1].name", equalTo("Strom"));
+  }
 }
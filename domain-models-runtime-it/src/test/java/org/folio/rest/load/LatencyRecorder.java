@@ -0,0 +1,70 @@
+package org.folio.rest.load;
+
+import java.util.Arrays;
+
+/**
+ * Collects the latencies of one endpoint. Not thread-safe, use it on a single Vert.x context.
+ */
+public class LatencyRecorder {
+  private long [] nanos = new long [1024];
+  private int count;
+  private int errors;
+  private boolean sorted = true;
+
+  /**
+   * Record the latency of a successful request.
+   */
+  public void record(long latencyNanos) {
+    if (count == nanos.length) {
+      nanos = Arrays.copyOf(nanos, nanos.length * 2);
+    }
+    nanos[count++] = latencyNanos;
+    sorted = false;
+  }
+
+  /**
+   * Record a failed request: unexpected status code or no response.
+   */
+  public void error() {
+    errors++;
+  }
+
+  /**
+   * @return number of successful requests
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * @return number of failed requests
+   */
+  public int getErrors() {
+    return errors;
+  }
+
+  /**
+   * Nearest-rank percentile of the successful requests.
+   *
+   * @param percent 0 &lt; percent &lt;= 100, for example 99.9
+   * @return latency in nanoseconds, 0 if nothing has been recorded
+   */
+  public long percentile(double percent) {
+    if (count == 0) {
+      return 0;
+    }
+    if (! sorted) {
+      Arrays.sort(nanos, 0, count);
+      sorted = true;
+    }
+    int rank = (int) Math.ceil(percent * count / 100);
+    return nanos[Math.max(0, Math.min(count, rank) - 1)];
+  }
+
+  /**
+   * @return maximum latency in nanoseconds, 0 if nothing has been recorded
+   */
+  public long max() {
+    return percentile(100);
+  }
+}
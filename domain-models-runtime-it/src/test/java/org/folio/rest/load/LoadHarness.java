@@ -0,0 +1,491 @@
+package org.folio.rest.load;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.client.HttpRequest;
+import io.vertx.ext.web.client.HttpResponse;
+import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.client.WebClientOptions;
+import io.vertx.micrometer.MicrometerMetricsOptions;
+import java.io.PrintStream;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.okapi.common.XOkapiHeaders;
+import org.folio.postgres.testing.PostgresTesterContainer;
+import org.folio.rest.RestVerticle;
+import org.folio.rest.jaxrs.model.Myitem;
+import org.folio.rest.jaxrs.model.TenantAttributes;
+import org.folio.rest.persist.PostgresClient;
+
+/**
+ * Load generation harness for RestVerticle and PostgreSQL that uses the myitems API of this module.
+ *
+ * <p>Requests are sent at a fixed rate (open model). The latency of a request is measured from the
+ * time it was scheduled, not from the time it was sent, so that a slow server cannot hide its
+ * queueing delay by slowing down the load generator (coordinated omission).
+ *
+ * <p>The database is a PostgreSQL container unless the DB_HOST environment variable is set.
+ * DB_MAXPOOLSIZE and the other DB_* environment variables are used as usual.
+ *
+ * <pre>
+ * mvn -pl domain-models-runtime-it test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=org.folio.rest.load.LoadHarness -Dexec.args="rate=500 duration=60"
+ * </pre>
+ */
+public class LoadHarness {
+  private static final Logger log = LogManager.getLogger(LoadHarness.class);
+
+  static final String USAGE = "Options (key=value):\n"
+      + "  rate=100          requests per second\n"
+      + "  duration=60       seconds of measurement\n"
+      + "  warmup=10         seconds of load before the measurement, not reported\n"
+      + "  records=1000      myitems records inserted before the warmup\n"
+      + "  mix=get:40,search:30,post:10,put:10,stream:10\n"
+      + "                    weight of each endpoint; a single endpoint yields its own DB pool wait\n"
+      + "  connections=64    maximum number of HTTP connections to RestVerticle\n"
+      + "  verticles=1       number of RestVerticle instances to deploy\n"
+      + "  port=9231         HTTP port of RestVerticle\n"
+      + "  tenant=loadtest   tenant to create and use\n"
+      + "  deploy=true       false to use an already deployed RestVerticle with initialized tenant\n"
+      + "  seed=1            seed for the random choice of endpoints, ids and queries";
+
+  private static final String TABLE = "myitems";
+  private static final String NAME_PREFIX = "item-";
+  private static final long REQUEST_TIMEOUT = 60000;
+
+  /**
+   * The endpoints of the workload and the HTTP status code of a successful response.
+   */
+  public enum Endpoint {
+    GET("get", 200),
+    SEARCH("search", 200),
+    POST("post", 201),
+    PUT("put", 204),
+    STREAM("stream", 200);
+
+    private final String key;
+    private final int expectedStatus;
+
+    Endpoint(String key, int expectedStatus) {
+      this.key = key;
+      this.expectedStatus = expectedStatus;
+    }
+
+    static Endpoint of(String key) {
+      for (Endpoint endpoint : values()) {
+        if (endpoint.key.equals(key)) {
+          return endpoint;
+        }
+      }
+      throw new IllegalArgumentException("Unknown endpoint: " + key);
+    }
+  }
+
+  private final Vertx vertx;
+  private final MeterRegistry meterRegistry;
+  private PrintStream out = System.out;
+  private double rate = 100;
+  private double duration = 60;
+  private double warmup = 10;
+  private int records = 1000;
+  private Map<Endpoint, Integer> mix = parseMix("get:40,search:30,post:10,put:10,stream:10");
+  private int connections = 64;
+  private int verticles = 1;
+  private int port = 9231;
+  private String tenant = "loadtest";
+  private boolean deploy = true;
+  private long seed = 1;
+
+  private final List<String> ids = new ArrayList<>();
+  private Random random;
+  private WebClient webClient;
+  private Map<String, double []> poolBefore;
+
+  /**
+   * @param vertx where to deploy RestVerticle and run the load generator
+   * @param meterRegistry the registry of the vertx metrics for reporting the DB pool wait times;
+   *     null if vertx has no metrics
+   */
+  public LoadHarness(Vertx vertx, MeterRegistry meterRegistry) {
+    this.vertx = vertx;
+    this.meterRegistry = meterRegistry;
+  }
+
+  public LoadHarness setOut(PrintStream out) {
+    this.out = out;
+    return this;
+  }
+
+  /**
+   * Set an option, see {@link #USAGE}.
+   *
+   * @param option key=value
+   * @throws IllegalArgumentException on unknown key or invalid value
+   */
+  public LoadHarness configure(String option) {
+    int equals = option.indexOf('=');
+    if (equals < 0) {
+      throw new IllegalArgumentException("Expected key=value: " + option);
+    }
+    String key = option.substring(0, equals);
+    String value = option.substring(equals + 1);
+    switch (key) {
+      case "rate":        rate = positive(key, Double.parseDouble(value));              break;
+      case "duration":    duration = positive(key, Double.parseDouble(value));          break;
+      case "warmup":      warmup = notNegative(key, Double.parseDouble(value));         break;
+      case "records":     records = (int) positive(key, Integer.parseInt(value));       break;
+      case "mix":         mix = parseMix(value);                                        break;
+      case "connections": connections = (int) positive(key, Integer.parseInt(value));   break;
+      case "verticles":   verticles = (int) positive(key, Integer.parseInt(value));     break;
+      case "port":        port = (int) positive(key, Integer.parseInt(value));          break;
+      case "tenant":      tenant = value;                                               break;
+      case "deploy":      deploy = Boolean.parseBoolean(value);                         break;
+      case "seed":        seed = Long.parseLong(value);                                 break;
+      default:
+        throw new IllegalArgumentException("Unknown option: " + key);
+    }
+    return this;
+  }
+
+  private static double positive(String key, double value) {
+    if (value <= 0) {
+      throw new IllegalArgumentException(key + " must be positive: " + value);
+    }
+    return value;
+  }
+
+  private static double notNegative(String key, double value) {
+    if (value < 0) {
+      throw new IllegalArgumentException(key + " must not be negative: " + value);
+    }
+    return value;
+  }
+
+  static Map<Endpoint, Integer> parseMix(String value) {
+    Map<Endpoint, Integer> map = new LinkedHashMap<>();
+    for (String entry : value.split(",")) {
+      String [] keyWeight = entry.split(":", 2);
+      int weight = keyWeight.length == 1 ? 1 : Integer.parseInt(keyWeight[1].trim());
+      if (weight < 0) {
+        throw new IllegalArgumentException("Weight must not be negative: " + entry);
+      }
+      if (weight > 0) {
+        map.put(Endpoint.of(keyWeight[0].trim()), weight);
+      }
+    }
+    if (map.isEmpty()) {
+      throw new IllegalArgumentException("mix has no endpoint: " + value);
+    }
+    return map;
+  }
+
+  /**
+   * Deploy RestVerticle and create the tenant (unless deploy=false), insert the records,
+   * run the warmup and the measurement, and print the report.
+   *
+   * @return the latencies of the measurement
+   */
+  public Future<Map<Endpoint, LatencyRecorder>> run() {
+    random = new Random(seed);
+    webClient = WebClient.create(vertx, new WebClientOptions()
+        .setDefaultHost("localhost")
+        .setDefaultPort(port)
+        .setMaxPoolSize(connections));
+    return (deploy ? deployVerticle().compose(x -> initTenant()) : Future.<Void>succeededFuture())
+        .compose(x -> insertRecords())
+        .compose(x -> new Phase(warmup).start())
+        .compose(x -> {
+          poolBefore = poolTimers();
+          return new Phase(duration).start();
+        })
+        .map(phase -> {
+          report(phase, poolTimers());
+          return phase.recorders;
+        })
+        .onComplete(x -> webClient.close());
+  }
+
+  private Future<Void> deployVerticle() {
+    DeploymentOptions options = new DeploymentOptions()
+        .setConfig(new JsonObject().put("http.port", port))
+        .setInstances(verticles);
+    return vertx.deployVerticle(RestVerticle.class, options).mapEmpty();
+  }
+
+  private Future<Void> initTenant() {
+    TenantAttributes purge = new TenantAttributes().withPurge(true);
+    TenantAttributes create = new TenantAttributes().withModuleTo("mod-api-1.0.0");
+    return request(HttpMethod.POST, "/_/tenant").sendJson(purge)
+        .compose(response -> expect(response, 204, "Purge tenant"))
+        .compose(x -> request(HttpMethod.POST, "/_/tenant").sendJson(create))
+        .compose(response -> expect(response, 201, "Create tenant"))
+        .compose(response -> request(HttpMethod.GET, response.getHeader("Location") + "?wait=60000").send())
+        .compose(response -> expect(response, 200, "Tenant job"))
+        .compose(response -> {
+          JsonObject job = response.bodyAsJsonObject();
+          if (! Boolean.TRUE.equals(job.getBoolean("complete")) || job.getValue("error") != null) {
+            return Future.failedFuture("Tenant job failed: " + job.encode());
+          }
+          return Future.succeededFuture();
+        });
+  }
+
+  private static Future<HttpResponse<Buffer>> expect(HttpResponse<Buffer> response, int status, String what) {
+    if (response.statusCode() != status) {
+      return Future.failedFuture(what + ": expected " + status + " but got " + response.statusCode()
+          + ": " + response.bodyAsString());
+    }
+    return Future.succeededFuture(response);
+  }
+
+  private Future<Void> insertRecords() {
+    List<Myitem> items = new ArrayList<>(records);
+    for (int i = 0; i < records; i++) {
+      String id = UUID.randomUUID().toString();
+      ids.add(id);
+      items.add(new Myitem().withId(id).withName(NAME_PREFIX + i));
+    }
+    return PostgresClient.getInstance(vertx, tenant).saveBatch(TABLE, items).mapEmpty();
+  }
+
+  private HttpRequest<Buffer> request(HttpMethod method, String uri) {
+    return webClient.request(method, uri)
+        .putHeader(XOkapiHeaders.TENANT, tenant)
+        .putHeader(XOkapiHeaders.URL_TO, "http://localhost:" + port)
+        .putHeader("Accept", "application/json, text/plain")
+        .timeout(REQUEST_TIMEOUT);
+  }
+
+  private Future<HttpResponse<Buffer>> send(Endpoint endpoint) {
+    switch (endpoint) {
+      case GET:
+        return request(HttpMethod.GET, "/myitems/" + randomId()).send();
+      case SEARCH:
+        return request(HttpMethod.GET, "/myitems?limit=10&query=" + randomQuery()).send();
+      case POST:
+        return request(HttpMethod.POST, "/myitems").sendJson(new JsonObject()
+            .put("id", UUID.randomUUID().toString()).put("name", randomName()));
+      case PUT: {
+        String id = randomId();
+        return request(HttpMethod.PUT, "/myitems/" + id).sendJson(new JsonObject()
+            .put("id", id).put("name", randomName()));
+      }
+      case STREAM:
+        return request(HttpMethod.GET, "/myitemsstream?limit=100&query=" + randomQuery()).send();
+      default:
+        throw new IllegalArgumentException(endpoint.toString());
+    }
+  }
+
+  private String randomId() {
+    return ids.get(random.nextInt(ids.size()));
+  }
+
+  private String randomName() {
+    return NAME_PREFIX + random.nextInt(records);
+  }
+
+  /**
+   * @return URL encoded CQL query matching about a ninth of the inserted records
+   */
+  private String randomQuery() {
+    String cql = "name==\"" + NAME_PREFIX + (1 + random.nextInt(9)) + "*\"";
+    return URLEncoder.encode(cql, StandardCharsets.UTF_8);
+  }
+
+  private Endpoint randomEndpoint() {
+    int total = 0;
+    for (int weight : mix.values()) {
+      total += weight;
+    }
+    int n = random.nextInt(total);
+    for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+      n -= entry.getValue();
+      if (n < 0) {
+        return entry.getKey();
+      }
+    }
+    throw new IllegalStateException("mix is empty");
+  }
+
+  /**
+   * Sends rate * seconds requests, the n-th request is scheduled at n / rate seconds.
+   */
+  private class Phase {
+    private final Map<Endpoint, LatencyRecorder> recorders = new EnumMap<>(Endpoint.class);
+    private final Promise<Phase> promise = Promise.promise();
+    private final long total;
+    private long start;
+    private long end;
+    private long sent;
+    private long completed;
+    private long timerId;
+
+    Phase(double seconds) {
+      total = (long) (rate * seconds);
+      mix.keySet().forEach(endpoint -> recorders.put(endpoint, new LatencyRecorder()));
+    }
+
+    Future<Phase> start() {
+      start = System.nanoTime();
+      if (total == 0) {
+        end = start;
+        promise.complete(this);
+      } else {
+        timerId = vertx.setPeriodic(1, x -> tick());
+      }
+      return promise.future();
+    }
+
+    private void tick() {
+      long due = Math.min(total, (long) ((System.nanoTime() - start) * rate / 1e9) + 1);
+      while (sent < due) {
+        long scheduled = start + (long) (sent * 1e9 / rate);
+        sent++;
+        send(randomEndpoint(), scheduled);
+      }
+      if (sent == total) {
+        vertx.cancelTimer(timerId);
+      }
+    }
+
+    private void send(Endpoint endpoint, long scheduled) {
+      LatencyRecorder recorder = recorders.get(endpoint);
+      LoadHarness.this.send(endpoint).onComplete(response -> {
+        long now = System.nanoTime();
+        if (response.succeeded() && response.result().statusCode() == endpoint.expectedStatus) {
+          recorder.record(now - scheduled);
+        } else {
+          recorder.error();
+          if (log.isDebugEnabled()) {
+            log.debug("{}: {}", endpoint.key, response.succeeded()
+                ? response.result().statusCode() + " " + response.result().bodyAsString()
+                : response.cause().getMessage());
+          }
+        }
+        completed++;
+        if (completed == total) {
+          end = now;
+          promise.complete(this);
+        }
+      });
+    }
+  }
+
+  /**
+   * Sum of the vertx-sql-client pool timers, for example the wait for a connection
+   * and the time a connection is in use.
+   *
+   * @return meter name to {count, total milliseconds, max milliseconds}
+   */
+  private Map<String, double []> poolTimers() {
+    Map<String, double []> timers = new TreeMap<>();
+    if (meterRegistry == null) {
+      return timers;
+    }
+    for (Meter meter : meterRegistry.getMeters()) {
+      if (! (meter instanceof Timer) || ! isSqlPool(meter.getId())) {
+        continue;
+      }
+      Timer timer = (Timer) meter;
+      double [] values = { timer.count(), timer.totalTime(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS) };
+      timers.merge(meter.getId().getName(), values,
+          (a, b) -> new double [] { a[0] + b[0], a[1] + b[1], Math.max(a[2], b[2]) });
+    }
+    return timers;
+  }
+
+  private static boolean isSqlPool(Meter.Id id) {
+    return id.getName().contains("pool")
+        && id.getTags().stream().anyMatch(tag -> "sql".equals(tag.getValue()));
+  }
+
+  private void report(Phase phase, Map<String, double []> poolAfter) {
+    double seconds = (phase.end - phase.start) / 1e9;
+    out.println(String.format("rate: %.1f/s, duration: %.1f s, verticles: %d, connections: %d, DB_MAXPOOLSIZE: %s",
+        rate, seconds, verticles, connections, System.getenv("DB_MAXPOOLSIZE")));
+    out.println(String.format("%-8s %9s %7s %9s %9s %9s %9s %9s",
+        "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms"));
+    int requests = 0;
+    int errors = 0;
+    for (Map.Entry<Endpoint, LatencyRecorder> entry : phase.recorders.entrySet()) {
+      LatencyRecorder recorder = entry.getValue();
+      requests += recorder.getCount();
+      errors += recorder.getErrors();
+      out.println(String.format("%-8s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f",
+          entry.getKey().key, recorder.getCount(), recorder.getErrors(), recorder.getCount() / seconds,
+          millis(recorder.percentile(50)), millis(recorder.percentile(99)),
+          millis(recorder.percentile(99.9)), millis(recorder.max())));
+    }
+    out.println(String.format("%-8s %9d %7d %9.1f", "total", requests, errors, requests / seconds));
+    if (poolAfter.isEmpty()) {
+      out.println("DB pool: no vertx-sql-client pool metrics");
+      return;
+    }
+    // the pool is shared by all endpoints; use mix=<endpoint> for the wait time of a single endpoint
+    poolAfter.forEach((name, after) -> {
+      double [] before = poolBefore.getOrDefault(name, new double [3]);
+      double count = after[0] - before[0];
+      out.println(String.format("DB pool %s: count %.0f, mean %.2f ms, max %.2f ms",
+          name, count, count == 0 ? 0 : (after[1] - before[1]) / count, after[2]));
+    });
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+
+  public static void main(String [] args) throws Exception {
+    MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    Vertx vertx = Vertx.vertx(new VertxOptions().setMetricsOptions(
+        new MicrometerMetricsOptions().setEnabled(true).setMicrometerRegistry(meterRegistry)));
+    LoadHarness loadHarness = new LoadHarness(vertx, meterRegistry);
+    try {
+      for (String arg : args) {
+        loadHarness.configure(arg);
+      }
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      vertx.close();
+      System.exit(2);
+    }
+    if (System.getenv("DB_HOST") == null) {
+      PostgresClient.setPostgresTester(new PostgresTesterContainer());
+    }
+    int status = 0;
+    try {
+      loadHarness.run().toCompletionStage().toCompletableFuture().get();
+    } catch (ExecutionException e) {
+      log.error(e.getCause().getMessage(), e.getCause());
+      status = 1;
+    } finally {
+      PostgresClient.closeAllClients();
+      vertx.close().toCompletionStage().toCompletableFuture().get();
+      PostgresClient.stopPostgresTester();
+    }
+    System.exit(status);
+  }
+}
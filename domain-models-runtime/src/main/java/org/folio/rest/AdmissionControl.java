@@ -0,0 +1,185 @@
+package org.folio.rest;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.vertx.micrometer.backends.BackendRegistries;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.folio.rest.persist.PostgresClient;
+
+/**
+ * Adaptive concurrency limit per tenant and route.
+ *
+ * <p>Each tenant and route pair has its own limit of concurrent requests. The limit grows while
+ * the latency stays near its long term average and shrinks when the latency rises (gradient
+ * algorithm) or when requests of the tenant wait for a PostgreSQL connection. A request that
+ * exceeds the limit is rejected with 429, all requests of a tenant are rejected with 503 while
+ * more than {@value #MAX_POOL_QUEUE_PROPERTY} requests of the tenant wait for a connection.
+ * Both come with a Retry-After header. The pool wait queue is counted per tenant so that one
+ * tenant's load doesn't shrink the limits of the other tenants.
+ *
+ * <p>Disabled by default, enable with the {@value #ENABLED_PROPERTY} system property.
+ */
+public final class AdmissionControl {
+  /** system property, set to true to enable admission control */
+  public static final String ENABLED_PROPERTY = "rmb.admissionControl";
+  /** system property, initial concurrency limit of each tenant and route, default 20 */
+  public static final String INITIAL_LIMIT_PROPERTY = "rmb.admissionControl.initialLimit";
+  /** system property, maximum concurrency limit of each tenant and route, default 200 */
+  public static final String MAX_LIMIT_PROPERTY = "rmb.admissionControl.maxLimit";
+  /** system property, connection pool wait queue length of a tenant that rejects all its requests, default 0 = never */
+  public static final String MAX_POOL_QUEUE_PROPERTY = "rmb.admissionControl.maxPoolQueue";
+  /** seconds for the Retry-After header */
+  static final String RETRY_AFTER_SECONDS = "1";
+
+  private static final Logger LOGGER = LogManager.getLogger(AdmissionControl.class);
+  private static AdmissionControl instance;
+
+  private final Map<String, Limiter> limiters = new ConcurrentHashMap<>();
+  private final int initialLimit;
+  private final int maxLimit;
+  private final int maxPoolQueue;
+  /** tenant to the number of its requests waiting for a database connection */
+  private final ToIntFunction<String> poolQueue;
+  private final MeterRegistry registry;
+
+  AdmissionControl(int initialLimit, int maxLimit, int maxPoolQueue, ToIntFunction<String> poolQueue,
+      MeterRegistry registry) {
+    this.initialLimit = initialLimit;
+    this.maxLimit = maxLimit;
+    this.maxPoolQueue = maxPoolQueue;
+    this.poolQueue = poolQueue;
+    this.registry = registry;
+  }
+
+  /**
+   * @return the admission control configured by the system properties, or null if disabled
+   */
+  static synchronized AdmissionControl get() {
+    if (instance == null && Boolean.getBoolean(ENABLED_PROPERTY)) {
+      instance = new AdmissionControl(
+          Integer.getInteger(INITIAL_LIMIT_PROPERTY, 20),
+          Integer.getInteger(MAX_LIMIT_PROPERTY, 200),
+          Integer.getInteger(MAX_POOL_QUEUE_PROPERTY, 0),
+          PostgresClient::getConnectionWaiters,
+          BackendRegistries.getDefaultNow());
+      LOGGER.info("Admission control enabled");
+    }
+    return instance;
+  }
+
+  /**
+   * Admit a request.
+   *
+   * @return 0 if the request is admitted and {@link #release(String, String, long)} must be called
+   *     when it ends, otherwise the HTTP status code to reject the request with: 429 or 503
+   */
+  int acquire(String tenant, String route) {
+    Limiter limiter = limiter(tenant, route);
+    int status;
+    if (maxPoolQueue > 0 && poolQueue.applyAsInt(tenant) > maxPoolQueue) {
+      status = 503;
+    } else if (limiter.tryAcquire()) {
+      return 0;
+    } else {
+      status = 429;
+    }
+    if (registry != null) {
+      Counter.builder("rmb.admission.rejected")
+          .tags(limiter.tags.and("status", Integer.toString(status)))
+          .register(registry).increment();
+    }
+    return status;
+  }
+
+  /**
+   * Release an admitted request.
+   *
+   * @param latencyNanos time from start to end of the request
+   */
+  void release(String tenant, String route, long latencyNanos) {
+    limiter(tenant, route).release(latencyNanos, poolQueue.applyAsInt(tenant));
+  }
+
+  Limiter limiter(String tenant, String route) {
+    return limiters.computeIfAbsent(tenant + " " + route, key -> {
+      Limiter limiter = new Limiter(initialLimit, maxLimit, Tags.of("tenant", tenant, "route", route));
+      if (registry != null) {
+        Gauge.builder("rmb.admission.limit", limiter, Limiter::getLimit)
+            .tags(limiter.tags).register(registry);
+        Gauge.builder("rmb.admission.inflight", limiter, Limiter::getInFlight)
+            .tags(limiter.tags).register(registry);
+      }
+      return limiter;
+    });
+  }
+
+  /**
+   * Concurrency limit of a single tenant and route.
+   */
+  static final class Limiter {
+    /** latency increase tolerated before the limit shrinks */
+    static final double TOLERANCE = 1.5;
+    /** weight of a new sample for the long term latency average */
+    static final double LONG_RTT_ALPHA = 0.02;
+    /** weight of the new limit for the smoothed limit */
+    static final double SMOOTHING = 0.2;
+    /** decrease factor while requests of the tenant wait for a database connection */
+    static final double BACKOFF = 0.9;
+
+    final Tags tags;
+    private final int maxLimit;
+    private double limit;
+    private int inFlight;
+    private double longRtt;
+
+    Limiter(int initialLimit, int maxLimit, Tags tags) {
+      this.limit = initialLimit;
+      this.maxLimit = maxLimit;
+      this.tags = tags;
+    }
+
+    synchronized boolean tryAcquire() {
+      if (inFlight >= (int) limit) {
+        return false;
+      }
+      inFlight++;
+      return true;
+    }
+
+    synchronized void release(long latencyNanos, int poolQueue) {
+      int inFlightBefore = inFlight;
+      inFlight--;
+      if (poolQueue > 0) {
+        limit = Math.max(1, limit * BACKOFF);
+        return;
+      }
+      if (latencyNanos <= 0) {
+        return;
+      }
+      if (longRtt == 0) {
+        longRtt = latencyNanos;
+      } else {
+        longRtt = longRtt * (1 - LONG_RTT_ALPHA) + latencyNanos * LONG_RTT_ALPHA;
+      }
+      double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRtt / latencyNanos));
+      // don't grow the limit if the requests don't use it
+      double queueSize = inFlightBefore * 2 >= limit ? Math.sqrt(limit) : 0;
+      double newLimit = limit * gradient + queueSize;
+      limit = Math.max(1, Math.min(maxLimit, limit * (1 - SMOOTHING) + newLimit * SMOOTHING));
+    }
+
+    synchronized double getLimit() {
+      return limit;
+    }
+
+    synchronized int getInFlight() {
+      return inFlight;
+    }
+  }
+}
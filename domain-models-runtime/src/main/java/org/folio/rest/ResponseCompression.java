@@ -0,0 +1,177 @@
+package org.folio.rest;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.micrometer.backends.BackendRegistries;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import org.folio.rest.tools.utils.AcceptHeader;
+
+/**
+ * Compression of response bodies driven by the Accept-Encoding request header.
+ *
+ * <p>Bodies below the threshold are sent with {@code Content-Encoding: identity} so that
+ * the HTTP server's own compression skips them. Larger bodies are compressed here so that
+ * the compression ratio and the time spent compressing can be recorded as metrics.
+ */
+final class ResponseCompression {
+  /** system property, set to false to disable compression of responses */
+  static final String ENABLED_PROPERTY = "rmb.compression";
+  /** system property, minimum body size in bytes to compress, default 1024 */
+  static final String THRESHOLD_PROPERTY = "rmb.compressionThreshold";
+  /** system property, compression level 1 (fastest) to 9 (best), default 6 */
+  static final String LEVEL_PROPERTY = "rmb.compressionLevel";
+
+  static final String GZIP = "gzip";
+  static final String DEFLATE = "deflate";
+  static final String IDENTITY = "identity";
+
+  private static final boolean ENABLED = ! "false".equals(System.getProperty(ENABLED_PROPERTY));
+  private static final int THRESHOLD = Integer.getInteger(THRESHOLD_PROPERTY, 1024);
+  private static final int LEVEL = Math.max(1, Math.min(9, Integer.getInteger(LEVEL_PROPERTY, 6)));
+
+  private ResponseCompression() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  static boolean isEnabled() {
+    return ENABLED;
+  }
+
+  static int getLevel() {
+    return LEVEL;
+  }
+
+  /**
+   * Encode the body according to the Accept-Encoding request header and set the
+   * Content-Encoding response header.
+   *
+   * @return the body to send
+   */
+  static Buffer encode(String acceptEncoding, MultiMap responseHeaders, Buffer body) {
+    if (! ENABLED || responseHeaders.contains(HttpHeaders.CONTENT_ENCODING)) {
+      // disabled, or the implementation has already chosen an encoding
+      return body;
+    }
+    String encoding = body.length() >= THRESHOLD && isCompressible(responseHeaders)
+        ? negotiate(acceptEncoding) : IDENTITY;
+    if (IDENTITY.equals(encoding)) {
+      responseHeaders.set(HttpHeaders.CONTENT_ENCODING, IDENTITY);
+      return body;
+    }
+    long start = System.nanoTime();
+    Buffer compressed = compress(body, encoding, LEVEL);
+    record(encoding, body.length(), compressed.length(), System.nanoTime() - start);
+    responseHeaders.set(HttpHeaders.CONTENT_ENCODING, encoding);
+    responseHeaders.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+    return compressed;
+  }
+
+  private static boolean isCompressible(MultiMap responseHeaders) {
+    String contentType = responseHeaders.get(HttpHeaders.CONTENT_TYPE);
+    if (contentType == null) {
+      return true;
+    }
+    String type = contentType.toLowerCase(Locale.ROOT);
+    return type.contains("json") || type.startsWith("text/") || type.contains("xml");
+  }
+
+  /**
+   * The * element accepts only the codings that are not listed explicitly, for example
+   * "gzip;q=0, *" rejects gzip.
+   *
+   * @param acceptEncoding value of the Accept-Encoding request header, may be null
+   * @return gzip or deflate if accepted by the client, otherwise identity
+   */
+  static String negotiate(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return IDENTITY;
+    }
+    // null if not listed, otherwise whether accepted
+    Boolean gzip = null;
+    Boolean deflate = null;
+    boolean any = false;
+    for (String element : acceptEncoding.split(",")) {
+      String coding = element.split(";")[0].trim().toLowerCase(Locale.ROOT);
+      boolean accepted = ! AcceptHeader.isRejected(element);
+      if (GZIP.equals(coding)) {
+        gzip = accepted;
+      } else if (DEFLATE.equals(coding)) {
+        deflate = accepted;
+      } else if ("*".equals(coding)) {
+        any = accepted;
+      }
+    }
+    if (gzip == null ? any : gzip) {
+      return GZIP;
+    }
+    if (deflate == null ? any : deflate) {
+      return DEFLATE;
+    }
+    return IDENTITY;
+  }
+
+  /**
+   * @param encoding gzip or deflate (zlib format)
+   */
+  static Buffer compress(Buffer body, String encoding, int level) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.max(64, body.length() / 4));
+    try {
+      if (GZIP.equals(encoding)) {
+        try (OutputStream out = new LevelGzipOutputStream(bytes, level)) {
+          out.write(body.getBytes());
+        }
+      } else {
+        Deflater deflater = new Deflater(level);
+        try (OutputStream out = new DeflaterOutputStream(bytes, deflater)) {
+          out.write(body.getBytes());
+        } finally {
+          deflater.end();
+        }
+      }
+    } catch (IOException e) {
+      // ByteArrayOutputStream doesn't throw IOException
+      throw new IllegalStateException(e);
+    }
+    return Buffer.buffer(bytes.toByteArray());
+  }
+
+  private static void record(String encoding, int uncompressed, int compressed, long nanos) {
+    MeterRegistry registry = BackendRegistries.getDefaultNow();
+    if (registry == null) {
+      return;
+    }
+    DistributionSummary.builder("rmb.response.compression.ratio")
+        .description("compressed size divided by uncompressed size of response bodies")
+        .tag("encoding", encoding)
+        .register(registry).record((double) compressed / uncompressed);
+    DistributionSummary.builder("rmb.response.compression.bytes")
+        .baseUnit("bytes")
+        .tag("encoding", encoding)
+        .register(registry).record(uncompressed);
+    Timer.builder("rmb.response.compression.time")
+        .description("time spent compressing response bodies")
+        .tag("encoding", encoding)
+        .register(registry).record(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * GZIPOutputStream with configurable compression level.
+   */
+  private static final class LevelGzipOutputStream extends GZIPOutputStream {
+    LevelGzipOutputStream(OutputStream out, int level) throws IOException {
+      super(out);
+      def.setLevel(level);
+    }
+  }
+}
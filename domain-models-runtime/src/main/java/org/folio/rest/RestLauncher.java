@@ -7,11 +7,41 @@ import io.vertx.core.VertxOptions;
 import org.folio.okapi.common.MetricsUtil;
 
 public class RestLauncher extends Launcher {
+  /**
+   * system property with the number of RestVerticle instances, used if the -instances
+   * command line option is not passed; defaults to the number of available processors
+   */
+  public static final String INSTANCES_PROPERTY = "rmb.instances";
+
+  /** whether the -instances command line option has been passed */
+  private boolean instancesOption;
 
   public static void main(String[] args) {
     new RestLauncher().dispatch(args);
   }
 
+  @Override
+  public void dispatch(Object main, String[] args) {
+    instancesOption = hasInstancesOption(args);
+    super.dispatch(main, args);
+  }
+
+  /**
+   * @return whether args contains the -instances option, also as --instances or -instances=n
+   */
+  static boolean hasInstancesOption(String[] args) {
+    if (args == null) {
+      return false;
+    }
+    for (String arg : args) {
+      String name = arg.split("=", 2)[0];
+      if ("-instances".equals(name) || "--instances".equals(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public void beforeStartingVertx(VertxOptions options) {
     super.beforeStartingVertx(options);
@@ -30,6 +60,20 @@ public class RestLauncher extends Launcher {
   @Override
   public void beforeDeployingVerticle(DeploymentOptions deploymentOptions) {
     super.beforeDeployingVerticle(deploymentOptions);
+    deploymentOptions.setInstances(instances(deploymentOptions.getInstances(), instancesOption));
+  }
+
+  /**
+   * @param instances value of the -instances command line option, 1 if not passed
+   * @param instancesOption whether the -instances command line option has been passed
+   * @return instances if the option has been passed, otherwise the {@link #INSTANCES_PROPERTY}
+   *     system property, falling back to the number of available processors
+   */
+  static int instances(int instances, boolean instancesOption) {
+    if (instancesOption) {
+      return instances;
+    }
+    return Math.max(1, Integer.getInteger(INSTANCES_PROPERTY, Runtime.getRuntime().availableProcessors()));
   }
 
   @Override
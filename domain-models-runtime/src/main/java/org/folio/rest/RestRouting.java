@@ -1,6 +1,5 @@
 package org.folio.rest;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
 import io.vertx.core.AsyncResult;
@@ -9,6 +8,7 @@ import io.vertx.core.Handler;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.core.http.HttpServerResponse;
@@ -33,23 +33,33 @@ import org.folio.rest.jaxrs.model.Parameter;
 import org.folio.rest.persist.PostgresClient;
 import org.folio.rest.resource.DomainModelConsts;
 import org.folio.rest.tools.AnnotationGrabber;
+import org.folio.rest.tools.RouteIndex;
 import org.folio.rest.tools.client.exceptions.ResponseException;
 import org.folio.rest.tools.messages.MessageConsts;
 import org.folio.rest.tools.messages.Messages;
 import org.folio.rest.tools.utils.AsyncResponseResult;
 import org.folio.rest.tools.utils.BinaryOutStream;
+import org.folio.rest.tools.utils.CancellationToken;
 import org.folio.rest.tools.utils.InterfaceToImpl;
+import org.folio.rest.tools.utils.JsonFormat;
 import org.folio.rest.tools.utils.JsonUtils;
 import org.folio.rest.tools.utils.LogUtil;
 import org.folio.rest.tools.utils.MetadataUtil;
+import org.folio.rest.tools.utils.NoCollectionCascadeResolver;
 import org.folio.rest.tools.utils.OutStream;
+import org.folio.rest.tools.utils.ReadOnlyFields;
 import org.folio.rest.tools.utils.ResponseImpl;
 import org.folio.rest.tools.utils.ValidationHelper;
 import org.folio.util.StringUtil;
 
 import javax.validation.ConstraintViolation;
+import javax.validation.ElementKind;
 import javax.validation.Path.Node;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ContainerElementTypeDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
 import javax.validation.Validation;
+import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
@@ -61,12 +71,17 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.math.BigDecimal;
 import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -89,7 +104,25 @@ public final class RestRouting {
   private static final Logger LOGGER = LogManager.getLogger(RestRouting.class);
   private static final Messages MESSAGES = Messages.getInstance();
   private static final ObjectMapper MAPPER = ObjectMapperTool.getMapper();
-  private static ValidatorFactory validationFactory = Validation.buildDefaultValidatorFactory();
+  private static final ValidatorFactory VALIDATOR_FACTORY = Validation.buildDefaultValidatorFactory();
+  private static final Validator VALIDATOR = VALIDATOR_FACTORY.getValidator();
+  private static final Validator NO_COLLECTION_CASCADE_VALIDATOR = VALIDATOR_FACTORY.usingContext()
+      .traversableResolver(new NoCollectionCascadeResolver()).getValidator();
+  /** system property; set to false to not validate the elements of nested collections of request bodies */
+  static final String CASCADE_COLLECTIONS_PROPERTY = "rmb.validation.cascadeCollections";
+  private static boolean cascadeCollections =
+      ! "false".equals(System.getProperty(CASCADE_COLLECTIONS_PROPERTY));
+  /** system property with the minimum body size in bytes that is decoded and validated on a worker thread */
+  static final String BODY_WORKER_THRESHOLD_PROPERTY = "rmb.bodyWorkerThreshold";
+  private static int bodyWorkerThreshold = Integer.getInteger(BODY_WORKER_THRESHOLD_PROPERTY, 65536);
+  /** request header with the timeout of the request in milliseconds */
+  static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+  /**
+   * system property with the default timeout of a request in milliseconds,
+   * append . and the RAML path for a route specific default, for example rmb.requestTimeout./instances
+   */
+  static final String REQUEST_TIMEOUT_PROPERTY = "rmb.requestTimeout";
+  private static final Map<String, Long> ROUTE_TIMEOUTS = new ConcurrentHashMap<>();
 
   private RestRouting() {
     throw new UnsupportedOperationException("Cannot instantiate utility class.");
@@ -136,7 +169,7 @@ public final class RestRouting {
    * @return
    */
   static Object[] isValidRequest(RoutingContext rc, Object content, Errors errorResp, List<String> singleField, Class<?> entityClazz) {
-    Set<? extends ConstraintViolation<?>> validationErrors = validationFactory.getValidator().validate(content);
+    Set<? extends ConstraintViolation<?>> validationErrors = (cascadeCollections ? VALIDATOR : NO_COLLECTION_CASCADE_VALIDATOR).validate(content);
     if (validationErrors.isEmpty()) {
       return new Object[]{Boolean.TRUE, content};
     }
@@ -148,24 +181,16 @@ public final class RestRouting {
          * so the client should not pass them in, if they were passed in, remove them here
          * so that they do not reach the implementing function
          */
-        try {
-          if (!(content instanceof JsonObject)) {
-            content = JsonObject.mapFrom(content);
-          }
-          JsonObject json = (JsonObject) content;
-          Node last = null;
-          for (Node node : cv.getPropertyPath()) {
-            if (last != null) {
-              json = json.getJsonObject(last.getName());
-            }
-            last = node;
-          }
-          json.remove(last.getName());
+        Node last = null;
+        for (Node node : cv.getPropertyPath()) {
+          last = node;
+        }
+        if (last != null && last.getKind() == ElementKind.PROPERTY
+            && ReadOnlyFields.clear(cv.getLeafBean(), last.getName())) {
           continue;
-        } catch (Exception e) {
-          withRequestId(rc, () -> LOGGER.warn("Failed to remove {} field from body when calling {}",
-              cv.getPropertyPath(), rc.request().absoluteURI(), e));
         }
+        withRequestId(rc, () -> LOGGER.warn("Failed to remove {} field from body when calling {}",
+            cv.getPropertyPath(), rc.request().absoluteURI()));
       }
       Error error = new Error();
       Parameter p = new Parameter();
@@ -191,17 +216,82 @@ public final class RestRouting {
         ret = false;
       }
     }
-    if (content instanceof JsonObject) {
-      //we have sanitized the passed in object by removing read-only fields
+    return new Object[]{ret, content};
+  }
+
+  /**
+   * Whether bean validation of request bodies cascades into the elements of
+   * collections, maps and arrays annotated with {@code @Valid}. Defaults to true,
+   * set the {@value #CASCADE_COLLECTIONS_PROPERTY} system property to false if the
+   * module is called by trusted internal callers only.
+   */
+  static void setCascadeCollections(boolean cascade) {
+    cascadeCollections = cascade;
+  }
+
+  /**
+   * Build the bean validation metadata of the entity class and of the classes it cascades to
+   * so that the first request doesn't pay for it.
+   */
+  static void warmUpValidation(Class<?> entityClass, Set<Class<?>> done) {
+    if (entityClass.getName().startsWith("java.") || ! done.add(entityClass)) {
+      return;
+    }
+    BeanDescriptor beanDescriptor = VALIDATOR.getConstraintsForClass(entityClass);
+    for (PropertyDescriptor property : beanDescriptor.getConstrainedProperties()) {
+      if (property.isCascaded()) {
+        warmUpValidation(property.getElementClass(), done);
+        // @Valid List<Item> items: the metadata of Item is needed for the elements
+        for (Class<?> typeArgument : typeArguments(entityClass, property.getPropertyName())) {
+          warmUpValidation(typeArgument, done);
+        }
+      }
+      for (ContainerElementTypeDescriptor element : property.getConstrainedContainerElementTypes()) {
+        if (element.isCascaded()) {
+          warmUpValidation(element.getElementClass(), done);
+        }
+      }
+    }
+  }
+
+  private static List<Class<?>> typeArguments(Class<?> clazz, String fieldName) {
+    List<Class<?>> list = new ArrayList<>();
+    for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
       try {
-        content = MAPPER.readValue(((JsonObject) content).encode(), entityClazz);
-      } catch (IOException e) {
-        withRequestId(rc, () -> LOGGER.error(
-            "Failed to serialize body content after removing read-only fields when calling {}",
-            rc.request().absoluteURI(), e));
+        Type type = c.getDeclaredField(fieldName).getGenericType();
+        if (type instanceof ParameterizedType) {
+          for (Type typeArgument : ((ParameterizedType) type).getActualTypeArguments()) {
+            if (typeArgument instanceof Class) {
+              list.add((Class<?>) typeArgument);
+            }
+          }
+        }
+        return list;
+      } catch (NoSuchFieldException e) {
+        // try super class
       }
     }
-    return new Object[]{ret, content};
+    return list;
+  }
+
+  private static void warmUpValidation(JsonObject methodInfo, Set<Class<?>> done) {
+    JsonObject params = methodInfo.getJsonObject(AnnotationGrabber.METHOD_PARAMS);
+    if (params == null) {
+      return;
+    }
+    params.forEach(param -> {
+      JsonObject p = (JsonObject) param.getValue();
+      String type = p.getString("type");
+      if (! AnnotationGrabber.NON_ANNOTATED_PARAM.equals(p.getString("param_type"))
+          || type == null || type.startsWith("java.") || type.startsWith("io.vertx.")) {
+        return;
+      }
+      try {
+        warmUpValidation(Class.forName(type), done);
+      } catch (ClassNotFoundException | RuntimeException e) {
+        LOGGER.warn("Cannot warm up validation of {}: {}", type, e.getMessage(), e);
+      }
+    });
   }
 
   /**
@@ -310,7 +400,7 @@ public final class RestRouting {
   private static void parseNonAnnotated(RoutingContext rc, Buffer body, Object[] paramArray,
                                         Map<String, String> okapiHeaders,
                                         String valueType, int order)
-      throws JsonProcessingException, ReflectiveOperationException {
+      throws IOException, ReflectiveOperationException {
     // this will also validate the json against the pojo created from the schema
     Class<?> entityClazz = Class.forName(valueType);
 
@@ -328,24 +418,29 @@ public final class RestRouting {
       // we have special handling for the Result Handler and context, it is also assumed that
       //an inputsteam parameter occurs when application/octet is declared in the raml
       //in which case the content will be streamed to he function
-      String bodyContent = body == null ? null : body.toString();
+      JsonFormat format = JsonFormat.of(request.getHeader(CONTENT_TYPE));
+      boolean text = "java.io.Reader".equals(valueType) || "java.lang.String".equals(valueType);
+      String bodyContent = body == null || (format != null && format.isBinary() && ! text) ? null : body.toString();
       withRequestId(rc, () -> LOGGER.debug("{} -------- bodyContent -------- {}",
           rc.request().path(), bodyContent));
-      if (bodyContent != null) {
-        if ("java.io.Reader".equals(valueType)) {
-          paramArray[order] = new StringReader(bodyContent);
-        } else if ("java.lang.String".equals(valueType)) {
-          paramArray[order] = bodyContent;
-        } else if (bodyContent.length() > 0) {
-          try {
+      try {
+        if (bodyContent != null) {
+          if ("java.io.Reader".equals(valueType)) {
+            paramArray[order] = new StringReader(bodyContent);
+          } else if ("java.lang.String".equals(valueType)) {
+            paramArray[order] = bodyContent;
+          } else if (bodyContent.length() > 0) {
             paramArray[order] = MAPPER.readValue(bodyContent, entityClazz);
-          } catch (UnrecognizedPropertyException e) {
-            withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
-            endRequestWithError(rc, HttpStatus.HTTP_UNPROCESSABLE_ENTITY.toInt(), true, JsonUtils.entity2String(
-                ValidationHelper.createValidationErrorMessage("", "", e.getMessage())));
-            return;
           }
+        } else if (body != null && body.length() > 0) {
+          // Smile or CBOR into the same POJO
+          paramArray[order] = format.decode(body, entityClazz);
         }
+      } catch (UnrecognizedPropertyException e) {
+        withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
+        endRequestWithError(rc, HttpStatus.HTTP_UNPROCESSABLE_ENTITY.toInt(), true, JsonUtils.entity2String(
+            ValidationHelper.createValidationErrorMessage("", "", e.getMessage())));
+        return;
       }
       Errors errorResp = new Errors();
 
@@ -378,7 +473,7 @@ public final class RestRouting {
 
   private static void parseParams1(RoutingContext rc, Buffer body, Iterator<Map.Entry<String, Object>> paramList,
                                    Object[] paramArray, String[] pathParams, Map<String, String> okapiHeaders)
-      throws ReflectiveOperationException, JsonProcessingException, ParseException {
+      throws ReflectiveOperationException, IOException, ParseException {
 
     HttpServerRequest request = rc.request();
     MultiMap queryParams = request.params();
@@ -420,8 +515,8 @@ public final class RestRouting {
     }
   }
 
-  private static void parseParams(RoutingContext rc, Buffer body, Iterator<Map.Entry<String, Object>> paramList,
-                                  Object[] paramArray, String[] pathParams, Map<String, String> okapiHeaders) {
+  static void parseParams(RoutingContext rc, Buffer body, Iterator<Map.Entry<String, Object>> paramList,
+                          Object[] paramArray, String[] pathParams, Map<String, String> okapiHeaders) {
 
     try {
       parseParams1(rc, body, paramList, paramArray, pathParams, okapiHeaders);
@@ -576,21 +671,33 @@ public final class RestRouting {
 
       entity = responseFromResult.getEntity();
 
+      Buffer body = null;
+      JsonFormat format = binaryFormat(rc, response, entity);
+      /* binary JSON requested by the client, Smile or CBOR - encodes the same pojo */
+      if (format != null) {
+        Object data = entity instanceof OutStream ? ((OutStream) entity).getData() : entity;
+        body = format.encode(data);
+        response.putHeader(CONTENT_TYPE, format.getMediaType());
+      }
       /* entity is of type OutStream - and will be written as a string */
-      if (entity instanceof OutStream) {
-        response.write(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(((OutStream) entity).getData()));
+      else if (entity instanceof OutStream) {
+        body = Buffer.buffer(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(((OutStream) entity).getData()));
       }
       /* entity is of type BinaryOutStream - and will be written as a buffer */
       else if (entity instanceof BinaryOutStream) {
-        response.write(Buffer.buffer(((BinaryOutStream) entity).getData()));
+        body = Buffer.buffer(((BinaryOutStream) entity).getData());
       }
       /* data is a string so just push it out, no conversion needed */
       else if (entity instanceof String) {
-        response.write(Buffer.buffer((String) entity));
+        body = Buffer.buffer((String) entity);
       }
       /* catch all - anything else will be assumed to be a pojo which needs converting to json */
       else if (entity != null) {
-        response.write(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(entity));
+        body = Buffer.buffer(MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(entity));
+      }
+      if (body != null) {
+        response.write(ResponseCompression.encode(
+            rc.request().getHeader(HttpHeaders.ACCEPT_ENCODING), response.headers(), body));
       }
     } catch (Exception e) {
       withRequestId(rc, () -> LOGGER.error(e.getMessage(), e));
@@ -612,6 +719,22 @@ public final class RestRouting {
     withRequestId(rc, () -> LogUtil.formatStatsLogMessage(rc, (end - start) / 1000000, tenantId, sb.toString()));
   }
 
+  /**
+   * @return the binary format (Smile or CBOR) to encode a JSON response entity with if the
+   *     client prefers it in its Accept header, otherwise null
+   */
+  static JsonFormat binaryFormat(RoutingContext rc, HttpServerResponse response, Object entity) {
+    if (entity == null || entity instanceof BinaryOutStream || entity instanceof String) {
+      return null;
+    }
+    String contentType = response.headers().get(CONTENT_TYPE);
+    if (contentType != null && JsonFormat.of(contentType) != JsonFormat.JSON) {
+      return null;
+    }
+    JsonFormat format = JsonFormat.negotiate(rc.request().getHeader(HttpHeaders.ACCEPT));
+    return format.isBinary() ? format : null;
+  }
+
   /**
    * @param annotations
    * @return
@@ -666,6 +789,22 @@ public final class RestRouting {
           MESSAGES.getMessage("en", MessageConsts.UnableToProcessRequest) + " Tenant must be set");
       return;
     }
+    if (! admit(rc, tenantId, ret, start)) {
+      return;
+    }
+    // cancel running database queries if the client closes the connection before the response has been sent
+    CancellationToken cancellationToken = CancellationToken.create(rc.vertx().getOrCreateContext());
+    long timeout = requestTimeout(rc, ret.getString(AnnotationGrabber.METHOD_URL));
+    if (timeout > 0) {
+      cancellationToken.setTimeout(timeout);
+    }
+    rc.addEndHandler(ended -> {
+      if (ended.failed()) {
+        withRequestId(rc, () -> LOGGER.warn("Cancelling {} {}: {}", rc.request().method(), rc.request().path(),
+            ended.cause().getMessage()));
+        cancellationToken.cancel();
+      }
+    });
     Object instanceTmp;
     try {
       instanceTmp = construct(rc.vertx(), tenantId, aClass);
@@ -704,20 +843,114 @@ public final class RestRouting {
       Buffer body = Buffer.buffer();
       rc.request().handler(body::appendBuffer);
       rc.request().endHandler(endRes -> {
-        parseParams(rc, body, paramList, paramArray, pathParams, okapiHeaders);
-        if (rc.response().ended()) {
+        if (body.length() < bodyWorkerThreshold) {
+          parseParams(rc, body, paramList, paramArray, pathParams, okapiHeaders);
+          invokeUnlessEnded(method, paramArray, instance, rc, okapiHeaders, start, tenantId);
           return;
         }
-        try {
-          invoke(method, paramArray, instance, rc, okapiHeaders, v -> sendResponse(rc, v, start, tenantId));
-        } catch (Exception e1) {
-          withRequestId(rc, () -> LOGGER.error(e1.getMessage(), e1));
-          rc.response().end();
-        }
+        // JSON decoding and bean validation of a large body would block the event loop
+        rc.vertx().<Void>executeBlocking(promise -> {
+          parseParams(rc, body, paramList, paramArray, pathParams, okapiHeaders);
+          promise.complete();
+        }, false, res -> {
+          if (res.failed()) {
+            withRequestId(rc, () -> LOGGER.error(res.cause().getMessage(), res.cause()));
+            endRequestWithError(rc, 500, true, res.cause().getMessage());
+            return;
+          }
+          invokeUnlessEnded(method, paramArray, instance, rc, okapiHeaders, start, tenantId);
+        });
       });
     }
   }
 
+  private static void invokeUnlessEnded(Method method, Object[] paramArray, Object instance, RoutingContext rc,
+                                        Map<String, String> okapiHeaders, long start, String tenantId) {
+    if (rc.response().ended()) {
+      return;
+    }
+    try {
+      invoke(method, paramArray, instance, rc, okapiHeaders, v -> sendResponse(rc, v, start, tenantId));
+    } catch (Exception e1) {
+      withRequestId(rc, () -> LOGGER.error(e1.getMessage(), e1));
+      rc.response().end();
+    }
+  }
+
+  /**
+   * The timeout of the request: the {@value #REQUEST_TIMEOUT_HEADER} header, limited by the default
+   * of the route; the route default is the {@value #REQUEST_TIMEOUT_PROPERTY}.ramlPath system property,
+   * falling back to the {@value #REQUEST_TIMEOUT_PROPERTY} system property.
+   *
+   * <p>PostgresClient limits the time of each query to the time remaining until the deadline.
+   *
+   * @return timeout in milliseconds, 0 for none
+   */
+  static long requestTimeout(RoutingContext rc, String ramlPath) {
+    long routeTimeout = ROUTE_TIMEOUTS.computeIfAbsent(ramlPath == null ? "" : ramlPath, path ->
+        Long.getLong(REQUEST_TIMEOUT_PROPERTY + "." + path, Long.getLong(REQUEST_TIMEOUT_PROPERTY, 0)));
+    String header = rc.request().getHeader(REQUEST_TIMEOUT_HEADER);
+    if (header == null) {
+      return routeTimeout;
+    }
+    long headerTimeout;
+    try {
+      headerTimeout = Long.parseLong(header.trim());
+    } catch (NumberFormatException e) {
+      withRequestId(rc, () -> LOGGER.warn("Ignoring invalid {} header: {}", REQUEST_TIMEOUT_HEADER, header));
+      return routeTimeout;
+    }
+    if (headerTimeout <= 0) {
+      return routeTimeout;
+    }
+    return routeTimeout > 0 ? Math.min(routeTimeout, headerTimeout) : headerTimeout;
+  }
+
+  /**
+   * Clear the cached route timeouts so that the system properties are read again.
+   */
+  static void resetRequestTimeouts() {
+    ROUTE_TIMEOUTS.clear();
+  }
+
+  /**
+   * Request bodies of at least this size in bytes are decoded and validated on a worker thread
+   * to not block the event loop, smaller bodies are processed inline.
+   *
+   * <p>Defaults to the {@value #BODY_WORKER_THRESHOLD_PROPERTY} system property, or 65536.
+   */
+  static void setBodyWorkerThreshold(int bytes) {
+    bodyWorkerThreshold = bytes;
+  }
+
+  static int getBodyWorkerThreshold() {
+    return bodyWorkerThreshold;
+  }
+
+  /**
+   * Apply {@link AdmissionControl} if enabled: reject the request with 429 or 503, or admit it and
+   * release it when it ends.
+   *
+   * @return true if admitted, false if the request has been rejected
+   */
+  private static boolean admit(RoutingContext rc, String tenantId, JsonObject methodInfo, long start) {
+    AdmissionControl admissionControl = AdmissionControl.get();
+    if (admissionControl == null || tenantId == null) {
+      return true;
+    }
+    String route = rc.request().method().name() + " " + methodInfo.getString(AnnotationGrabber.METHOD_URL);
+    int status = admissionControl.acquire(tenantId, route);
+    if (status != 0) {
+      rc.response().putHeader("Retry-After", AdmissionControl.RETRY_AFTER_SECONDS);
+      endRequestWithError(rc, status, true, status == 429
+          ? "Too many concurrent requests for tenant " + tenantId + " and " + route
+          : "Service overloaded, try again later");
+      return false;
+    }
+    rc.addEndHandler(ended -> admissionControl.release(tenantId, route, System.nanoTime() - start));
+    return true;
+  }
+
   // https://www.w3.org/Protocols/rfc2616/rfc2616-sec14.html
   // first match - no q val check
   static String acceptCheck(JsonArray l, String h) {
@@ -736,6 +969,16 @@ public final class RestRouting {
     return hBest;
   }
 
+  /**
+   * Smile and CBOR are accepted wherever the RAML declares application/json.
+   *
+   * @param mediaTypes consumes or produces of the RAML
+   * @param header Content-Type or Accept header
+   */
+  static boolean isBinaryJson(JsonArray mediaTypes, String header) {
+    return mediaTypes.contains(SUPPORTED_CONTENT_TYPE_JSON_DEF) && JsonFormat.negotiate(header).isBinary();
+  }
+
   /**
    * look for the boundary and return just the multipart/form-data multipart/form-data boundary=----WebKitFormBoundaryP8wZiNAoFszXOXEt if
    * boundary doesn't exist that return original string
@@ -765,7 +1008,7 @@ public final class RestRouting {
       // it was put there as a suffix
       String contentType = StringUtils.defaultString(request.getHeader(CONTENT_TYPE), DEFAULT_CONTENT_TYPE)
           .replaceFirst(";.*", "").trim();
-      if (!consumes.contains(removeBoundary(contentType))) {
+      if (!consumes.contains(removeBoundary(contentType)) && !isBinaryJson(consumes, contentType)) {
         endRequestWithError(rc, 400, true, MESSAGES.getMessage("en", MessageConsts.ContentTypeError, consumes, contentType));
       }
       if (consumes.contains(SUPPORTED_CONTENT_TYPE_FORM)) {
@@ -776,7 +1019,7 @@ public final class RestRouting {
     // type of data expected to be returned by the server
     if (produces != null) {
       String accept = StringUtils.defaultString(request.getHeader("Accept"), "*/*");
-      if (acceptCheck(produces, accept) == null) {
+      if (acceptCheck(produces, accept) == null && !isBinaryJson(produces, accept)) {
         // use contains because multiple values may be passed here
         // for example json/application; text/plain mismatch of content type found
         endRequestWithError(rc, 400, true, MESSAGES.getMessage("en", MessageConsts.AcceptHeaderError, produces, accept));
@@ -787,11 +1030,13 @@ public final class RestRouting {
   static Future<Void> populateRoutes(Router router, String packageOfImplementations) {
     JsonObject jObjClasses;
     try {
-      jObjClasses = AnnotationGrabber.generateMappings(null);
+      RouteIndex routeIndex = RouteIndex.get();
+      jObjClasses = routeIndex != null ? routeIndex.getMappings() : AnnotationGrabber.generateMappings(null);
     } catch (IOException e) {
       LOGGER.info(e.getMessage(), e);
       return Future.failedFuture(e);
     }
+    Set<Class<?>> validationWarmedUp = new HashSet<>();
     for (String classURL : jObjClasses.fieldNames()) {
       JsonObject ret = jObjClasses.getJsonObject(classURL);
       String iClazz = ret.getString(AnnotationGrabber.CLASS_NAME);
@@ -805,6 +1050,7 @@ public final class RestRouting {
             JsonArray methodsForPath = (JsonArray) value;
             for (int i = 0; i < methodsForPath.size(); i++) {
               JsonObject methodInfo = methodsForPath.getJsonObject(i);
+              warmUpValidation(methodInfo, validationWarmedUp);
               String function = methodInfo.getString(AnnotationGrabber.FUNCTION_NAME);
               String httpMethodS = methodInfo.getString(AnnotationGrabber.HTTP_METHOD);
               httpMethodS = httpMethodS.substring(httpMethodS.lastIndexOf('.') + 1);
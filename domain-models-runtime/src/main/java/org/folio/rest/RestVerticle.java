@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.vertx.core.Future;
 import io.vertx.core.AbstractVerticle;
@@ -49,21 +50,46 @@ public class RestVerticle extends AbstractVerticle {
   private static final Logger       log                             = LogManager.getLogger(RestVerticle.class);
   private static String             deploymentId                     = "";
 
+  /** system property, set to false to disable HTTP/2 cleartext (h2c) */
+  static final String HTTP2_PROPERTY = "rmb.http2";
+
   private static HttpServerOptions httpServerOptions = new HttpServerOptions()
-      .setCompressionSupported(true);
+      .setCompressionSupported(ResponseCompression.isEnabled())
+      .setCompressionLevel(ResponseCompression.getLevel())
+      .setHttp2ClearTextEnabled(! "false".equals(System.getProperty(HTTP2_PROPERTY)));
+  /**
+   * Result of the InitAPI hook for each deployment id; all instances of a deployment share
+   * the deployment id, the first instance runs the hooks, the others wait for it.
+   */
+  private static final Map<String, Future<Boolean>> INIT_HOOKS = new ConcurrentHashMap<>();
   private String packageOfImplementations;
+  /** whether this instance runs the hooks of the deployment */
+  private boolean primary;
 
   @Override
   public void start(Promise<Void> startPromise) throws Exception {
 
-    readInGitProps();
+    Promise<Boolean> initHook = Promise.promise();
+    Future<Boolean> primaryInitHook = INIT_HOOKS.putIfAbsent(deploymentID(), initHook.future());
+    primary = primaryInitHook == null;
+
+    if (primary) {
+      readInGitProps();
 
-    //process cmd line arguments
-    cmdProcessing(processArgs());
+      try {
+        //process cmd line arguments
+        cmdProcessing(processArgs());
+      } catch (Exception e) {
+        // don't let the other instances wait for the init hook
+        INIT_HOOKS.remove(deploymentID());
+        initHook.tryFail(e);
+        throw e;
+      }
 
-    deploymentId = UUID.randomUUID().toString();
+      deploymentId = UUID.randomUUID().toString();
 
-    log.info("metrics enabled: {}", vertx.isMetricsEnabled());
+      log.info("metrics enabled: {}, instances: {}", vertx.isMetricsEnabled(), context.getInstanceCount());
+    }
 
     packageOfImplementations = config().getString("packageOfImplementations", DomainModelConsts.PACKAGE_OF_IMPLEMENTATIONS);
 
@@ -84,7 +110,7 @@ public class RestVerticle extends AbstractVerticle {
     router.route("/apidocs/*").handler(StaticHandler.create("apidocs"));
 
     RestRouting.populateRoutes(router, packageOfImplementations)
-        .compose(x -> runHook())
+        .compose(x -> primary ? runHook().onComplete(initHook) : onThisContext(primaryInitHook))
         .compose(x -> {
           HttpServer server = vertx.createHttpServer(httpServerOptions);
           String portS = System.getProperty(HTTP_PORT_SETTING);
@@ -100,6 +126,9 @@ public class RestVerticle extends AbstractVerticle {
           return server.requestHandler(router).listen(port);
         })
         .<Void>compose(ret -> {
+          if (! primary) {
+            return Future.succeededFuture();
+          }
           try {
             // startup periodic impl if exists
             runPeriodicHook();
@@ -121,10 +150,27 @@ public class RestVerticle extends AbstractVerticle {
           });
           return Future.succeededFuture();
         })
-        .onFailure(cause -> log.error(cause.getMessage(), cause))
+        .onFailure(cause -> {
+          log.error(cause.getMessage(), cause);
+          if (primary) {
+            INIT_HOOKS.remove(deploymentID());
+            // populateRoutes may have failed before runHook, fail the other instances waiting for it
+            initHook.tryFail(cause);
+          }
+        })
         .onComplete(startPromise);
   }
 
+  /**
+   * The future completed by another instance runs its handlers on that instance's context,
+   * continue on the context of this instance so that the HTTP server uses this event loop.
+   */
+  private <T> Future<T> onThisContext(Future<T> future) {
+    Promise<T> promise = Promise.promise();
+    future.onComplete(result -> context.runOnContext(run -> promise.handle(result)));
+    return promise.future();
+  }
+
   private void readInGitProps(){
     InputStream in = getClass().getClassLoader().getResourceAsStream("git.properties");
     if (in != null) {
@@ -143,6 +189,11 @@ public class RestVerticle extends AbstractVerticle {
   @Override
   public void stop(Promise<Void> stopPromise) throws Exception {
     super.stop();
+    if (! primary) {
+      stopPromise.complete();
+      return;
+    }
+    INIT_HOOKS.remove(deploymentID());
     // removes the .lck file associated with the log file
     LogUtil.closeLogger();
     runShutdownHook(v -> {
@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.function.Function;
+import java.util.regex.Pattern;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dbschema.util.SqlUtil;
@@ -40,19 +41,66 @@ import org.folio.rest.tools.utils.MetadataUtil;
 public class Conn {
 
   private static final Logger log = LogManager.getLogger(Conn.class);
+  /**
+   * A single statement that only reads; it may still call a function that writes,
+   * its cached counts expire after the count cache time to live.
+   */
+  private static final Pattern READ_SQL =
+      Pattern.compile("^\\s*(SELECT|SHOW|VALUES|TABLE)\\b[^;]*;?\\s*$", Pattern.CASE_INSENSITIVE);
 
   private final PostgresClient postgresClient;
   private final PgConnection pgConnection;
+  /** completes when the transaction of the connection commits, null if not in a transaction */
+  private final Future<Void> commit;
 
   public Conn(PostgresClient postgresClient, PgConnection conn) {
+    this(postgresClient, conn, null);
+  }
+
+  /**
+   * @param commit  succeeds when the transaction of conn has been committed,
+   *     null if conn is not in a transaction
+   */
+  Conn(PostgresClient postgresClient, PgConnection conn, Future<Void> commit) {
     this.postgresClient = postgresClient;
     this.pgConnection = conn;
+    this.commit = commit;
   }
 
   public PgConnection getPgConnection() {
     return pgConnection;
   }
 
+  /**
+   * Invalidate the cached counts of the table after the write has been committed so that
+   * a count query running concurrently cannot cache the count of the old data.
+   */
+  private void invalidateCount(String table) {
+    if (commit == null) {
+      postgresClient.invalidateCount(table);
+      return;
+    }
+    commit.onSuccess(x -> postgresClient.invalidateCount(table));
+  }
+
+  /**
+   * Like {@link #invalidateCount(String)} for all tables.
+   */
+  private void invalidateAllCounts() {
+    if (commit == null) {
+      postgresClient.invalidateAllCounts();
+      return;
+    }
+    commit.onSuccess(x -> postgresClient.invalidateAllCounts());
+  }
+
+  /**
+   * @return whether sql is a single statement that doesn't write, see {@link #READ_SQL}
+   */
+  static boolean isRead(String sql) {
+    return READ_SQL.matcher(sql).matches();
+  }
+
   /**
    * A debug message showing the duration from startNanoTime until now.
    * @param descriptionKey  key for StatsTracker and text for the log entry
@@ -192,6 +240,7 @@ public class Conn {
           convertEntity ? PostgresClient.pojo2JsonObject(entity) : ((JsonArray)entity).getString(0)
       )).map(rowSet -> {
         log.debug(() -> durationMsg("save", table, start));
+        invalidateCount(table);
         return rowSet.iterator().next().getValue(0).toString();
       });
     } catch (Exception e) {
@@ -309,6 +358,7 @@ public class Conn {
           PostgresClient.pojo2JsonObject(entity)
       )).map(rowSet -> {
         log.debug(() -> durationMsg("save", table, start));
+        invalidateCount(table);
         String updatedEntityString = rowSet.iterator().next().getValue(0).toString();
         try {
           @SuppressWarnings("unchecked")
@@ -391,6 +441,7 @@ public class Conn {
         .compose(x -> pgConnection.preparedQuery(sql).executeBatch(batch))
         .map(rowSet -> {
           log.debug(() -> durationMsg("saveBatch", table, start));
+          invalidateCount(table);
           if (rowSet == null) {
             return emptyRowSetOfId();
           }
@@ -498,7 +549,10 @@ public class Conn {
     String sql = "UPDATE " + postgresClient.getSchemaName() + "." + table
         + " SET jsonb = $1 WHERE id = ($1::jsonb->>'id')::uuid";
     return pgConnection.preparedQuery(sql).executeBatch(batch)
-    .onSuccess(x -> log.debug(() -> durationMsg("updateBatch", table, start)))
+    .onSuccess(x -> {
+      log.debug(() -> durationMsg("updateBatch", table, start));
+      invalidateCount(table);
+    })
     .onFailure(e -> {
       log.error("updateBatch size=" + batch.size() + ", " + e.getMessage(), e);
       log.debug(() -> durationMsg("updateBatchFailed", table, start));
@@ -596,6 +650,7 @@ public class Conn {
       log.debug("update query = {}", sql);
       return pgConnection.preparedQuery(sql).execute(Tuple.of(PostgresClient.pojo2JsonObject(entity)))
       .onComplete(query -> log.debug(() -> durationMsg("update", table, start)))
+      .onSuccess(x -> invalidateCount(table))
       .onFailure(e -> log.error(e.getMessage(), e));
     } catch (Exception e) {
       log.error(e.getMessage(), e);
@@ -723,6 +778,7 @@ public class Conn {
       log.debug("update query = {}", sql);
       return pgConnection.preparedQuery(sql).execute()
       .onComplete(query -> log.debug(() -> durationMsg("update", table, start)))
+      .onSuccess(x -> invalidateCount(table))
       .onFailure(e -> log.error(e.getMessage(), e));
     } catch (Exception e) {
       log.error(e.getMessage(), e);
@@ -736,6 +792,7 @@ public class Conn {
       String sql = "DELETE FROM " + postgresClient.getSchemaName() + "." + table + " " + where;
       log.debug("doDelete query = {}", sql);
       return pgConnection.preparedQuery(sql).execute()
+          .onSuccess(x -> invalidateCount(table))
           .onFailure(e -> log.error(e.getMessage(), e))
           .onComplete(done -> log.debug(() -> durationMsg("delete", table, start)));
     } catch (Exception e) {
@@ -754,7 +811,8 @@ public class Conn {
     try {
       return pgConnection.preparedQuery(
           "DELETE FROM " + postgresClient.getSchemaName() + "." + table + " WHERE id=$1")
-          .execute(Tuple.of(UUID.fromString(id)));
+          .execute(Tuple.of(UUID.fromString(id)))
+          .onSuccess(x -> invalidateCount(table));
     } catch (Exception e) {
       log.error(e.getMessage(), e);
       return Future.failedFuture(e);
@@ -774,6 +832,7 @@ public class Conn {
           + " WHERE jsonb @> $1";
       log.debug("delete by entity, query = {}; $1 = {}", sql, entity);
       return pgConnection.preparedQuery(sql).execute(Tuple.of(PostgresClient.pojo2JsonObject(entity)))
+          .onSuccess(x -> invalidateCount(table))
           .onFailure(e -> log.error(e.getMessage(), e))
           .onComplete(done -> log.debug(() -> durationMsg("delete", table, start)));
     } catch (Exception e) {
@@ -845,6 +904,36 @@ public class Conn {
     }
   }
 
+  /**
+   * Return the jsonb of the records selected by {@link CQLWrapper} filter as JSON text.
+   *
+   * <p>The database converts jsonb to text, the records are neither parsed nor
+   * deserialized, this is faster than {@link #get(String, Class, String, CQLWrapper, boolean, boolean, List, String)}
+   * if the records are passed through unchanged.
+   *
+   * @param table - table to query
+   * @param wrapper - filter to select records
+   * @param returnCount - whether to return totalRecords, the number of matching records when disabling OFFSET and LIMIT
+   */
+  public Future<Results<String>> getJsonText(String table, CQLWrapper wrapper, boolean returnCount) {
+    try {
+      QueryHelper queryHelper = postgresClient.buildQueryHelper(table, PostgresClient.JSON_TEXT_FIELD_NAME,
+          wrapper, false, null, null);
+      Function<TotaledResults, Results<String>> resultSetMapper = totaledResults ->
+      postgresClient.processJsonTextResults(totaledResults.set, totaledResults.estimatedTotal,
+          queryHelper.offset, queryHelper.limit);
+      if (returnCount) {
+        return postgresClient.processQueryWithCount(pgConnection, queryHelper, "getJsonText", resultSetMapper);
+      } else {
+        return Future.future(promise -> postgresClient.processQuery(pgConnection, queryHelper, null, "getJsonText",
+            resultSetMapper, promise));
+      }
+    } catch (Exception e) {
+      log.error(e.getMessage(), e);
+      return Future.failedFuture(e);
+    }
+  }
+
   /**
    * Returns records selected by {@link Criterion} filter
    * @param table - table to query
@@ -1055,12 +1144,19 @@ public class Conn {
     try {
       long start = log.isDebugEnabled() ? System.nanoTime() : 0;
       // more than optimization.. preparedQuery does not work for multiple SQL statements
+      Future<RowSet<Row>> result;
       if (params.size() == 0) {
-        return pgConnection.query(sql).execute()
-            .onComplete(x -> log.debug(() -> durationMsg("execute", sql, start)));
+        result = pgConnection.query(sql).execute();
+      } else {
+        result = pgConnection.preparedQuery(sql).execute(params);
       }
-      return pgConnection.preparedQuery(sql).execute(params)
-          .onComplete(x -> log.debug(() -> durationMsg("execute", sql, start)));
+      return result.onComplete(x -> {
+        log.debug(() -> durationMsg("execute", sql, start));
+        if (x.succeeded() && ! isRead(sql)) {
+          // sql may have written to any table
+          invalidateAllCounts();
+        }
+      });
     } catch (Exception e) {
       log.error(e.getMessage(), e);
       return Future.failedFuture(e);
@@ -1099,7 +1195,13 @@ public class Conn {
       return pgConnection.prepare(sql)
           .compose(preparedStatement -> preparedStatement.query().executeBatch(params)
               .eventually(x -> preparedStatement.close()))
-          .onComplete(x -> log.debug(() -> durationMsg("execute", sql, start)));
+          .onComplete(x -> {
+            log.debug(() -> durationMsg("execute", sql, start));
+            if (x.succeeded() && ! isRead(sql)) {
+              // sql may have written to any table
+              invalidateAllCounts();
+            }
+          });
     } catch (Exception e) {
       log.error(e.getMessage(), e);
       return Future.failedFuture(e);
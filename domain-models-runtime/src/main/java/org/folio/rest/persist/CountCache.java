@@ -0,0 +1,106 @@
+package org.folio.rest.persist;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.folio.rest.tools.utils.LRUCache;
+
+/**
+ * Cache for totalRecords counts of a {@link PostgresClient}; a PostgresClient is for a single tenant.
+ *
+ * <p>The key is the count query. It doesn't contain offset, limit and sort order, therefore
+ * all pages of a result set share the same entry.
+ *
+ * <p>An entry expires after the time to live that has been passed to
+ * {@link #put(String, String, long, int, long)}, or when {@link #invalidate(String)}
+ * is called for its table, or when {@link #invalidateAll()} is called. The cache holds at most {@link #MAX_SIZE} entries,
+ * the oldest entry is evicted first.
+ */
+class CountCache {
+  static final int MAX_SIZE = 1000;
+
+  private static class Entry {
+    final String table;
+    /** generation of the table when the count query was started */
+    final long generation;
+    final int count;
+    /** expiry time as returned by System.nanoTime() */
+    final long expires;
+
+    Entry(String table, long generation, int count, long expires) {
+      this.table = table;
+      this.generation = generation;
+      this.count = count;
+      this.expires = expires;
+    }
+  }
+
+  private final Map<String, Entry> map = Collections.synchronizedMap(LRUCache.newInstance(MAX_SIZE));
+  /** table name to generation, incremented on each write to the table */
+  private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+  /** incremented on each write that may affect any table */
+  private final AtomicLong allGeneration = new AtomicLong();
+
+  /**
+   * The current generation of the table. Call this before starting the count query
+   * and pass it to {@link #put(String, String, long, int, long)} so that a write
+   * that runs concurrently with the count query invalidates the count.
+   *
+   * @param table the table name
+   * @return generation of the table
+   */
+  long generation(String table) {
+    // both summands only increase, therefore any invalidation changes the sum
+    AtomicLong generation = generations.get(table);
+    return allGeneration.get() + (generation == null ? 0 : generation.get());
+  }
+
+  /**
+   * @param countQuery the SQL query that calculates the count
+   * @return the cached count, or null if there is no valid entry
+   */
+  Integer get(String countQuery) {
+    Entry entry = map.get(countQuery);
+    if (entry == null) {
+      return null;
+    }
+    if (entry.expires - System.nanoTime() < 0 || entry.generation != generation(entry.table)) {
+      map.remove(countQuery);
+      return null;
+    }
+    return entry.count;
+  }
+
+  /**
+   * Cache the count.
+   * @param table the table the count query is for
+   * @param countQuery the SQL query that calculates the count
+   * @param generation {@link #generation(String)} of table before the count query has been started
+   * @param count the value to cache
+   * @param ttl time to live in milliseconds, nothing is cached if ttl is 0 or negative
+   */
+  void put(String table, String countQuery, long generation, int count, long ttl) {
+    if (ttl <= 0 || generation != generation(table)) {
+      return;
+    }
+    map.put(countQuery, new Entry(table, generation, count,
+        System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ttl)));
+  }
+
+  /**
+   * Invalidate all entries of the table. Call this after each write to the table.
+   * @param table the table name
+   */
+  void invalidate(String table) {
+    generations.computeIfAbsent(table, key -> new AtomicLong()).incrementAndGet();
+  }
+
+  /**
+   * Invalidate all entries. Call this after each write where the table is unknown.
+   */
+  void invalidateAll() {
+    allGeneration.incrementAndGet();
+  }
+}
@@ -0,0 +1,173 @@
+package org.folio.rest.persist;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import org.folio.dbschema.ObjectMapperTool;
+
+/**
+ * A subset of the properties of a record, to be selected from the jsonb column.
+ *
+ * <p>The fields are JSON paths in dot notation like {@code personal.lastName}. They are
+ * validated against the record class, and {@link #getFieldName()} converts them into a
+ * jsonb_build_object SQL expression so that PostgreSQL returns only the selected properties.
+ *
+ * <p>Properties with null value are removed like the generated POJOs do when serializing
+ * them ({@code @JsonInclude(JsonInclude.Include.NON_NULL)}).
+ */
+public class FieldProjection {
+  private static final ObjectMapper MAPPER = ObjectMapperTool.getMapper();
+  private static final Pattern FIELD_NAME = Pattern.compile("[\\w$@-]+");
+
+  private final List<String> fields;
+  private final String fieldName;
+
+  /**
+   * @param clazz  the record class the fields are validated against
+   * @param fields  JSON paths in dot notation, for example {@code id} or {@code personal.lastName}
+   * @throws IllegalArgumentException  if fields is empty or if a field is invalid or doesn't exist in clazz
+   */
+  public FieldProjection(Class<?> clazz, List<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      throw new IllegalArgumentException("fields must not be empty");
+    }
+    Node root = new Node();
+    for (String field : fields) {
+      root.add(validate(clazz, field));
+    }
+    this.fields = Collections.unmodifiableList(new ArrayList<>(fields));
+    this.fieldName = "jsonb_strip_nulls(" + root.toSql(PostgresClient.DEFAULT_JSONB_FIELD_NAME) + ") AS "
+        + PostgresClient.DEFAULT_JSONB_FIELD_NAME;
+  }
+
+  /**
+   * @param clazz  the record class the fields are validated against
+   * @param fields  JSON paths in dot notation; null or empty for all fields
+   * @return the projection, or null if fields is null or empty
+   * @throws IllegalArgumentException  if a field is invalid or doesn't exist in clazz
+   */
+  public static FieldProjection of(Class<?> clazz, List<String> fields) {
+    if (fields == null || fields.isEmpty()) {
+      return null;
+    }
+    return new FieldProjection(clazz, fields);
+  }
+
+  /**
+   * The database column expression for the fieldName parameter of the
+   * PostgresClient get and streamGet methods, it returns the projection as jsonb column.
+   */
+  public String getFieldName() {
+    return fieldName;
+  }
+
+  /**
+   * The fields as passed to the constructor.
+   */
+  public List<String> getFields() {
+    return fields;
+  }
+
+  @Override
+  public String toString() {
+    return fieldName;
+  }
+
+  /**
+   * Check that each element of the field path is a property of clazz or of the property's type.
+   * Below a Map or Object property any name is accepted because there is no schema to check against.
+   *
+   * @return the path elements
+   */
+  static String [] validate(Class<?> clazz, String field) {
+    if (field == null) {
+      throw new IllegalArgumentException("field must not be null");
+    }
+    String [] path = field.split("\\.", -1);
+    JavaType type = MAPPER.constructType(clazz);
+    boolean validated = true;
+    for (String name : path) {
+      if (! FIELD_NAME.matcher(name).matches()) {
+        throw new IllegalArgumentException("Invalid field name: " + field);
+      }
+      if (! validated) {
+        continue;
+      }
+      if (type.isMapLikeType() || type.getRawClass() == Object.class) {
+        validated = false;
+        continue;
+      }
+      if (type.isCollectionLikeType() || type.isArrayType()) {
+        throw new IllegalArgumentException("Cannot select a field within an array: " + field);
+      }
+      type = propertyType(type, name);
+      if (type == null) {
+        throw new IllegalArgumentException("Unknown field: " + field);
+      }
+    }
+    return path;
+  }
+
+  private static JavaType propertyType(JavaType type, String name) {
+    for (BeanPropertyDefinition property :
+        MAPPER.getSerializationConfig().introspect(type).findProperties()) {
+      if (property.getName().equals(name)) {
+        return property.getPrimaryType();
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Tree of the selected fields; a node without children selects the complete property.
+   */
+  private static class Node {
+    private final Map<String, Node> children = new LinkedHashMap<>();
+
+    void add(String [] path) {
+      Node node = this;
+      for (String name : path) {
+        Node child = node.children.get(name);
+        if (child == null) {
+          child = new Node();
+          node.children.put(name, child);
+        } else if (child.children.isEmpty()) {
+          // complete property has already been selected
+          return;
+        }
+        node = child;
+      }
+      node.children.clear();
+    }
+
+    /**
+     * @param json  SQL expression of the jsonb value of this node
+     */
+    String toSql(String json) {
+      StringBuilder sql = new StringBuilder("jsonb_build_object(");
+      boolean first = true;
+      for (Map.Entry<String, Node> entry : children.entrySet()) {
+        if (! first) {
+          sql.append(", ");
+        }
+        first = false;
+        String key = "'" + entry.getKey() + "'";
+        String value = json + "->" + key;
+        sql.append(key).append(", ");
+        if (entry.getValue().children.isEmpty()) {
+          sql.append(value);
+        } else {
+          sql.append("CASE WHEN jsonb_typeof(").append(value).append(") = 'object' THEN ")
+          .append(entry.getValue().toSql(value)).append(" END");
+        }
+      }
+      return sql.append(')').toString();
+    }
+  }
+}
@@ -1,5 +1,6 @@
 package org.folio.rest.persist;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.vertx.core.AsyncResult;
@@ -11,6 +12,7 @@ import io.vertx.core.http.HttpHeaders;
 import io.vertx.core.http.HttpServerResponse;
 import io.vertx.core.json.Json;
 import io.vertx.ext.web.RoutingContext;
+import io.vertx.pgclient.PgConnection;
 import io.vertx.sqlclient.Row;
 import io.vertx.sqlclient.RowIterator;
 import io.vertx.sqlclient.RowSet;
@@ -29,6 +31,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.folio.dbschema.ObjectMapperTool;
+import org.folio.dbschema.Table;
 import org.folio.rest.tools.utils.MetadataUtil;
 import org.folio.rest.tools.utils.OutStream;
 import org.folio.rest.tools.utils.TenantTool;
@@ -38,6 +41,8 @@ import org.folio.cql2pgjson.CQL2PgJSON;
 import org.folio.cql2pgjson.exception.CQLFeatureUnsupportedException;
 import org.folio.cql2pgjson.exception.FieldException;
 import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.IndexedSort;
+import org.folio.cql2pgjson.model.SortKey;
 import org.folio.rest.persist.cql.CQLWrapper;
 import org.folio.rest.jaxrs.model.Errors;
 import org.folio.rest.jaxrs.resource.support.ResponseDelegate;
@@ -502,6 +507,43 @@ public final class PgUtil {
     return collection;
   }
 
+  /**
+   * The JSON property name of the list of the collection class, for example "users".
+   * This is the {@link JsonProperty} value of the list setter, or the setter name
+   * without "set" with decapitalized first letter.
+   */
+  static <C> String collectionElement(Class<C> collectionClazz) throws NoSuchMethodException {
+    Method setList = getListSetter(collectionClazz);
+    JsonProperty jsonProperty = setList.getAnnotation(JsonProperty.class);
+    if (jsonProperty != null && ! jsonProperty.value().isEmpty()) {
+      return jsonProperty.value();
+    }
+    return StringUtils.uncapitalize(setList.getName().substring(3));
+  }
+
+  /**
+   * Splice the JSON texts into a collection JSON like {"users":[...],"totalRecords":5}.
+   */
+  static String collectionJson(String element, List<String> jsonTexts, Integer totalRecords) {
+    int length = element.length() + 40;
+    for (String jsonText : jsonTexts) {
+      length += jsonText.length() + 1;
+    }
+    StringBuilder json = new StringBuilder(length);
+    json.append("{\"").append(element).append("\":[");
+    for (int i = 0; i < jsonTexts.size(); i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append(jsonTexts.get(i));
+    }
+    json.append(']');
+    if (totalRecords != null) {
+      json.append(",\"totalRecords\":").append(totalRecords);
+    }
+    return json.append('}').toString();
+  }
+
   private static void streamTrailer(HttpServerResponse response, ResultInfo resultInfo) {
     response.write("],\n");
     if (resultInfo.getTotalRecords() != null) {
@@ -736,9 +778,34 @@ public final class PgUtil {
       int queryTimeout, RoutingContext routingContext, Map<String, String> okapiHeaders,
       Context vertxContext) {
 
+    streamGet(table, clazz, filter, null, facetList, element, queryTimeout,
+        routingContext, okapiHeaders, vertxContext);
+  }
+
+  /**
+   * streamGet that takes CQLWrapper, FieldProjection and FacetField List
+   * @param <T>
+   * @param table
+   * @param clazz
+   * @param filter
+   * @param projection the fields to return, null for all fields
+   * @param facetList
+   * @param element
+   * @param queryTimeout query timeout in milliseconds, or 0 for no timeout
+   * @param okapiHeaders
+   * @param vertxContext
+   * @param routingContext
+   */
+  @SuppressWarnings("squid:S107")     // Method has >7 parameters
+  public static <T> void streamGet(String table, Class<T> clazz,
+      CQLWrapper filter, FieldProjection projection, List<FacetField> facetList, String element,
+      int queryTimeout, RoutingContext routingContext, Map<String, String> okapiHeaders,
+      Context vertxContext) {
+
     HttpServerResponse response = routingContext.response();
     PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
-    postgresClient.streamGet(table, clazz, JSON_COLUMN, filter, true, null,
+    String fieldName = projection == null ? JSON_COLUMN : projection.getFieldName();
+    postgresClient.streamGet(table, clazz, fieldName, filter, true, null,
       facetList, queryTimeout, reply -> {
         if (reply.failed()) {
           String message = PgExceptionUtil.badRequestMessage(reply.cause());
@@ -853,11 +920,65 @@ public final class PgUtil {
       Map<String, String> okapiHeaders, Context vertxContext,
       Class<? extends ResponseDelegate> responseDelegateClass) {
 
+    return get(table, clazz, collectionClazz, cql, hasTotalRecords, offset, limit, null,
+        okapiHeaders, vertxContext, responseDelegateClass);
+  }
+
+  /**
+   * Get the selected fields of records by CQL.
+   *
+   * <p>Only the fields are fetched from the database, the other properties of the
+   * records are not set. A field that is not in the schema of clazz results in a 400 response.
+   *
+   * @param table  the table that contains the records
+   * @param clazz  the class of the record type T
+   * @param collectionClazz  the class of the collection type C containing records of type T
+   * @param cql  the CQL query for filtering and sorting the records
+   * @param hasTotalRecords how to calculate totalRecords
+   * @param offset number of records to skip, use 0 or negative number for not skipping
+   * @param limit maximum number of records to return, use a negative number for no limit
+   * @param fields  JSON paths in dot notation of the properties to return, for example
+   *    {@code personal.lastName}; null or empty list to return all properties
+   * @param okapiHeaders  http headers provided by okapi
+   * @param vertxContext  the current context
+   * @param responseDelegateClass  the ResponseDelegate class generated as defined by the RAML file,
+   *    must have these methods: respond200(C), respond400WithTextPlain(Object), respond500WithTextPlain(Object).
+   * @return future  where to return the result created by the responseDelegateClass
+   * @see FieldProjection
+   */
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  public static <T, C> Future<Response> get(String table, Class<T> clazz, Class<C> collectionClazz,
+      String cql, String hasTotalRecords, int offset, int limit, List<String> fields,
+      Map<String, String> okapiHeaders, Context vertxContext,
+      Class<? extends ResponseDelegate> responseDelegateClass) {
+
+    final FieldProjection projection;
+    try {
+      projection = FieldProjection.of(clazz, fields);
+    } catch (IllegalArgumentException e) {
+      logger.error(e.getMessage(), e);
+      try {
+        Method respond400 = responseDelegateClass.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+        Method respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+        return response(e.getMessage(), respond400, respond500);
+      } catch (Exception e2) {
+        logger.error(e2.getMessage(), e2);
+        return response(e2.getMessage(), null, null);
+      }
+    }
+
     try {
       CQL2PgJSON cql2pgJson = new CQL2PgJSON(table + "." + JSON_COLUMN);
       CQLWrapper cqlWrapper = new CQLWrapper(cql2pgJson, cql, limit, offset, hasTotalRecords);
       PreparedCQL preparedCql = new PreparedCQL(table, cqlWrapper, okapiHeaders);
-      return get(preparedCql, clazz, collectionClazz, okapiHeaders, vertxContext, responseDelegateClass);
+      if (projection == null) {
+        Future<Response> optimized = getWithIndexSort(preparedCql, clazz, collectionClazz, offset, limit, 0,
+            okapiHeaders, vertxContext, responseDelegateClass);
+        if (optimized != null) {
+          return optimized;
+        }
+      }
+      return get(preparedCql, clazz, collectionClazz, projection, okapiHeaders, vertxContext, responseDelegateClass);
     } catch (Exception e) {
       logger.error(e.getMessage(), e);
       final Method respond500;
@@ -876,6 +997,14 @@ public final class PgUtil {
       Map<String, String> okapiHeaders, Context vertxContext,
       Class<? extends ResponseDelegate> responseDelegateClass) {
 
+    return get(preparedCql, clazz, collectionClazz, null, okapiHeaders, vertxContext, responseDelegateClass);
+  }
+
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  static <T, C> Future<Response> get(PreparedCQL preparedCql, Class<T> clazz, Class<C> collectionClazz,
+      FieldProjection projection, Map<String, String> okapiHeaders, Context vertxContext,
+      Class<? extends ResponseDelegate> responseDelegateClass) {
+
     final Method respond500;
     try {
       respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
@@ -893,7 +1022,7 @@ public final class PgUtil {
       PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
       CQLWrapper cqlWrapper = preparedCql.getCqlWrapper();
       boolean returnCount = cqlWrapper.hasReturnCount();
-      postgresClient.get(preparedCql.getTableName(), clazz, cqlWrapper, returnCount, reply -> {
+      postgresClient.getProjected(preparedCql.getTableName(), clazz, projection, cqlWrapper, returnCount).onComplete(reply -> {
         try {
           if (reply.failed()) {
             String message = PgExceptionUtil.badRequestMessage(reply.cause());
@@ -919,6 +1048,67 @@ public final class PgUtil {
     }
   }
 
+  /**
+   * Get records by CQL and pass their jsonb through without deserialization and serialization.
+   *
+   * <p>The database returns the jsonb as text, the texts are spliced into the collection JSON
+   * like {"users":[...],"totalRecords":5} that is returned as String entity. Use this
+   * instead of {@link #get(String, Class, Class, String, String, int, int, Map, Context, Class)}
+   * if the records are returned unchanged; it doesn't remove fields that are not in the
+   * record's schema and doesn't return resultInfo.
+   *
+   * @param table  the table that contains the records
+   * @param collectionClazz  the class of the collection type C, its list setter provides the
+   *    JSON property name of the list
+   * @param cql  the CQL query for filtering and sorting the records
+   * @param hasTotalRecords how to calculate totalRecords
+   * @param offset number of records to skip, use 0 or negative number for not skipping
+   * @param limit maximum number of records to return, use a negative number for no limit
+   * @param okapiHeaders  http headers provided by okapi
+   * @param vertxContext  the current context
+   * @param responseDelegateClass  the ResponseDelegate class generated as defined by the RAML file,
+   *    must have these methods: respond400WithTextPlain(Object), respond500WithTextPlain(Object).
+   * @return future  where to return the result
+   */
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  public static <C> Future<Response> getJsonText(String table, Class<C> collectionClazz,
+      String cql, String hasTotalRecords, int offset, int limit,
+      Map<String, String> okapiHeaders, Context vertxContext,
+      Class<? extends ResponseDelegate> responseDelegateClass) {
+
+    final Method respond500;
+    try {
+      respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+    } catch (Exception e) {
+      logger.error(e.getMessage(), e);
+      return response(e.getMessage(), null, null);
+    }
+
+    try {
+      Method respond400 = responseDelegateClass.getMethod(RESPOND_400_WITH_TEXT_PLAIN, Object.class);
+      String element = collectionElement(collectionClazz);
+      CQL2PgJSON cql2pgJson = new CQL2PgJSON(table + "." + JSON_COLUMN);
+      CQLWrapper cqlWrapper = new CQLWrapper(cql2pgJson, cql, limit, offset, hasTotalRecords);
+      PostgresClient postgresClient = PgUtil.postgresClient(vertxContext, okapiHeaders);
+      return postgresClient.getJsonText(table, cqlWrapper, cqlWrapper.hasReturnCount())
+          .map(results -> Response.status(200)
+              .header(HttpHeaders.CONTENT_TYPE.toString(), "application/json")
+              .entity(collectionJson(element, results.getResults(), results.getResultInfo().getTotalRecords()))
+              .build())
+          .recover(e -> {
+            String message = PgExceptionUtil.badRequestMessage(e);
+            if (message == null) {
+              message = e.getMessage();
+            }
+            logger.error(message, e);
+            return response(message, respond400, respond500);
+          });
+    } catch (Exception e) {
+      logger.error(e.getMessage(), e);
+      return response(e.getMessage(), respond500, respond500);
+    }
+  }
+
   /**
    * Delete records by CQL.
    * @param table  the table that contains the records
@@ -1485,14 +1675,18 @@ public final class PgUtil {
     return PostgresClient.getInstance(vertxContext.owner(), TenantTool.tenantId(okapiHeaders));
   }
 
-  /** Number of records to read from the sort index in getWithOptimizedSql method */
+  /**
+   * Number of records to read from the sort index in getWithOptimizedSql method and the get methods,
+   * the optimizedSqlSize of a table in schema.json overrides it.
+   */
   public static int getOptimizedSqlSize() {
     return optimizedSqlSize;
   }
 
   /**
-   * Set the number of records the getWithOptimizedSql methode uses from the sort index.
-   * @param size the new size
+   * Set the number of records the getWithOptimizedSql method and the get methods use from the sort index
+   * if the table in schema.json doesn't set optimizedSqlSize.
+   * @param size the new size, 0 disables the optimization
    */
   public static void setOptimizedSqlSize(int size) {
     optimizedSqlSize = size;
@@ -1613,6 +1807,22 @@ public final class PgUtil {
       Map<String, String> okapiHeaders, Context vertxContext,
       Class<? extends ResponseDelegate> responseDelegateClass) {
 
+    return getWithOptimizedSql(null, table, clazz, collectionClazz, sortField, cql, offset, limit, queryTimeout,
+        okapiHeaders, vertxContext, responseDelegateClass);
+  }
+
+  /**
+   * Same as {@link #getWithOptimizedSql(String, Class, Class, String, String, int, int, int, Map, Context, Class)}
+   * with the indexes of the dbSchemaPath schema.json.
+   *
+   * @param dbSchemaPath  the schema.json resource, null for the default templates/db_scripts/schema.json
+   */
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  static <T, C> Future<Response> getWithOptimizedSql(String dbSchemaPath, String table,
+      Class<T> clazz, Class<C> collectionClazz, String sortField, String cql, int offset, int limit,
+      int queryTimeout, Map<String, String> okapiHeaders, Context vertxContext,
+      Class<? extends ResponseDelegate> responseDelegateClass) {
+
     final Method respond500;
     try {
       respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
@@ -1633,9 +1843,21 @@ public final class PgUtil {
 
     try {
       CQL2PgJSON cql2pgJson = new CQL2PgJSON(table + "." + JSON_COLUMN);
+      if (dbSchemaPath != null) {
+        cql2pgJson.setDbSchemaPath(dbSchemaPath);
+      }
       CQLWrapper cqlWrapper = new CQLWrapper(cql2pgJson, cql, limit, offset);
       PreparedCQL preparedCql = new PreparedCQL(table, cqlWrapper, okapiHeaders);
+      // the SQL of the sortField optimization has the count column
       String sql = generateOptimizedSql(sortField, preparedCql, offset, limit);
+      PostgresClient.QueryHelper count = null;
+      if (sql == null) {
+        OptimizedSql optimizedSql = indexSortSql(preparedCql, offset, limit);
+        if (optimizedSql != null) {
+          sql = optimizedSql.sql;
+          count = optimizedSql.count;
+        }
+      }
       if (sql == null) {
         // the cql is not suitable for optimization, generate simple sql
         return get(preparedCql, clazz, collectionClazz,
@@ -1643,24 +1865,8 @@ public final class PgUtil {
       }
 
       logger.info("Optimized SQL generated. Source CQL: " + cql);
-      Promise<Response> promise = Promise.promise();
-      PostgresClient postgresClient = postgresClient(vertxContext, okapiHeaders);
-      postgresClient.select(sql, queryTimeout, reply -> {
-        try {
-          if (reply.failed()) {
-            Throwable cause = reply.cause();
-            logger.error("Optimized SQL failed: " + cause.getMessage() + ": " + sql, cause);
-            response(cause.getMessage(), respond500, respond500).onComplete(promise);
-            return;
-          }
-          C collection = collection(clazz, collectionClazz, reply.result(), offset, limit);
-          response(collection, respond200, respond500).onComplete(promise);
-        } catch (Exception e) {
-          logger.error(e.getMessage(), e);
-          response(e.getMessage(), respond500, respond500).onComplete(promise);
-        }
-      });
-      return promise.future();
+      return getOptimized(sql, count, clazz, collectionClazz, offset, limit, queryTimeout,
+          okapiHeaders, vertxContext, respond200, respond500);
     } catch (FieldException | QueryValidationException e) {
       logger.error(e.getMessage(), e);
       return response(e.getMessage(), respond400, respond500);
@@ -1670,10 +1876,77 @@ public final class PgUtil {
     }
   }
 
-  private static <T, C> C collection(Class<T> clazz, Class<C> collectionClazz, RowSet<Row> resultSet, int offset, int limit)
+  /**
+   * Run the CQL query using the optimized SQL of {@link #indexSortSql(PreparedCQL, int, int)}
+   * if the first sortBy key has a b-tree index.
+   *
+   * @return the future response, or null if the query is not suitable for optimization
+   */
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  private static <T, C> Future<Response> getWithIndexSort(PreparedCQL preparedCql,
+      Class<T> clazz, Class<C> collectionClazz, int offset, int limit, int queryTimeout,
+      Map<String, String> okapiHeaders, Context vertxContext,
+      Class<? extends ResponseDelegate> responseDelegateClass) {
+
+    OptimizedSql optimizedSql;
+    Method respond200;
+    Method respond500;
+    try {
+      optimizedSql = indexSortSql(preparedCql, offset, limit);
+      if (optimizedSql == null) {
+        return null;
+      }
+      respond200 = responseDelegateClass.getMethod(RESPOND_200_WITH_APPLICATION_JSON, collectionClazz);
+      respond500 = responseDelegateClass.getMethod(RESPOND_500_WITH_TEXT_PLAIN, Object.class);
+    } catch (Exception e) {
+      // get(PreparedCQL, ...) reports invalid CQL and missing response methods
+      logger.debug(e.getMessage(), e);
+      return null;
+    }
+    return getOptimized(optimizedSql.sql, optimizedSql.count, clazz, collectionClazz, offset, limit, queryTimeout,
+        okapiHeaders, vertxContext, respond200, respond500);
+  }
+
+  /**
+   * @param count  how to get totalRecords using the count cache of the PostgresClient,
+   *     null to take it from the count column of sql
+   */
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  private static <T, C> Future<Response> getOptimized(String sql, PostgresClient.QueryHelper count,
+      Class<T> clazz, Class<C> collectionClazz, int offset, int limit, int queryTimeout,
+      Map<String, String> okapiHeaders, Context vertxContext, Method respond200, Method respond500) {
+
+    PostgresClient postgresClient = postgresClient(vertxContext, okapiHeaders);
+    return postgresClient.withReadConn(queryTimeout, conn -> {
+      PgConnection pgConnection = conn.getPgConnection();
+      Future<Integer> totalRecords = count == null
+          ? Future.succeededFuture() : postgresClient.count(pgConnection, count);
+      return totalRecords.compose(total -> pgConnection.query(sql).execute()
+          .map(rowSet -> {
+            try {
+              return collection(clazz, collectionClazz, rowSet, count == null, total, offset, limit);
+            } catch (ReflectiveOperationException | IOException e) {
+              throw new IllegalStateException(e.getMessage(), e);
+            }
+          }));
+    })
+    .compose(collection -> response(collection, respond200, respond500),
+        e -> {
+          logger.error("Optimized SQL failed: " + e.getMessage() + ": " + sql, e);
+          return response(e.getMessage(), respond500, respond500);
+        });
+  }
+
+  /**
+   * @param countColumn  whether to take totalRecords from the count column of resultSet
+   * @param count  totalRecords if countColumn is false
+   */
+  @SuppressWarnings({"squid:S107"})     // Method has >7 parameters
+  private static <T, C> C collection(Class<T> clazz, Class<C> collectionClazz, RowSet<Row> resultSet,
+      boolean countColumn, Integer count, int offset, int limit)
       throws ReflectiveOperationException, IOException {
 
-    int totalRecords = 0;
+    Integer totalRecords = countColumn ? 0 : count;
     int resultSize = resultSet.size();
     List<T> recordList = new ArrayList<>(resultSize);
     RowIterator<Row> iterator = resultSet.iterator();
@@ -1681,7 +1954,9 @@ public final class PgUtil {
       Row row = iterator.next();
       String jsonb = row.getValue(JSON_COLUMN).toString();
       recordList.add(OBJECT_MAPPER.readValue(jsonb, clazz));
-      totalRecords = row.getInteger(PostgresClient.COUNT_FIELD);
+      if (countColumn) {
+        totalRecords = row.getInteger(PostgresClient.COUNT_FIELD);
+      }
     }
     totalRecords = PostgresClient.getTotalRecords(resultSize, totalRecords, offset, limit);
     return collection(collectionClazz, recordList, totalRecords);
@@ -1724,6 +1999,10 @@ public final class PgUtil {
     if (limit == 0) {
       return null;
     }
+    int size = getOptimizedSqlSize(preparedCql.getCqlWrapper().getField().getDbTable());
+    if (size <= 0) {
+      return null;
+    }
     String cql = preparedCql.getCqlWrapper().getQuery();
     CQLSortNode cqlSortNode = checkOptimizedCQL(cql, column);
     if (cqlSortNode == null) {
@@ -1768,7 +2047,7 @@ public final class PgUtil {
         + "             ( SELECT " + cutWrappedColumn
         + "               FROM " + tableName
         + "               ORDER BY " + cutWrappedColumn + ascDesc
-        + "               OFFSET " + optimizedSqlSize + " LIMIT 1"
+        + "               OFFSET " + size + " LIMIT 1"
         + "             )"
         + "   ORDER BY " + cutWrappedColumn + ascDesc
         + "   LIMIT " + limit + " OFFSET " + offset
@@ -1794,6 +2073,127 @@ public final class PgUtil {
     return sql;
   }
 
+  /**
+   * SQL of {@link #indexSortSql(PreparedCQL, int, int)} and the count query for totalRecords.
+   */
+  static final class OptimizedSql {
+    final String sql;
+    /** how to calculate totalRecords, null if not requested */
+    final PostgresClient.QueryHelper count;
+
+    OptimizedSql(String sql, PostgresClient.QueryHelper count) {
+      this.sql = sql;
+      this.count = count;
+    }
+  }
+
+  /**
+   * Generate optimized SQL if the first sortBy key of the CQL query can be read in sort order
+   * from a b-tree index declared in schema.json, see {@link CQL2PgJSON#toIndexedSort(String)}.
+   * Any number of sort keys and both sort directions are supported.
+   *
+   * <p>This scans the sort index until the table's optimizedSqlSize from schema.json
+   * (default {@link #getOptimizedSqlSize()}) index entries have been read. If these contain
+   * enough matching records we are done, otherwise it assumes that there are only a few
+   * matching records and uses the indexes of the WHERE clause and sorts afterwards.
+   *
+   * <p>The SQL returns NULL in the count column, totalRecords must be calculated by
+   * {@link OptimizedSql#count} that uses the count cache of the {@link PostgresClient}.
+   * The CQL query is translated only once: the WHERE clause of
+   * {@link CQL2PgJSON#toIndexedSort(String)} is used both for the records and for the count.
+   *
+   * @param preparedCql  the cql query
+   * @param offset  start index of objects to return
+   * @param limit  max number of objects to return
+   * @return the optimized SQL, or null if the CQL query is not suitable for optimization
+   * @throws QueryValidationException  on invalid CQL
+   */
+  static OptimizedSql indexSortSql(PreparedCQL preparedCql, int offset, int limit)
+      throws QueryValidationException {
+
+    if (limit <= 0) {
+      return null;
+    }
+    CQLWrapper cqlWrapper = preparedCql.getCqlWrapper();
+    CQL2PgJSON cql2pgJson = cqlWrapper.getField();
+    if (cql2pgJson == null || cqlWrapper.getQuery() == null) {
+      return null;
+    }
+    int size = getOptimizedSqlSize(cql2pgJson.getDbTable());
+    if (size <= 0) {
+      return null;
+    }
+    IndexedSort indexedSort = cql2pgJson.toIndexedSort(cqlWrapper.getQuery());
+    if (indexedSort == null) {
+      return null;
+    }
+
+    String tableName = preparedCql.getFullTableName();
+    String where = indexedSort.getWhere();
+    SortKey indexKey = indexedSort.getIndexKey();
+    StringBuilder columns = new StringBuilder();
+    StringBuilder orderBy = new StringBuilder();
+    List<SortKey> sortKeys = indexedSort.getSortKeys();
+    for (int i = 0; i < sortKeys.size(); i++) {
+      SortKey sortKey = sortKeys.get(i);
+      columns.append(", ").append(sortKey.getExpression()).append(" AS sort").append(i);
+      if (i > 0) {
+        orderBy.append(", ");
+      }
+      orderBy.append("sort").append(i).append(sortKey.isDescending() ? " DESC" : "");
+    }
+    String key = indexKey.getExpression();
+    String limitRecord = "(SELECT " + key + " FROM " + tableName
+        + " ORDER BY " + key + (indexKey.isDescending() ? " DESC" : "")
+        + " OFFSET " + size + " LIMIT 1)";
+    // DESC sorts NULL first, this is the beginning of the index
+    String beforeLimit = indexKey.isDescending()
+        ? "(" + key + " > " + limitRecord + " OR " + key + " IS NULL)"
+        : key + " < " + limitRecord;
+    PostgresClient.QueryHelper count = null;
+    if (cqlWrapper.hasReturnCount()) {
+      // count query like PostgresClient.buildQueryHelper, cached by PostgresClient.count
+      String innerSql = "SELECT jsonb FROM " + tableName + " WHERE " + where;
+      count = new PostgresClient.QueryHelper(preparedCql.getTableName());
+      count.countQuery = "SELECT " + preparedCql.getSchemaName() + ".count_estimate('"
+          + innerSql.replace("'", "''") + "')";
+      count.cacheCount = true;
+    }
+    // "headrecords" are the matching records within the first size entries of the
+    // sort index. If these are enough to return the requested "LIMIT" number of records
+    // we are done. Otherwise "allrecords" uses the indexes of the WHERE clause to find
+    // all matching records and does sorting and LIMIT afterwards.
+    String sql =
+        "WITH headrecords AS ("
+        + " SELECT jsonb" + columns + " FROM " + tableName
+        + " WHERE (" + where + ") AND " + beforeLimit
+        + " ORDER BY " + orderBy
+        + " LIMIT " + limit + " OFFSET " + offset
+        + "), allrecords AS ("
+        + " SELECT jsonb" + columns + " FROM " + tableName
+        + " WHERE (" + where + ") AND (SELECT COUNT(*) FROM headrecords) < " + limit
+        + ")"
+        + " SELECT jsonb, NULL::integer AS count FROM ("
+        + " SELECT * FROM headrecords WHERE (SELECT COUNT(*) FROM headrecords) >= " + limit
+        + " UNION ALL"
+        + " (SELECT * FROM allrecords ORDER BY " + orderBy + " LIMIT " + limit + " OFFSET " + offset + ")"
+        + ") AS records ORDER BY " + orderBy;
+
+    logger.info("optimized SQL generated from CQL: {}", sql);
+    return new OptimizedSql(sql, count);
+  }
+
+  /**
+   * @param table  the schema.json table, may be null
+   * @return the optimizedSqlSize of the table if set, otherwise {@link #getOptimizedSqlSize()}
+   */
+  static int getOptimizedSqlSize(Table table) {
+    if (table == null || table.getOptimizedSqlSize() == null) {
+      return optimizedSqlSize;
+    }
+    return table.getOptimizedSqlSize();
+  }
+
   static class PreparedCQL {
     private final String tableName;
     private final String fullTableName;
@@ -42,6 +42,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
@@ -60,6 +61,7 @@ import org.folio.rest.persist.facets.FacetField;
 import org.folio.rest.persist.facets.FacetManager;
 import org.folio.rest.persist.interfaces.Results;
 import org.folio.rest.security.AES;
+import org.folio.rest.tools.utils.CancellationToken;
 import org.folio.rest.tools.utils.Envs;
 import org.folio.rest.tools.utils.MetadataUtil;
 import org.folio.dbschema.ObjectMapperTool;
@@ -74,12 +76,23 @@ public class PostgresClient {
 
   public static final String     DEFAULT_SCHEMA           = "public";
   public static final String     DEFAULT_JSONB_FIELD_NAME = "jsonb";
+  /** select expression that returns the jsonb column as JSON text */
+  static final String            JSON_TEXT_FIELD_NAME     = DEFAULT_JSONB_FIELD_NAME + "::text";
 
   static Logger log = LogManager.getLogger(PostgresClient.class);
+  private static final AtomicInteger CONNECTION_WAITERS = new AtomicInteger();
+  /** tenantId to the number of its {@link #getConnection(PgPool)} invocations waiting for a connection */
+  private static final Map<String, AtomicInteger> TENANT_CONNECTION_WAITERS = new ConcurrentHashMap<>();
 
   /** default analyze threshold value in milliseconds */
   static final long              EXPLAIN_QUERY_THRESHOLD_DEFAULT = 1000;
 
+  /** default number of table rows below which an unfiltered totalRecords is counted exactly */
+  static final long              TABLE_ESTIMATE_THRESHOLD_DEFAULT = 1000;
+
+  /** default time to live of a cached totalRecords count in milliseconds */
+  static final long              COUNT_CACHE_TTL_DEFAULT = 10000;
+
   static final String            COUNT_FIELD = "count";
 
   static final int               STREAM_GET_DEFAULT_CHUNK_SIZE = 100;
@@ -160,10 +173,17 @@ public class PostgresClient {
   private static final Pattern POSTGRES_COPY_FROM_STDIN =
       // \\b = a word boundary
       Pattern.compile("^\\s*COPY\\b.*\\bFROM\\s+STDIN\\b.*", Pattern.CASE_INSENSITIVE);
+  private static final Pattern SQL_IDENTIFIER = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
 
   /** analyze threshold value in milliseconds */
   private static long explainQueryThreshold = EXPLAIN_QUERY_THRESHOLD_DEFAULT;
 
+  /** number of table rows below which an unfiltered totalRecords is counted exactly */
+  private static long tableEstimateThreshold = TABLE_ESTIMATE_THRESHOLD_DEFAULT;
+
+  /** time to live of a cached totalRecords count in milliseconds, 0 to disable caching */
+  private static long countCacheTtl = COUNT_CACHE_TTL_DEFAULT;
+
   private final Vertx vertx;
   private JsonObject postgreSQLClientConfig = null;
   /**
@@ -177,6 +197,7 @@ public class PostgresClient {
   private PgPool readClient;
   private final String tenantId;
   private final String schemaName;
+  private final CountCache countCache = new CountCache();
 
   protected PostgresClient(Vertx vertx, String tenantId) throws Exception {
     this.tenantId = tenantId;
@@ -297,6 +318,22 @@ public class PostgresClient {
     return explainQueryThreshold;
   }
 
+  static void setTableEstimateThreshold(long rows) {
+    tableEstimateThreshold = rows;
+  }
+
+  static long getTableEstimateThreshold() {
+    return tableEstimateThreshold;
+  }
+
+  static void setCountCacheTtl(long ms) {
+    countCacheTtl = ms;
+  }
+
+  static long getCountCacheTtl() {
+    return countCacheTtl;
+  }
+
   /**
    * Instance for the tenantId from CONNECTION_POOL, or created and
    * added to CONNECTION_POOL.
@@ -648,6 +685,14 @@ public class PostgresClient {
     if (v instanceof Long) {
       PostgresClient.setExplainQueryThreshold((Long) v);
     }
+    v = config.remove(Envs.DB_TABLE_ESTIMATE_THRESHOLD.name());
+    if (v instanceof Long) {
+      PostgresClient.setTableEstimateThreshold((Long) v);
+    }
+    v = config.remove(Envs.DB_COUNT_CACHE_TTL.name());
+    if (v instanceof Long) {
+      PostgresClient.setCountCacheTtl((Long) v);
+    }
     sharedPgPool |= config.containsKey(MAX_SHARED_POOL_SIZE);
     if (tenantId.equals(DEFAULT_SCHEMA) || sharedPgPool) {
       config.put(PASSWORD, decodePassword( config.getString(PASSWORD) ));
@@ -791,7 +836,13 @@ public class PostgresClient {
         done.handle(Future.failedFuture(trans.cause()));
         return;
       }
-      trans.result().tx.commit(res -> finalizeTx(res, trans.result().conn, done));
+      SQLConnection connection = trans.result();
+      connection.tx.commit(res -> {
+        if (connection.commit != null) {
+          completeCommit(connection.commit, res);
+        }
+        finalizeTx(res, connection.conn, done);
+      });
     } catch (Exception e) {
       done.handle(Future.failedFuture(e));
     }
@@ -1770,6 +1821,8 @@ public class PostgresClient {
     String table;
     String selectQuery;
     String countQuery;
+    /** whether the result of countQuery may be taken from {@link PostgresClient#countCache} */
+    boolean cacheCount;
     int offset;
     int limit;
     public QueryHelper(String table) {
@@ -2006,8 +2059,7 @@ public class PostgresClient {
 
       Future<Integer> countQuery;
       if (wrapper == null || wrapper.hasReturnCount()) {
-        countQuery = connection.query(queryHelper.countQuery).execute()
-            .map(result -> result.iterator().next().getInteger(0));
+        countQuery = count(connection, queryHelper);
       } else {
         countQuery = Future.succeededFuture(null);
       }
@@ -2215,20 +2267,85 @@ public class PostgresClient {
       queryHelper.countQuery = SELECT + schemaName + DOT + "count_estimate('"
         + query.replace("'", "''")
         + "')";
+      queryHelper.cacheCount = true;
+    } else if (distinctOnClause.isEmpty() && !"exact".equals(wrapper.hasTotalRecords())
+        && SQL_IDENTIFIER.matcher(table).matches()) {
+      // no filter: use the table statistics instead of a full table scan
+      queryHelper.countQuery = tableCountQuery(table);
+      queryHelper.cacheCount = true;
     }
     return queryHelper;
   }
 
+  /**
+   * SQL that returns the number of records of the table. This is the estimation from the
+   * table statistics (pg_class.reltuples, pg_stat_user_tables.n_live_tup) if that is
+   * at least {@link #tableEstimateThreshold}, otherwise the exact count.
+   *
+   * @param table  table name without schema
+   */
+  String tableCountQuery(String table) {
+    String schemaTable = schemaName + DOT + table;
+    return SELECT + "CASE WHEN estimate < " + tableEstimateThreshold
+        + " THEN (SELECT COUNT(*) FROM " + schemaTable + ") ELSE estimate END"
+        + " FROM (SELECT GREATEST(c.reltuples, COALESCE(s.n_live_tup, -1))::bigint AS estimate"
+        + " FROM pg_class c LEFT JOIN pg_stat_user_tables s ON s.relid = c.oid"
+        + " WHERE c.oid = '" + schemaTable + "'::regclass) x";
+  }
+
+  /**
+   * Run queryHelper.countQuery, or take the result from the cache if queryHelper.cacheCount is set.
+   *
+   * @return the count
+   */
+  Future<Integer> count(PgConnection connection, QueryHelper queryHelper) {
+    if (! queryHelper.cacheCount) {
+      return connection.query(queryHelper.countQuery).execute()
+          .map(result -> result.iterator().next().getInteger(0));
+    }
+    Integer cachedCount = countCache.get(queryHelper.countQuery);
+    if (cachedCount != null) {
+      log.debug("Using cached count {} for {}", cachedCount, queryHelper.countQuery);
+      return Future.succeededFuture(cachedCount);
+    }
+    long generation = countCache.generation(queryHelper.table);
+    return connection.query(queryHelper.countQuery).execute()
+        .map(result -> {
+          Integer count = result.iterator().next().getInteger(0);
+          if (count != null) {
+            countCache.put(queryHelper.table, queryHelper.countQuery, generation, count, countCacheTtl);
+          }
+          return count;
+        });
+  }
+
+  /**
+   * Invalidate the cached counts of the table, see {@link #count(PgConnection, QueryHelper)}.
+   * Invoke this after each write to the table.
+   *
+   * @param table  table name without schema
+   */
+  void invalidateCount(String table) {
+    countCache.invalidate(table);
+  }
+
+  /**
+   * Invalidate all cached counts, see {@link #count(PgConnection, QueryHelper)}.
+   * Invoke this after each SQL statement that may write to any table.
+   */
+  void invalidateAllCounts() {
+    countCache.invalidateAll();
+  }
+
   <T> Future<T> processQueryWithCount(
       PgConnection connection, QueryHelper queryHelper, String statMethod,
       Function<TotaledResults, T> resultSetMapper) {
     long start = log.isDebugEnabled() ? System.nanoTime() : 0;
 
     log.debug("Attempting count query: " + queryHelper.countQuery);
-    return connection.query(queryHelper.countQuery).execute()
-    .compose(countQueryResult -> {
+    return count(connection, queryHelper)
+    .compose(estimatedTotal -> {
       log.debug(() -> "timer: get " + queryHelper.countQuery + " " + (System.nanoTime() - start) + " ns");
-      int estimatedTotal = countQueryResult.iterator().next().getInteger(0);
       return Future.<T>future(promise -> processQuery(connection, queryHelper, estimatedTotal, statMethod, resultSetMapper, promise));
     })
     .onFailure(e -> log.error("query with count: {} - {}", e.getMessage(), queryHelper.countQuery, e));
@@ -2408,6 +2525,35 @@ public class PostgresClient {
     return withConn(conn -> conn.get(table, clazz, filter, returnCount));
   }
 
+  /**
+   * Return the selected fields of the records that match the {@link CQLWrapper} filter.
+   * @param table - table to query
+   * @param clazz - class of objects to be returned
+   * @param projection - the fields to return, null for all fields
+   * @param filter - which records to match
+   * @param returnCount - whether to calculate totalRecords
+   *            (the number of records that match when disabling offset and limit)
+   * @return {@link Results} with the entities found, only the fields of the projection are set
+   */
+  public <T> Future<Results<T>> getProjected(String table, Class<T> clazz, FieldProjection projection,
+      CQLWrapper filter, boolean returnCount) {
+    String fieldName = projection == null ? DEFAULT_JSONB_FIELD_NAME : projection.getFieldName();
+    return withReadConn(conn -> conn.get(table, clazz, fieldName, filter, returnCount, true, null, null));
+  }
+
+  /**
+   * Return the jsonb of the records that match the {@link CQLWrapper} filter as JSON text,
+   * without parsing and deserializing it.
+   * @param table - table to query
+   * @param filter - which records to match
+   * @param returnCount - whether to calculate totalRecords
+   *            (the number of records that match when disabling offset and limit)
+   * @return {@link Results} with the JSON text of the records found
+   */
+  public Future<Results<String>> getJsonText(String table, CQLWrapper filter, boolean returnCount) {
+    return withReadConn(conn -> conn.getJsonText(table, filter, returnCount));
+  }
+
   /**
    * Return records that match the {@link CQLWrapper} filter.
    * @param table - table to query
@@ -2885,6 +3031,34 @@ public class PostgresClient {
     return results;
   }
 
+  /**
+   * Collect the first column of each row as String.
+   *
+   * @param rs  rows with the JSON text in the first column
+   * @param total  totalRecords estimation, may be null
+   * @param offset  the offset that has been used for the query
+   * @param limit  the limit that has been used for the query
+   * @return the JSON text list with totalRecords
+   */
+  Results<String> processJsonTextResults(RowSet<Row> rs, Integer total, int offset, int limit) {
+    long start = System.nanoTime();
+
+    List<String> list = new ArrayList<>(rs.size());
+    for (Row row : rs) {
+      list.add(row.getString(0));
+    }
+
+    ResultInfo resultInfo = new ResultInfo();
+    resultInfo.setTotalRecords(getTotalRecords(list.size(), total, offset, limit));
+
+    Results<String> results = new Results<>();
+    results.setResults(list);
+    results.setResultInfo(resultInfo);
+
+    statsTracker(PROCESS_RESULTS_STAT_METHOD, "String", start);
+    return results;
+  }
+
   /**
    *
    * @param resultsHelper
@@ -3480,6 +3654,23 @@ public class PostgresClient {
     return execute(sql, Tuple.tuple());
   }
 
+  /**
+   * The number of {@link #getConnection(PgPool)} invocations waiting for a connection of any pool,
+   * this is the depth of the pool wait queues plus connections being opened.
+   */
+  public static int getConnectionWaiters() {
+    return CONNECTION_WAITERS.get();
+  }
+
+  /**
+   * The number of {@link #getConnection(PgPool)} invocations of the tenant's PostgresClient
+   * waiting for a connection.
+   */
+  public static int getConnectionWaiters(String tenantId) {
+    AtomicInteger waiters = TENANT_CONNECTION_WAITERS.get(tenantId);
+    return waiters == null ? 0 : waiters.get();
+  }
+
   /**
    * Get vertx-pg-client connection using the Writer client
    */
@@ -3504,7 +3695,14 @@ public class PostgresClient {
    * @see #withTransaction(Function)
    */
   public Future<PgConnection> getConnection(PgPool client) {
-    Future<SqlConnection> future = client.getConnection();
+    AtomicInteger tenantWaiters = TENANT_CONNECTION_WAITERS.computeIfAbsent(tenantId, key -> new AtomicInteger());
+    CONNECTION_WAITERS.incrementAndGet();
+    tenantWaiters.incrementAndGet();
+    Future<SqlConnection> future = client.getConnection()
+        .onComplete(x -> {
+          CONNECTION_WAITERS.decrementAndGet();
+          tenantWaiters.decrementAndGet();
+        });
     if (! sharedPgPool) {
       return future.map(sqlConnection -> (PgConnection) sqlConnection);
     }
@@ -3590,6 +3788,18 @@ public class PostgresClient {
    * @see #withTransaction(Function)
    */
   void getSQLConnection(AsyncResult<PgConnection> res, int queryTimeout, Handler<AsyncResult<SQLConnection>> handler) {
+    getSQLConnection(res, queryTimeout, CancellationToken.current(), handler);
+  }
+
+  /**
+   * Like {@link #getSQLConnection(AsyncResult, int, Handler)}, additionally the running query is
+   * cancelled when the token gets cancelled or its deadline is reached, until the SQLConnection is closed.
+   *
+   * @param token the {@link CancellationToken} of the HTTP request, or null for none
+   */
+  void getSQLConnection(AsyncResult<PgConnection> res, int queryTimeout, CancellationToken token,
+      Handler<AsyncResult<SQLConnection>> handler) {
+
     if (res.failed()) {
       handler.handle(Future.failedFuture(res.cause()));
       return;
@@ -3597,8 +3807,17 @@ public class PostgresClient {
 
     PgConnection pgConnection = res.result();
 
+    Future<Void> proceed = CancellationToken.check(token);
+    if (proceed.failed()) {
+      pgConnection.close();
+      handler.handle(Future.failedFuture(proceed.cause()));
+      return;
+    }
+
+    Runnable unregister = cancelOnToken(token, pgConnection);
+
     if (queryTimeout == 0) {
-      handler.handle(Future.succeededFuture(new SQLConnection(pgConnection, null, null)));
+      handler.handle(Future.succeededFuture(new SQLConnection(pgConnection, null, null, unregister)));
       return;
     }
 
@@ -3612,7 +3831,7 @@ public class PostgresClient {
       }
     }));
 
-    SQLConnection sqlConnection = new SQLConnection(pgConnection, null, timerId);
+    SQLConnection sqlConnection = new SQLConnection(pgConnection, null, timerId, unregister);
     handler.handle(Future.succeededFuture(sqlConnection));
   }
 
@@ -3625,7 +3844,8 @@ public class PostgresClient {
    * @see #withTransaction(Function)
    */
   void getSQLConnection(int queryTimeout, Handler<AsyncResult<SQLConnection>> handler) {
-    getConnection(res -> getSQLConnection(res, queryTimeout, handler));
+    CancellationToken token = CancellationToken.current();
+    getConnection(res -> getSQLConnection(res, queryTimeout, token, handler));
   }
 
   /**
@@ -3637,7 +3857,8 @@ public class PostgresClient {
    * @see #withReadTransaction(Function)
    */
   void getSQLReadConnection(int queryTimeout, Handler<AsyncResult<SQLConnection>> handler) {
-    getReadConnection(res -> getSQLConnection(res, queryTimeout, handler));
+    CancellationToken token = CancellationToken.current();
+    getReadConnection(res -> getSQLConnection(res, queryTimeout, token, handler));
   }
 
   /**
@@ -3661,13 +3882,34 @@ public class PostgresClient {
    * <p>Similar {@link #withTrans(Function)}
    */
   public <T> Future<T> withReadTrans(Function<Conn, Future<T>> function) {
-    return withReadTransaction(pgConnection -> withTimeout(pgConnection, 0, function));
+    Promise<Void> commit = Promise.promise();
+    return withReadTransaction(pgConnection -> withTimeout(pgConnection, 0, commit.future(), function))
+        .onComplete(done -> completeCommit(commit, done));
+  }
+
+  /**
+   * Complete commit with the result of withTransaction: succeeded if and only if the commit succeeded.
+   */
+  private static void completeCommit(Promise<Void> commit, AsyncResult<?> transaction) {
+    if (transaction.succeeded()) {
+      commit.tryComplete();
+    } else {
+      commit.tryFail(transaction.cause());
+    }
   }
 
   private <T> Future<T> withTimeout(PgConnection pgConnection, int queryTimeout,
       Function<Conn, Future<T>> function) {
+    return withTimeout(pgConnection, queryTimeout, null, function);
+  }
+
+  /**
+   * @param commit  succeeds when the transaction has been committed, null if not in a transaction
+   */
+  private <T> Future<T> withTimeout(PgConnection pgConnection, int queryTimeout, Future<Void> commit,
+      Function<Conn, Future<T>> function) {
     if (queryTimeout == 0) {
-      return function.apply(new Conn(this, pgConnection));
+      return function.apply(new Conn(this, pgConnection, commit));
     }
 
     long timerId = vertx.setTimer(queryTimeout, id -> pgConnection.cancelRequest(ar -> {
@@ -3678,7 +3920,7 @@ public class PostgresClient {
       }
     }));
 
-    return function.apply(new Conn(this, pgConnection))
+    return function.apply(new Conn(this, pgConnection, commit))
         .onComplete(done -> vertx.cancelTimer(timerId));
   }
 
@@ -3696,7 +3938,9 @@ public class PostgresClient {
    * @param function code to execute
    */
   public <T> Future<T> withTrans(int queryTimeout, Function<Conn, Future<T>> function) {
-    return withTransaction(pgConnection -> withTimeout(pgConnection, queryTimeout, function));
+    Promise<Void> commit = Promise.promise();
+    return withTransaction(pgConnection -> withTimeout(pgConnection, queryTimeout, commit.future(), function))
+        .onComplete(done -> completeCommit(commit, done));
   }
 
   /**
@@ -3715,6 +3959,10 @@ public class PostgresClient {
    * @param function code to execute
    */
   public <T> Future<T> withTransaction(Function<PgConnection, Future<T>> function) {
+    Future<Void> proceed = CancellationToken.check(CancellationToken.current());
+    if (proceed.failed()) {
+      return Future.failedFuture(proceed.cause());
+    }
     return withTransaction(getConnection(), function);
   }
 
@@ -3723,15 +3971,19 @@ public class PostgresClient {
    * <p>Similar to {@link #withTransaction(Function)}
    */
   public <T> Future<T> withReadTransaction(Function<PgConnection, Future<T>> function) {
+    Future<Void> proceed = CancellationToken.check(CancellationToken.current());
+    if (proceed.failed()) {
+      return Future.failedFuture(proceed.cause());
+    }
     return withTransaction(getReadConnection(), function);
   }
 
   <T> Future<T> withTransaction(Future<PgConnection> fPgConnection, Function<PgConnection, Future<T>> function) {
+    CancellationToken token = CancellationToken.current();
     return fPgConnection
         .flatMap(conn -> conn
             .begin()
-            .flatMap(tx -> function
-                .apply(conn)
+            .flatMap(tx -> cancellable(token, conn, function)
                 .compose(
                     res -> tx
                         .commit()
@@ -3816,7 +4068,9 @@ public class PostgresClient {
       if (sqlConnection.failed()) {
         return Future.failedFuture(sqlConnection.cause());
       }
-      return function.apply(new Conn(this, sqlConnection.result().conn));
+      SQLConnection connection = sqlConnection.result();
+      return function.apply(new Conn(this, connection.conn,
+          connection.commit == null ? null : connection.commit.future()));
     } catch (Throwable e) {
       log.error(e.getMessage(), e);
       return Future.failedFuture(e);
@@ -3838,7 +4092,12 @@ public class PostgresClient {
    * @param function code to execute
    */
   public <T> Future<T> withConnection(Function<PgConnection, Future<T>> function) {
-    return getConnection().flatMap(conn -> function.apply(conn).onComplete(ar -> conn.close()));
+    CancellationToken token = CancellationToken.current();
+    Future<Void> proceed = CancellationToken.check(token);
+    if (proceed.failed()) {
+      return Future.failedFuture(proceed.cause());
+    }
+    return getConnection().flatMap(conn -> cancellable(token, conn, function).onComplete(ar -> conn.close()));
   }
 
   /**
@@ -3856,7 +4115,69 @@ public class PostgresClient {
    * @param function code to execute
    */
   public <T> Future<T> withReadConnection(Function<PgConnection, Future<T>> function) {
-    return getReadConnection().flatMap(conn -> function.apply(conn).onComplete(ar -> conn.close()));
+    CancellationToken token = CancellationToken.current();
+    Future<Void> proceed = CancellationToken.check(token);
+    if (proceed.failed()) {
+      return Future.failedFuture(proceed.cause());
+    }
+    return getReadConnection().flatMap(conn -> cancellable(token, conn, function).onComplete(ar -> conn.close()));
+  }
+
+  /**
+   * Apply the function; if the token gets cancelled before the returned Future completes
+   * send a cancel request for the running query so that the connection is released early.
+   * If the token has a deadline the query is cancelled when the deadline is reached.
+   *
+   * @param token the {@link CancellationToken} of the HTTP request, or null for none
+   */
+  <T> Future<T> cancellable(CancellationToken token, PgConnection pgConnection,
+      Function<PgConnection, Future<T>> function) {
+    if (token == null) {
+      return function.apply(pgConnection);
+    }
+    Future<Void> proceed = CancellationToken.check(token);
+    if (proceed.failed()) {
+      return Future.failedFuture(proceed.cause());
+    }
+    Runnable unregister = cancelOnToken(token, pgConnection);
+    try {
+      return function.apply(pgConnection).onComplete(done -> unregister.run());
+    } catch (RuntimeException e) {
+      unregister.run();
+      throw e;
+    }
+  }
+
+  /**
+   * Send a cancel request for the running query of pgConnection when the token gets cancelled
+   * or when its deadline is reached.
+   *
+   * @param token the {@link CancellationToken} of the HTTP request, or null for none
+   * @return Runnable that unregisters the cancel handler and the deadline timer
+   */
+  private Runnable cancelOnToken(CancellationToken token, PgConnection pgConnection) {
+    if (token == null) {
+      return () -> { };
+    }
+    long remaining = token.remainingMillis();
+    long id = token.onCancel(() -> pgConnection.cancelRequest(ar -> {
+      if (ar.succeeded()) {
+        log.warn("Cancelling request because the HTTP client has closed the connection");
+      } else {
+        log.warn("Failed to send cancelling request", ar.cause());
+      }
+    }));
+    long timerId = remaining == Long.MAX_VALUE ? -1 : vertx.setTimer(Math.max(1, remaining), timer -> pgConnection.cancelRequest(ar -> {
+      if (ar.succeeded()) {
+        log.warn("Cancelling request because the request deadline has been reached");
+      } else {
+        log.warn("Failed to send cancelling request", ar.cause());
+      }
+    }));
+    return () -> {
+      token.remove(id);
+      vertx.cancelTimer(timerId);
+    };
   }
 
   /**
@@ -1,5 +1,6 @@
 package org.folio.rest.persist;
 
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.pgclient.PgConnection;
 import io.vertx.sqlclient.Transaction;
@@ -9,19 +10,38 @@ public class SQLConnection {
   final PgConnection conn;
   final Transaction tx;
   final Long timerId;
+  final Runnable onClose;
+  /** completed by {@link PostgresClient#endTx} when tx has been committed, null if tx is null */
+  final Promise<Void> commit;
 
   public SQLConnection(PgConnection conn, Transaction tx, Long timerId) {
+    this(conn, tx, timerId, null);
+  }
+
+  /**
+   * @param onClose run on {@link #close(Vertx)}, for example to unregister a cancel handler; may be null
+   */
+  public SQLConnection(PgConnection conn, Transaction tx, Long timerId, Runnable onClose) {
     this.conn = conn;
     this.tx = tx;
     this.timerId = timerId;
+    this.onClose = onClose;
+    this.commit = tx == null ? null : Promise.promise();
   }
 
   /**
-   * Close the connection and cancel the timer.
+   * Close the connection, cancel the timer and run onClose.
    * @param vertx The {@link Vertx} that started the timer, ignored if timerId is null.
    */
   public void close(Vertx vertx) {
     RuntimeException timerException = null;
+    if (onClose != null) {
+      try {
+        onClose.run();
+      } catch (RuntimeException e) {
+        timerException = e;
+      }
+    }
     if (timerId != null) {
       try {
         vertx.cancelTimer(timerId);
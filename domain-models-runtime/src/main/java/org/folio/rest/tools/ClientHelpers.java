@@ -1,11 +1,14 @@
 package org.folio.rest.tools;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.folio.rest.tools.utils.JsonFormat;
 
 /**
  * @author shale
@@ -32,4 +35,22 @@ public class ClientHelpers {
     throw new IllegalArgumentException("entity can not be null");
   }
 
+  /**
+   * @param format JSON uses {@link #pojo2json(Object)}, Smile and CBOR use the binary encoding
+   */
+  public static Buffer encode(Object entity, JsonFormat format) {
+    if (! format.isBinary() || entity instanceof JsonObject) {
+      return Buffer.buffer(pojo2json(entity));
+    }
+    if (entity == null) {
+      throw new IllegalArgumentException("entity can not be null");
+    }
+    try {
+      return format.encode(entity);
+    } catch (IOException e) {
+      log.error(e.getMessage(), e);
+      throw new IllegalArgumentException(e.getMessage());
+    }
+  }
+
 }
@@ -1,7 +1,9 @@
 package org.folio.rest.tools.client;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.folio.rest.tools.parser.JsonPathParser;
 import org.folio.util.PercentCodec;
@@ -13,6 +15,11 @@ import org.folio.util.PercentCodec;
 @Deprecated
 public class BuildCQL {
 
+  /** default maximum number of values in the query of a single request */
+  public static final int DEFAULT_CHUNK_SIZE = 50;
+  /** default maximum number of chunked requests running in parallel */
+  public static final int DEFAULT_CONCURRENCY = 5;
+
   private Response r;
   private String pathToExtractFrom;
   private String cqlPath;
@@ -20,6 +27,8 @@ public class BuildCQL {
   private boolean addQuestionMark = true;
   private String operatorBetweenArgs = "or";
   private String cqlStatementOperator = "==";
+  private int chunkSize = DEFAULT_CHUNK_SIZE;
+  private int concurrency = DEFAULT_CONCURRENCY;
 
 
   /**
@@ -139,9 +148,32 @@ public class BuildCQL {
     this.r = r;
   }
 
-  @SuppressWarnings("unchecked")
-  public String buildCQL() {
-    StringBuilder sb = new StringBuilder();
+  /**
+   * Split the values into chunks of at most chunkSize values, each chunk is sent as a
+   * separate request, see {@link #buildCQLChunks()}.
+   * @param chunkSize - defaults to {@link #DEFAULT_CHUNK_SIZE}, 0 disables chunking
+   */
+  public void setChunkSize(int chunkSize){
+    this.chunkSize = chunkSize;
+  }
+
+  public int getChunkSize(){
+    return chunkSize;
+  }
+
+  /**
+   * @param concurrency - maximum number of chunked requests running in parallel,
+   * defaults to {@link #DEFAULT_CONCURRENCY}
+   */
+  public void setConcurrency(int concurrency){
+    this.concurrency = Math.max(1, concurrency);
+  }
+
+  public int getConcurrency(){
+    return concurrency;
+  }
+
+  private String prefix(){
     StringBuilder prefix = new StringBuilder();
 
     if(addQuestionMark){
@@ -150,8 +182,11 @@ public class BuildCQL {
     else{
       prefix.append("&");
     }
-    prefix.append(queryParamName).append("=");
+    return prefix.append(queryParamName).append("=").toString();
+  }
 
+  @SuppressWarnings("unchecked")
+  private List<Object> extractValues(){
     JsonPathParser jpp = new JsonPathParser( r.getBody() );
     Object o = jpp.getValueAt(pathToExtractFrom);
     List<Object> paths = null;
@@ -167,6 +202,58 @@ public class BuildCQL {
       paths = new ArrayList<>();
       paths.add(o);
     }
+    return paths;
+  }
+
+  /**
+   * Like {@link #buildCQL()} but returns one query string per chunk of at most chunkSize values
+   * so that a long list of values doesn't exceed the URL length limits of Okapi or proxies.
+   * Only a query with operator "or" and cqlStatementOperator "==" is split: the values are
+   * de-duplicated so that different chunks match different records, and the concatenation of
+   * the chunk results is the result of the complete query. Other operators like word match
+   * "=" may match the same record by values of different chunks.
+   * @return the query strings, a single one if chunking is disabled, the operators don't allow
+   * splitting, or there are no more than chunkSize distinct values, an empty list if there are no values
+   */
+  public List<String> buildCQLChunks() {
+    List<Object> paths = extractValues();
+    if (chunkSize <= 0 || ! "or".equalsIgnoreCase(operatorBetweenArgs) || ! "==".equals(cqlStatementOperator)) {
+      return singleChunk(paths);
+    }
+    Set<Object> distinctValues = new LinkedHashSet<>(paths);
+    distinctValues.remove(null);
+    List<Object> values = new ArrayList<>(distinctValues);
+    if (values.size() <= chunkSize) {
+      return singleChunk(values);
+    }
+    String prefix = prefix();
+    List<String> chunks = new ArrayList<>();
+    for (int from = 0; from < values.size(); from += chunkSize) {
+      StringBuilder sb = new StringBuilder();
+      for (Object value : values.subList(from, Math.min(from + chunkSize, values.size()))) {
+        if (sb.length() > 0) {
+          sb.append(" ").append(operatorBetweenArgs).append(" ");
+        }
+        sb.append(cqlPath).append(cqlStatementOperator).append(value.toString());
+      }
+      chunks.add(prefix + PercentCodec.encode(sb));
+    }
+    return chunks;
+  }
+
+  private List<String> singleChunk(List<Object> paths) {
+    String cql = buildCQL(paths);
+    return cql.isEmpty() ? new ArrayList<>() : List.of(cql);
+  }
+
+  public String buildCQL() {
+    return buildCQL(extractValues());
+  }
+
+  private String buildCQL(List<Object> paths) {
+    StringBuilder sb = new StringBuilder();
+    String prefix = prefix();
+
     int size = paths.size();
     for (int i = 0; i < size; i++) {
       if(paths.get(i) == null){
@@ -180,7 +267,7 @@ public class BuildCQL {
     if (sb.length() == 0) {
       return "";
     }
-    return prefix.append(PercentCodec.encode(sb)).toString();
+    return prefix + PercentCodec.encode(sb);
   }
 
 }
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.regex.Matcher;
@@ -143,6 +144,10 @@ public class HttpModuleClient2 implements HttpClientInterface {
       boolean cachable, BuildCQL bCql) throws Exception {
 
     if(bCql != null){
+      List<String> chunks = bCql.buildCQLChunks();
+      if(chunks.size() > 1){
+        return requestChunks(method, data, endpoint, headers, cachable, chunks, bCql.getConcurrency());
+      }
       endpoint = endpoint + bCql.buildCQL();
     }
     if(cachable){
@@ -165,6 +170,52 @@ public class HttpModuleClient2 implements HttpClientInterface {
     return cf;
   }
 
+  /**
+   * Send one request per chunk of the query, at most concurrency requests at a time, and merge
+   * the responses with {@link Response#merge(String, List)}.
+   */
+  private CompletableFuture<Response> requestChunks(HttpMethod method, Buffer data, String endpoint,
+      Map<String, String> headers, boolean cachable, List<String> chunks, int concurrency) {
+
+    List<CompletableFuture<Response>> results = new ArrayList<>();
+    for (int i = 0; i < chunks.size(); i++) {
+      results.add(new CompletableFuture<>());
+    }
+    AtomicInteger next = new AtomicInteger();
+    for (int i = 0; i < Math.min(concurrency, chunks.size()); i++) {
+      requestNextChunk(method, data, endpoint, headers, cachable, chunks, next, results);
+    }
+    return CompletableFuture.allOf(results.toArray(new CompletableFuture[0]))
+        .thenApply(x -> {
+          List<Response> responses = new ArrayList<>();
+          results.forEach(cf -> responses.add(cf.join()));
+          return Response.merge(endpoint, responses);
+        });
+  }
+
+  private void requestNextChunk(HttpMethod method, Buffer data, String endpoint, Map<String, String> headers,
+      boolean cachable, List<String> chunks, AtomicInteger next, List<CompletableFuture<Response>> results) {
+
+    int i = next.getAndIncrement();
+    if (i >= chunks.size()) {
+      return;
+    }
+    CompletableFuture<Response> cf;
+    try {
+      cf = request(method, data, endpoint + chunks.get(i), headers, cachable, null);
+    } catch (Exception e) {
+      cf = CompletableFuture.completedFuture(createResponse(endpoint + chunks.get(i), e));
+    }
+    cf.whenComplete((response, e) -> {
+      if (e != null) {
+        results.get(i).completeExceptionally(e);
+      } else {
+        results.get(i).complete(response);
+      }
+      requestNextChunk(method, data, endpoint, headers, cachable, chunks, next, results);
+    });
+  }
+
   public CompletableFuture<Response> request(HttpMethod method, String endpoint, Map<String, String> headers,
       boolean cachable, BuildCQL bCql) throws Exception {
 
@@ -351,6 +351,50 @@ public class Response {
     return joinOn(response1, withField, response2, onField, null, null, true);
   }
 
+  /**
+   * Merge the responses of the chunked requests of a single {@link BuildCQL} query into one
+   * response: arrays at the top level of the JSON bodies are concatenated, totalRecords are
+   * summed up, any other field is taken from the first body.
+   * @param endpoint - endpoint of the merged response
+   * @param responses - responses in the order of the chunks
+   * @return the first response that has an error or an exception, otherwise the merged response
+   */
+  public static Response merge(String endpoint, List<Response> responses){
+    for (Response response : responses) {
+      if (response.error != null || response.exception != null) {
+        return response;
+      }
+    }
+    Response merged = new Response();
+    merged.endpoint = endpoint;
+    if (responses.isEmpty()) {
+      return merged;
+    }
+    merged.code = responses.get(0).code;
+    merged.headers = responses.get(0).headers;
+    for (Response response : responses) {
+      if (response.body == null) {
+        continue;
+      }
+      if (merged.body == null) {
+        merged.body = response.body.copy();
+        continue;
+      }
+      for (String field : response.body.fieldNames()) {
+        Object value = response.body.getValue(field);
+        Object mergedValue = merged.body.getValue(field);
+        if (mergedValue instanceof JsonArray && value instanceof JsonArray) {
+          ((JsonArray) mergedValue).addAll((JsonArray) value);
+        } else if ("totalRecords".equals(field) && mergedValue instanceof Number && value instanceof Number) {
+          merged.body.put(field, ((Number) mergedValue).longValue() + ((Number) value).longValue());
+        } else if (mergedValue == null) {
+          merged.body.put(field, value);
+        }
+      }
+    }
+    return merged;
+  }
+
   public static boolean isSuccess(int statusCode){
     if(statusCode >= 200 && statusCode < 300){
       return true;
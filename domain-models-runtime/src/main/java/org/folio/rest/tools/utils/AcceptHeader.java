@@ -0,0 +1,31 @@
+package org.folio.rest.tools.utils;
+
+/**
+ * Parsing of the elements of Accept and Accept-Encoding request headers.
+ */
+public final class AcceptHeader {
+
+  private AcceptHeader() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @param element one comma separated element of the header, for example "gzip;q=0"
+   * @return true if the element has the quality value q=0, false if it has no q parameter
+   *   or the q parameter is invalid
+   */
+  public static boolean isRejected(String element) {
+    String [] parts = element.split(";");
+    for (int i = 1; i < parts.length; i++) {
+      String parameter = parts[i].trim();
+      if (parameter.startsWith("q=")) {
+        try {
+          return Double.parseDouble(parameter.substring(2)) <= 0;
+        } catch (NumberFormatException e) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+}
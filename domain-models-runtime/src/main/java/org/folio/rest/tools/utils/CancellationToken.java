@@ -0,0 +1,165 @@
+package org.folio.rest.tools.utils;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Signals that the HTTP client has gone away and the result of the request is no longer needed,
+ * and carries the deadline of the request.
+ *
+ * <p>RestRouting puts a token into the local data of the request's Vert.x context,
+ * PostgresClient uses it to cancel the running query and to release the connection,
+ * and to limit the query time to the time remaining until the deadline.
+ */
+public final class CancellationToken {
+  /** key of the token in the local data of the Vert.x context */
+  public static final String CONTEXT_KEY = "rmb.cancellationToken";
+
+  private final Map<Long, Runnable> handlers = new LinkedHashMap<>();
+  private long nextId;
+  private boolean cancelled;
+  /** System.nanoTime() of the deadline, only valid if hasDeadline is true */
+  private long deadlineNanos;
+  private boolean hasDeadline;
+
+  /**
+   * Put a new token into the local data of the context.
+   *
+   * @return the new token
+   */
+  public static CancellationToken create(Context context) {
+    CancellationToken token = new CancellationToken();
+    context.putLocal(CONTEXT_KEY, token);
+    return token;
+  }
+
+  /**
+   * @return the token of the context, or null if there is none
+   */
+  public static CancellationToken get(Context context) {
+    if (context == null) {
+      return null;
+    }
+    Object token = context.getLocal(CONTEXT_KEY);
+    return token instanceof CancellationToken ? (CancellationToken) token : null;
+  }
+
+  /**
+   * @return the token of the current Vert.x context, or null if there is none
+   */
+  public static CancellationToken current() {
+    return get(Vertx.currentContext());
+  }
+
+  /**
+   * @return whether token is not null and has been cancelled
+   */
+  public static boolean isCancelled(CancellationToken token) {
+    return token != null && token.isCancelled();
+  }
+
+  /**
+   * @return succeeded Future if token is null or the request is neither cancelled nor past
+   *     its deadline, otherwise a failed Future with the reason
+   */
+  public static Future<Void> check(CancellationToken token) {
+    if (token == null) {
+      return Future.succeededFuture();
+    }
+    if (token.isCancelled()) {
+      return Future.failedFuture(cancelledException());
+    }
+    if (token.remainingMillis() <= 0) {
+      return Future.failedFuture(deadlineExceededException());
+    }
+    return Future.succeededFuture();
+  }
+
+  /**
+   * Set the deadline of the request.
+   *
+   * @param timeoutMillis milliseconds from now
+   * @return this
+   */
+  public synchronized CancellationToken setTimeout(long timeoutMillis) {
+    deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    hasDeadline = true;
+    return this;
+  }
+
+  /**
+   * @return milliseconds until the deadline, 0 or negative if it has passed,
+   *     Long.MAX_VALUE if there is no deadline
+   */
+  public synchronized long remainingMillis() {
+    if (! hasDeadline) {
+      return Long.MAX_VALUE;
+    }
+    return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+  }
+
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Cancel and run all registered handlers. Subsequent invocations do nothing.
+   */
+  public void cancel() {
+    Runnable [] toRun;
+    synchronized (this) {
+      if (cancelled) {
+        return;
+      }
+      cancelled = true;
+      toRun = handlers.values().toArray(new Runnable [0]);
+      handlers.clear();
+    }
+    for (Runnable handler : toRun) {
+      handler.run();
+    }
+  }
+
+  /**
+   * Register a handler to run on {@link #cancel()}; it runs immediately if already cancelled.
+   *
+   * @return id for {@link #remove(long)}
+   */
+  public long onCancel(Runnable handler) {
+    synchronized (this) {
+      if (! cancelled) {
+        handlers.put(nextId, handler);
+        return nextId++;
+      }
+    }
+    handler.run();
+    return -1;
+  }
+
+  /**
+   * Unregister a handler, for example after the database query has completed.
+   */
+  public synchronized void remove(long id) {
+    handlers.remove(id);
+  }
+
+  /**
+   * @return the exception for failing an operation because the request has been cancelled
+   */
+  public static CancellationException cancelledException() {
+    return new CancellationException("Request cancelled, the HTTP client has closed the connection");
+  }
+
+  /**
+   * @return the exception for failing an operation because the deadline of the request has passed
+   */
+  public static TimeoutException deadlineExceededException() {
+    return new TimeoutException("Request deadline exceeded");
+  }
+}
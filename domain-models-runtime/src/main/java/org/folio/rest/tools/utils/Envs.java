@@ -21,7 +21,9 @@ public enum Envs {
   DB_CONNECTIONRELEASEDELAY,
   DB_RECONNECTATTEMPTS,
   DB_RECONNECTINTERVAL,
-  DB_EXPLAIN_QUERY_THRESHOLD;
+  DB_EXPLAIN_QUERY_THRESHOLD,
+  DB_TABLE_ESTIMATE_THRESHOLD,
+  DB_COUNT_CACHE_TTL;
 
   private static Map<String, String> env = System.getenv();
 
@@ -56,7 +58,9 @@ public enum Envs {
     case DB_CONNECTIONRELEASEDELAY:  return "connectionReleaseDelay";
     case DB_RECONNECTATTEMPTS:       return "reconnectAttempts";
     case DB_RECONNECTINTERVAL:       return "reconnectInterval";
-    case DB_EXPLAIN_QUERY_THRESHOLD: return envs.name();
+    case DB_EXPLAIN_QUERY_THRESHOLD:
+    case DB_TABLE_ESTIMATE_THRESHOLD:
+    case DB_COUNT_CACHE_TTL:         return envs.name();
     default:                         return envs.name().substring(3).toLowerCase();
     }
   }
@@ -74,6 +78,8 @@ public enum Envs {
         return Integer.parseInt(value);
       case DB_RECONNECTINTERVAL:
       case DB_EXPLAIN_QUERY_THRESHOLD:
+      case DB_TABLE_ESTIMATE_THRESHOLD:
+      case DB_COUNT_CACHE_TTL:
         return Long.parseLong(value);
       default:
         return value;
@@ -2,11 +2,13 @@ package org.folio.rest.tools.utils;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Set;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import com.google.common.collect.HashBasedTable;
-import com.google.common.collect.Table;
+import org.folio.rest.tools.RouteIndex;
 import com.google.common.reflect.ClassPath;
 
 
@@ -14,8 +16,10 @@ public class InterfaceToImpl {
 
   //we look for the class and function in the class that is mapped to a requested url
   //since we try to load via reflection an implementation of the class at runtime - better to load once and cache
-  //for subsequent calls
-  private static Table<String, String, ArrayList<Class<?>>> clazzCache  = HashBasedTable.create();
+  //for subsequent calls; concurrent because each RestVerticle instance populates its routes in parallel.
+  //key: List.of(implDir, interface2check)
+  private static Map<List<String>, ArrayList<Class<?>>> clazzCache = new ConcurrentHashMap<>();
+  private static Map<String, List<String>> topLevelClassesCache = new HashMap<>();
   private static final Logger log = LogManager.getLogger(InterfaceToImpl.class);
 
   /**
@@ -33,25 +37,23 @@ public class InterfaceToImpl {
    */
   public static ArrayList<Class<?>> convert2Impl(String implDir, String interface2check, boolean allowMultiple) throws IOException, ClassNotFoundException {
     ArrayList<Class<?>> impl = new ArrayList<>();
-    ArrayList<Class<?>> cachedClazz = clazzCache.get(implDir, interface2check);
+    List<String> key = List.of(implDir, interface2check);
+    ArrayList<Class<?>> cachedClazz = clazzCache.get(key);
     if(cachedClazz != null){
       log.debug("returned {} class/es from cache", cachedClazz.size());
       return cachedClazz;
     }
 
-    ClassPath classPath = ClassPath.from(Thread.currentThread().getContextClassLoader());
-    Set<ClassPath.ClassInfo> classes = classPath.getTopLevelClasses(implDir);
-
     Class<?> userImpl = null;
     /** iterate over all classes in the org.folio.rest.impl package to find the one implementing the
      * requested interface */
-    for (ClassPath.ClassInfo info : classes) {
+    for (String className : getTopLevelClasses(implDir)) {
       if(userImpl != null && impl.size() == 1){
         /** we found a user impl that matches the interface2check, we are done, since we can only have one of these */
         break;
       }
       try {
-        Class<?> clazz = Class.forName(info.getName());
+        Class<?> clazz = Class.forName(className);
         if(!clazz.getSuperclass().getName().equals("java.lang.Object") && clazz.getSuperclass().getInterfaces().length > 0){ //NOSONAR
           /** user defined class which overrides one of the out of the box RMB implementations
            * set the clazz to the interface. find the correct implementation below */
@@ -93,8 +95,32 @@ public class InterfaceToImpl {
     if (impl.isEmpty()) {
       throw new ClassNotFoundException("Implementation of " + interface2check + " not found in " + implDir);
     }
-    clazzCache.put(implDir, interface2check, impl);
+    clazzCache.put(key, impl);
     return impl;
   }
 
+  /**
+   * Names of the top level classes in the package, taken from the {@link RouteIndex} if available,
+   * otherwise from a class path scan. The result is cached.
+   */
+  private static synchronized List<String> getTopLevelClasses(String implDir) throws IOException {
+    List<String> classNames = topLevelClassesCache.get(implDir);
+    if (classNames != null) {
+      return classNames;
+    }
+    RouteIndex routeIndex = RouteIndex.get();
+    if (routeIndex != null) {
+      classNames = routeIndex.getTopLevelClasses(implDir);
+    }
+    if (classNames == null) {
+      classNames = new ArrayList<>();
+      ClassPath classPath = ClassPath.from(Thread.currentThread().getContextClassLoader());
+      for (ClassPath.ClassInfo info : classPath.getTopLevelClasses(implDir)) {
+        classNames.add(info.getName());
+      }
+    }
+    topLevelClassesCache.put(implDir, classNames);
+    return classNames;
+  }
+
 }
@@ -0,0 +1,129 @@
+package org.folio.rest.tools.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.vertx.core.buffer.Buffer;
+import java.io.IOException;
+import java.util.Locale;
+import org.folio.dbschema.ObjectMapperTool;
+
+/**
+ * Data formats of request and response bodies that map to the same POJOs: JSON text and the
+ * binary JSON formats Smile and CBOR.
+ *
+ * <p>The binary formats are faster to encode and decode and are intended for calls between
+ * modules, JSON stays the default.
+ */
+public enum JsonFormat {
+  JSON("application/json"),
+  SMILE("application/x-jackson-smile"),
+  CBOR("application/cbor");
+
+  private final String mediaType;
+
+  JsonFormat(String mediaType) {
+    this.mediaType = mediaType;
+  }
+
+  public String getMediaType() {
+    return mediaType;
+  }
+
+  /**
+   * @return true for Smile and CBOR
+   */
+  public boolean isBinary() {
+    return this != JSON;
+  }
+
+  /**
+   * @return the mapper of this format, configured like {@link ObjectMapperTool#getMapper()}
+   */
+  public ObjectMapper getMapper() {
+    switch (this) {
+      case SMILE:
+        return Mappers.SMILE;
+      case CBOR:
+        return Mappers.CBOR;
+      default:
+        return ObjectMapperTool.getMapper();
+    }
+  }
+
+  public Buffer encode(Object entity) throws IOException {
+    return Buffer.buffer(getMapper().writeValueAsBytes(entity));
+  }
+
+  public <T> T decode(Buffer body, Class<T> valueType) throws IOException {
+    return getMapper().readValue(body.getBytes(), valueType);
+  }
+
+  /**
+   * The Accept header value for a request in this format.
+   *
+   * @param accept media types of the RAML, for example "application/json, text/plain"
+   * @return accept for JSON, the media type of this format followed by accept otherwise
+   */
+  public String accept(String accept) {
+    if (this == JSON) {
+      return accept;
+    }
+    return mediaType + ", " + accept;
+  }
+
+  /**
+   * @param contentType value of a Content-Type header, may be null
+   * @return the format, or null if the content type is none of the formats
+   */
+  public static JsonFormat of(String contentType) {
+    if (contentType == null) {
+      return null;
+    }
+    String type = contentType.split(";")[0].trim().toLowerCase(Locale.ROOT);
+    for (JsonFormat format : values()) {
+      if (format.mediaType.equals(type)) {
+        return format;
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Select the format of a response.
+   *
+   * @param accept value of the Accept header, may be null
+   * @return the first format listed in accept that is not rejected with q=0, JSON if none
+   */
+  public static JsonFormat negotiate(String accept) {
+    if (accept == null) {
+      return JSON;
+    }
+    for (String element : accept.split(",")) {
+      JsonFormat format = of(element);
+      if (format != null && ! AcceptHeader.isRejected(element)) {
+        return format;
+      }
+    }
+    return JSON;
+  }
+
+  /**
+   * @return the body decoded according to the Content-Type, JSON if the Content-Type is none of the formats
+   */
+  public static <T> T decode(String contentType, Buffer body, Class<T> valueType) throws IOException {
+    JsonFormat format = of(contentType);
+    return (format == null ? JSON : format).decode(body, valueType);
+  }
+
+  /**
+   * Lazy creation of the binary mappers on first use.
+   */
+  private static final class Mappers {
+    static final ObjectMapper SMILE = ObjectMapperTool.createMapper(new SmileFactory());
+    static final ObjectMapper CBOR = ObjectMapperTool.createMapper(new CBORFactory());
+
+    private Mappers() {
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package org.folio.rest.tools.utils;
+
+import java.beans.Introspector;
+import java.lang.annotation.ElementType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import javax.validation.Path;
+import javax.validation.TraversableResolver;
+
+/**
+ * TraversableResolver that doesn't cascade into collections, maps and arrays: {@code @Valid}
+ * on such a property is ignored, the constraints on the property itself are still validated.
+ *
+ * <p>This avoids validating each element of large nested lists; use it only if the caller
+ * is trusted to send valid elements.
+ */
+public class NoCollectionCascadeResolver implements TraversableResolver {
+  private static final ClassValue<Set<String>> COLLECTION_PROPERTIES = new ClassValue<>() {
+    @Override
+    protected Set<String> computeValue(Class<?> clazz) {
+      return collectionProperties(clazz);
+    }
+  };
+
+  private static boolean isCollection(Class<?> type) {
+    return type.isArray() || Collection.class.isAssignableFrom(type) || Map.class.isAssignableFrom(type);
+  }
+
+  private static Set<String> collectionProperties(Class<?> clazz) {
+    Set<String> names = new HashSet<>();
+    for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (isCollection(field.getType())) {
+          names.add(field.getName());
+        }
+      }
+    }
+    for (Method method : clazz.getMethods()) {
+      String name = method.getName();
+      if (name.startsWith("get") && name.length() > 3 && method.getParameterCount() == 0
+          && isCollection(method.getReturnType())) {
+        names.add(Introspector.decapitalize(name.substring(3)));
+      }
+    }
+    return names;
+  }
+
+  @Override
+  public boolean isReachable(Object traversableObject, Path.Node traversableProperty,
+      Class<?> rootBeanType, Path pathToTraversableObject, ElementType elementType) {
+    return true;
+  }
+
+  @Override
+  public boolean isCascadable(Object traversableObject, Path.Node traversableProperty,
+      Class<?> rootBeanType, Path pathToTraversableObject, ElementType elementType) {
+    if (traversableObject == null || traversableProperty.getName() == null) {
+      return true;
+    }
+    return ! COLLECTION_PROPERTIES.get(traversableObject.getClass()).contains(traversableProperty.getName());
+  }
+}
@@ -0,0 +1,67 @@
+package org.folio.rest.tools.utils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.validation.constraints.Null;
+
+/**
+ * The read-only fields of a class, these are the fields annotated with {@code @Null}.
+ *
+ * <p>The fields are looked up once per class so that removing a read-only value from
+ * a POJO is a plain field write without serializing or parsing JSON.
+ */
+public final class ReadOnlyFields {
+  private static final ClassValue<Map<String, Field>> FIELDS = new ClassValue<>() {
+    @Override
+    protected Map<String, Field> computeValue(Class<?> clazz) {
+      return lookup(clazz);
+    }
+  };
+
+  private ReadOnlyFields() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class");
+  }
+
+  private static Map<String, Field> lookup(Class<?> clazz) {
+    Map<String, Field> fields = new HashMap<>();
+    for (Class<?> c = clazz; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (field.isAnnotationPresent(Null.class)
+            && ! field.getType().isPrimitive()
+            && ! Modifier.isStatic(field.getModifiers())
+            && ! fields.containsKey(field.getName())) {
+          field.setAccessible(true);  //NOSONAR
+          fields.put(field.getName(), field);
+        }
+      }
+    }
+    return fields.isEmpty() ? Collections.emptyMap() : fields;
+  }
+
+  /**
+   * Set the read-only field of bean to null.
+   *
+   * @param bean where to set the field
+   * @param fieldName the Java field name as reported by the bean validation property path
+   * @return true if the field has been set to null, false if bean is null or bean's class doesn't
+   *     have a read-only field with that name
+   */
+  public static boolean clear(Object bean, String fieldName) {
+    if (bean == null) {
+      return false;
+    }
+    Field field = FIELDS.get(bean.getClass()).get(fieldName);
+    if (field == null) {
+      return false;
+    }
+    try {
+      field.set(bean, null);  //NOSONAR
+      return true;
+    } catch (IllegalAccessException e) {
+      return false;
+    }
+  }
+}
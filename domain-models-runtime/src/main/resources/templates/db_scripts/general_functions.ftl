@@ -175,6 +175,45 @@ CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.normalize_digits(text) RE
          || (regexp_match($1, '^([0-9 \t-]*(?:\*[ \t]*)?)(.*)'))[2];
 $$ LANGUAGE sql IMMUTABLE PARALLEL SAFE STRICT;
 
+-- Convert an ISO 8601 date or date-time text into timestamptz, return NULL if it cannot be converted.
+-- A value without time zone offset is read as UTC so that the result doesn't depend on the
+-- TimeZone of the session. This makes the function IMMUTABLE and usable in generated columns.
+-- No EXCEPTION block to avoid a subtransaction for each call.
+-- Examples:
+-- rmb_to_timestamptz('2020-01-31') = '2020-01-31 00:00:00+00'
+-- rmb_to_timestamptz('2020-01-31T12:00:00.000+01:00') = '2020-01-31 11:00:00+00'
+-- rmb_to_timestamptz('2020-02-30') = NULL
+CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.rmb_to_timestamptz(text) RETURNS timestamptz AS $$
+DECLARE
+  m text[];
+  day int;
+  ts timestamp;
+  offset_minutes int := 0;
+BEGIN
+  m := regexp_match($1, '^(\d{4})-(0[1-9]|1[0-2])-(0[1-9]|[12]\d|3[01])'
+                     || '(?:[T ]([01]\d|2[0-3]):([0-5]\d)(?::([0-5]\d(?:\.\d+)?))?)?'
+                     || '(Z|([+-])([01]\d|2[0-3])(?::?([0-5]\d))?)?$');
+  IF m IS NULL OR m[1]::int = 0 THEN
+    RETURN NULL;
+  END IF;
+  day := m[3]::int;
+  ts := make_timestamp(m[1]::int, m[2]::int, 1,
+            coalesce(m[4]::int, 0), coalesce(m[5]::int, 0), coalesce(m[6]::float8, 0))
+        + (day - 1) * interval '1 day';
+  IF extract(day FROM ts) <> day THEN
+    -- day doesn't exist in this month, for example 2020-02-30
+    RETURN NULL;
+  END IF;
+  IF m[8] IS NOT NULL THEN
+    offset_minutes := m[9]::int * 60 + coalesce(m[10]::int, 0);
+    IF m[8] = '-' THEN
+      offset_minutes := - offset_minutes;
+    END IF;
+  END IF;
+  RETURN (ts - offset_minutes * interval '1 minute') AT TIME ZONE 'UTC';
+END;
+$$ LANGUAGE plpgsql IMMUTABLE PARALLEL SAFE STRICT;
+
 -- This trigger function copies primary key id from NEW.id to NEW.jsonb->'id'.
 CREATE OR REPLACE FUNCTION ${myuniversity}_${mymodule}.set_id_in_jsonb()
 RETURNS TRIGGER AS $$
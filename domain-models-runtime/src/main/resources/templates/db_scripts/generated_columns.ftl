@@ -0,0 +1,20 @@
+<#-- Create / Drop STORED generated columns, they need PostgreSQL >= 12 -->
+<#if table.generatedColumns??>
+  <#list table.generatedColumns as column>
+    <#if column.tOps.name() == "ADD">
+    ALTER TABLE ${myuniversity}_${mymodule}.${table.tableName}
+      ADD COLUMN IF NOT EXISTS ${column.columnName} ${column.sqlType}
+      GENERATED ALWAYS AS (${column.sqlExpression}) STORED;
+      <#if column.index>
+    CREATE INDEX IF NOT EXISTS ${table.tableName}_${column.columnName}_idx
+      ON ${myuniversity}_${mymodule}.${table.tableName} (${column.columnName});
+      <#else>
+    DROP INDEX IF EXISTS ${myuniversity}_${mymodule}.${table.tableName}_${column.columnName}_idx;
+      </#if>
+    <#else>
+    <#-- DROP COLUMN also drops the indexes on that column. -->
+    ALTER TABLE ${myuniversity}_${mymodule}.${table.tableName}
+      DROP COLUMN IF EXISTS ${column.columnName} CASCADE;
+    </#if>
+  </#list>
+</#if>
@@ -66,3 +66,17 @@
     END $do$;
   </#list>
 </#if>
+
+<#-- Create / Drop GIN indexes for jsonb containment @> queries -->
+<#if table.containmentIndex??>
+  <#list table.containmentIndex as indexes>
+    DO $do$
+    BEGIN
+      PERFORM rmb_internal_index(
+      '${table.tableName}', '${table.tableName}_${indexes.fieldName}_idx_containment', '${indexes.tOps.name()}',
+      'CREATE INDEX IF NOT EXISTS ${table.tableName}_${indexes.fieldName}_idx_containment ON ${myuniversity}_${mymodule}.${table.tableName} USING GIN '
+      || $rmb$((${indexes.getFinalSqlExpression(table.tableName)}) jsonb_path_ops)$rmb$
+      <#if indexes.whereClause??>|| $rmb$ ${indexes.whereClause}$rmb$</#if>);
+    END $do$;
+  </#list>
+</#if>
@@ -114,6 +114,8 @@ END $$;
       </#list>
     </#if>
 
+    <#include "generated_columns.ftl">
+
     <#include "indexes.ftl">
 
     <#include "foreign_keys.ftl">
@@ -134,6 +136,7 @@ END $$;
   <#if table.mode != "delete">
     <#-- The table has not changed, but we always check all its indexes and foreign keys
          because they may have changed. -->
+    <#include "generated_columns.ftl">
     <#include "indexes.ftl">
     <#include "foreign_keys.ftl">
     
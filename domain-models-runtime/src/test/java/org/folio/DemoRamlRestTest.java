@@ -24,6 +24,7 @@ import org.folio.rest.jaxrs.model.Datetime;
 import org.folio.rest.jaxrs.model.Metadata;
 import org.folio.rest.jaxrs.model.TenantAttributes;
 import org.folio.rest.tools.parser.JsonPathParser;
+import org.folio.rest.tools.utils.JsonFormat;
 import org.folio.rest.tools.utils.NetworkUtils;
 import org.folio.rest.tools.utils.TenantInit;
 import org.folio.rest.tools.utils.VertxUtils;
@@ -400,6 +401,66 @@ public class DemoRamlRestTest {
     postBook(context, "?validate_field=data.title&validate_field=data.description", 422);
   }
 
+  /**
+   * A body above the threshold of RestRouting is decoded and validated on a worker thread.
+   */
+  @Test
+  public void postLargeBook() throws JsonProcessingException {
+    String book = getValidBook("x".repeat(100000));
+    given().spec(tenant).header("Content-Type", "application/json")
+        .body(book).post("/rmbtests/books")
+        .then()
+        .statusCode(201);
+  }
+
+  @Test
+  public void postLargeBookInvalid() throws JsonProcessingException {
+    String book = getValidBook("x".repeat(100000)).replace("\"title\"", "\"foo\"");
+    given().spec(tenant).header("Content-Type", "application/json")
+        .body(book).post("/rmbtests/books")
+        .then()
+        .statusCode(422);
+  }
+
+  @Test
+  public void postLargeBookValidateTitle() throws JsonProcessingException {
+    String book = getValidBook("x".repeat(100000));
+    given().spec(tenant).header("Content-Type", "application/json")
+        .body(book).post("/rmbtests/books?validate_field=data.title")
+        .then()
+        .statusCode(200);
+  }
+
+  @Test
+  public void postBookSmileGetCbor() throws Exception {
+    Book book = new ObjectMapper().readValue(getValidBook("binary"), Book.class);
+    byte [] response = given().spec(tenant)
+        .header("Content-Type", "application/x-jackson-smile")
+        .header("Accept", "application/cbor")
+        .body(JsonFormat.SMILE.encode(book).getBytes())
+        .post("/rmbtests/books")
+        .then()
+        .statusCode(201)
+        .contentType("application/cbor")
+        .extract().asByteArray();
+    Book echo = JsonFormat.CBOR.decode(Buffer.buffer(response), Book.class);
+    assertThat(echo.getData().getTitle(), is("title"));
+    assertThat(echo.getData().getDescription(), is("binary"));
+  }
+
+  @Test
+  public void postBookSmileInvalid() throws Exception {
+    Book book = new ObjectMapper().readValue(getValidBook("binary"), Book.class);
+    book.getData().setTitle(null);
+    given().spec(tenant)
+        .header("Content-Type", "application/x-jackson-smile")
+        .body(JsonFormat.SMILE.encode(book).getBytes())
+        .post("/rmbtests/books")
+        .then()
+        .statusCode(422)
+        .contentType("application/json");
+  }
+
   /**
    * just send a get request for books api with and without the required author query param
    * 1. one call should succeed and the other should fail (due to
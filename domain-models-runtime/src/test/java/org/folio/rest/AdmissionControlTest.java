@@ -0,0 +1,98 @@
+package org.folio.rest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class AdmissionControlTest {
+  static final long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+  @Test
+  void rejectAboveLimit() {
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    AdmissionControl admissionControl = new AdmissionControl(2, 10, 0, tenant -> 0, registry);
+    assertThat(admissionControl.acquire("a", "GET /x"), is(0));
+    assertThat(admissionControl.acquire("a", "GET /x"), is(0));
+    assertThat(admissionControl.acquire("a", "GET /x"), is(429));
+    // other tenant and other route have their own limit
+    assertThat(admissionControl.acquire("b", "GET /x"), is(0));
+    assertThat(admissionControl.acquire("a", "POST /x"), is(0));
+    admissionControl.release("a", "GET /x", 5 * MS);
+    assertThat(admissionControl.acquire("a", "GET /x"), is(0));
+
+    assertThat(registry.get("rmb.admission.inflight").tags("tenant", "a", "route", "GET /x").gauge().value(),
+        is(2.0));
+    assertThat(registry.get("rmb.admission.limit").tags("tenant", "a", "route", "GET /x").gauge().value(),
+        is(greaterThanOrEqualTo(2.0)));
+    assertThat(registry.get("rmb.admission.rejected").tags("tenant", "a", "status", "429").counter().count(),
+        is(1.0));
+  }
+
+  @Test
+  void rejectWhenPoolQueueIsFull() {
+    AtomicInteger poolQueue = new AtomicInteger(6);
+    AdmissionControl admissionControl = new AdmissionControl(2, 10, 5,
+        tenant -> "a".equals(tenant) ? poolQueue.get() : 0, null);
+    assertThat(admissionControl.acquire("a", "GET /x"), is(503));
+    // the queue of tenant a doesn't affect tenant b
+    assertThat(admissionControl.acquire("b", "GET /x"), is(0));
+    poolQueue.set(5);
+    assertThat(admissionControl.acquire("a", "GET /x"), is(0));
+  }
+
+  @Test
+  void poolQueueOfOtherTenantKeepsLimit() {
+    AdmissionControl admissionControl = new AdmissionControl(40, 50, 0,
+        tenant -> "a".equals(tenant) ? 3 : 0, null);
+    for (int i = 0; i < 100; i++) {
+      admissionControl.acquire("a", "r");
+      admissionControl.release("a", "r", 10 * MS);
+      admissionControl.acquire("b", "r");
+      admissionControl.release("b", "r", 10 * MS);
+    }
+    assertThat(admissionControl.limiter("a", "r").getLimit(), is(1.0));
+    assertThat(admissionControl.limiter("b", "r").getLimit(), is(greaterThanOrEqualTo(40.0)));
+  }
+
+  @Test
+  void limitGrowsWithStableLatency() {
+    AdmissionControl.Limiter limiter = new AdmissionControl(10, 50, 0, tenant -> 0, null).limiter("a", "r");
+    for (int i = 0; i < 1000; i++) {
+      while (limiter.tryAcquire()) {
+        // fill up to the limit
+      }
+      limiter.release(10 * MS, 0);
+    }
+    assertThat(limiter.getLimit(), is(50.0));
+  }
+
+  @Test
+  void limitShrinksWithRisingLatency() {
+    AdmissionControl.Limiter limiter = new AdmissionControl(40, 50, 0, tenant -> 0, null).limiter("a", "r");
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire();
+      limiter.release(10 * MS, 0);
+    }
+    double limit = limiter.getLimit();
+    for (int i = 0; i < 20; i++) {
+      limiter.tryAcquire();
+      limiter.release(200 * MS, 0);
+    }
+    assertThat(limiter.getLimit(), is(lessThan(limit / 2)));
+  }
+
+  @Test
+  void limitShrinksWithPoolQueue() {
+    AdmissionControl.Limiter limiter = new AdmissionControl(40, 50, 0, tenant -> 0, null).limiter("a", "r");
+    for (int i = 0; i < 100; i++) {
+      limiter.tryAcquire();
+      limiter.release(10 * MS, 3);
+    }
+    assertThat(limiter.getLimit(), is(1.0));
+    assertThat(limiter.getInFlight(), is(0));
+  }
+}
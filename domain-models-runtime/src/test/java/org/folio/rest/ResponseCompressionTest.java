@@ -0,0 +1,97 @@
+package org.folio.rest;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+import org.folio.okapi.testing.UtilityClassTester;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ResponseCompressionTest {
+  private static final String TEXT = "{\"id\": \"abc\"}\n".repeat(1000);
+
+  @Test
+  void utilityClass() {
+    UtilityClassTester.assertUtilityClass(ResponseCompression.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource(value = {
+      "null, identity",
+      "'', identity",
+      "identity, identity",
+      "gzip, gzip",
+      "'deflate, gzip', gzip",
+      "'GZIP;q=0.5', gzip",
+      "deflate, deflate",
+      "'gzip;q=0, deflate', deflate",
+      "'gzip;q=0', identity",
+      "'*', gzip",
+      "'gzip;q=0, *', deflate",
+      "'*, gzip;q=0', deflate",
+      "'gzip;q=0, deflate;q=0, *', identity",
+      "'*;q=0, deflate', deflate",
+      "'*;q=0', identity",
+      "br, identity",
+  }, nullValues = "null")
+  void negotiate(String acceptEncoding, String expected) {
+    assertThat(ResponseCompression.negotiate(acceptEncoding), is(expected));
+  }
+
+  private static String decode(InputStream inputStream) throws IOException {
+    try (InputStream in = inputStream) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+
+  @Test
+  void gzip() throws IOException {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap().add("Content-Type", "application/json");
+    Buffer body = ResponseCompression.encode("gzip, deflate", headers, Buffer.buffer(TEXT));
+    assertThat(headers.get("Content-Encoding"), is("gzip"));
+    assertThat(headers.get("Vary"), is("Accept-Encoding"));
+    assertThat(body.length(), is(lessThan(TEXT.length() / 10)));
+    assertThat(decode(new GZIPInputStream(new ByteArrayInputStream(body.getBytes()))), is(TEXT));
+  }
+
+  @Test
+  void deflate() throws IOException {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    Buffer body = ResponseCompression.encode("deflate", headers, Buffer.buffer(TEXT));
+    assertThat(headers.get("Content-Encoding"), is("deflate"));
+    assertThat(decode(new InflaterInputStream(new ByteArrayInputStream(body.getBytes()))), is(TEXT));
+  }
+
+  @Test
+  void belowThreshold() {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap();
+    Buffer body = ResponseCompression.encode("gzip", headers, Buffer.buffer("{}"));
+    assertThat(headers.get("Content-Encoding"), is("identity"));
+    assertThat(body.toString(), is("{}"));
+  }
+
+  @Test
+  void notCompressible() {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap().add("Content-Type", "image/jpeg");
+    Buffer body = ResponseCompression.encode("gzip", headers, Buffer.buffer(TEXT));
+    assertThat(headers.get("Content-Encoding"), is("identity"));
+    assertThat(body.length(), is(TEXT.length()));
+  }
+
+  @Test
+  void alreadyEncoded() {
+    MultiMap headers = MultiMap.caseInsensitiveMultiMap().add("Content-Encoding", "br");
+    Buffer body = ResponseCompression.encode("gzip", headers, Buffer.buffer(TEXT));
+    assertThat(headers.get("Content-Encoding"), is("br"));
+    assertThat(body.length(), is(TEXT.length()));
+  }
+}
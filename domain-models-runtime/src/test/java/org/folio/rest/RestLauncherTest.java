@@ -1,5 +1,6 @@
 package org.folio.rest;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -57,6 +58,34 @@ public class RestLauncherTest {
     assertFalse(launcher.enabled);
   }
 
+  @Test
+  @Order(4)
+  public void instances() {
+    vertx = Vertx.vertx();
+    assertEquals(3, RestLauncher.instances(3, true));
+    try {
+      System.setProperty(RestLauncher.INSTANCES_PROPERTY, "2");
+      assertEquals(2, RestLauncher.instances(1, false));
+      assertEquals(4, RestLauncher.instances(4, true));
+      // explicit -instances 1 wins over the property
+      assertEquals(1, RestLauncher.instances(1, true));
+    } finally {
+      System.clearProperty(RestLauncher.INSTANCES_PROPERTY);
+    }
+    assertEquals(Runtime.getRuntime().availableProcessors(), RestLauncher.instances(1, false));
+  }
+
+  @Test
+  @Order(5)
+  public void hasInstancesOption() {
+    vertx = Vertx.vertx();
+    assertFalse(RestLauncher.hasInstancesOption(null));
+    assertFalse(RestLauncher.hasInstancesOption(new String[] { "run", JAVA_TEST_VERTICLE }));
+    assertFalse(RestLauncher.hasInstancesOption(new String[] { "-Drmb.instances=2" }));
+    assertTrue(RestLauncher.hasInstancesOption(new String[] { "run", JAVA_TEST_VERTICLE, "-instances", "1" }));
+    assertTrue(RestLauncher.hasInstancesOption(new String[] { "--instances=1" }));
+  }
+
   private class DummyLauncher extends RestLauncher {
 
     private boolean enabled = false;
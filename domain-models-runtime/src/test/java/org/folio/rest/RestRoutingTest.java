@@ -9,9 +9,13 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.collection.ArrayMatching.arrayContaining;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
 import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.okapi.testing.UtilityClassTester;
 import org.folio.rest.jaxrs.model.Errors;
@@ -23,8 +27,10 @@ import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.validation.constraints.Null;
 import javax.ws.rs.core.Response;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 public class RestRoutingTest {
@@ -98,6 +104,71 @@ public class RestRoutingTest {
     assertThat(isValidRequest(new Foo("id", new Bar("z")), Foo.class).bar.baz.readme, is(nullValue()));
   }
 
+  private static class Qux {
+    @Valid
+    @JsonProperty("items")
+    private List<Foo> items;
+    public Qux(Foo... items) {
+      this.items = List.of(items);
+    }
+  }
+
+  @Test
+  void isValidRequestCascadeCollections() {
+    Errors errors = new Errors();
+    RestRouting.isValidRequest(null, new Qux(new Foo("id", null), new Foo(null, null)), errors, List.of(), Qux.class);
+    assertThat(errors.getErrors().get(0).getCode(), is("javax.validation.constraints.NotNull.message"));
+  }
+
+  @Test
+  void isValidRequestNoCascadeCollections() {
+    try {
+      RestRouting.setCascadeCollections(false);
+      Errors errors = new Errors();
+      RestRouting.isValidRequest(null, new Qux(new Foo(null, null)), errors, List.of(), Qux.class);
+      assertThat(errors.getErrors(), is(empty()));
+      assertThat(isValidRequest(new Foo("id", new Bar("z")), Foo.class).bar.baz.readme, is(nullValue()));
+    } finally {
+      RestRouting.setCascadeCollections(true);
+    }
+  }
+
+  @Test
+  void warmUpValidation() {
+    Set<Class<?>> done = new HashSet<>();
+    RestRouting.warmUpValidation(Qux.class, done);
+    assertThat(done, containsInAnyOrder(Qux.class, Foo.class, Bar.class, Baz.class));
+  }
+
+  private RoutingContext routingContext(String requestTimeoutHeader) {
+    HttpServerRequest request = mock(HttpServerRequest.class);
+    when(request.getHeader(RestRouting.REQUEST_TIMEOUT_HEADER)).thenReturn(requestTimeoutHeader);
+    RoutingContext routingContext = mock(RoutingContext.class);
+    when(routingContext.request()).thenReturn(request);
+    return routingContext;
+  }
+
+  @Test
+  void requestTimeout() {
+    try {
+      System.setProperty(RestRouting.REQUEST_TIMEOUT_PROPERTY, "5000");
+      System.setProperty(RestRouting.REQUEST_TIMEOUT_PROPERTY + "./slow", "60000");
+      RestRouting.resetRequestTimeouts();
+      assertThat(RestRouting.requestTimeout(routingContext(null), "/foo"), is(5000L));
+      assertThat(RestRouting.requestTimeout(routingContext(null), "/slow"), is(60000L));
+      assertThat(RestRouting.requestTimeout(routingContext("100"), "/foo"), is(100L));
+      assertThat(RestRouting.requestTimeout(routingContext("90000"), "/slow"), is(60000L));
+      assertThat(RestRouting.requestTimeout(routingContext("x"), "/foo"), is(5000L));
+      assertThat(RestRouting.requestTimeout(routingContext("0"), "/foo"), is(5000L));
+    } finally {
+      System.clearProperty(RestRouting.REQUEST_TIMEOUT_PROPERTY);
+      System.clearProperty(RestRouting.REQUEST_TIMEOUT_PROPERTY + "./slow");
+      RestRouting.resetRequestTimeouts();
+    }
+    assertThat(RestRouting.requestTimeout(routingContext(null), "/foo"), is(0L));
+    assertThat(RestRouting.requestTimeout(routingContext("100"), "/foo"), is(100L));
+  }
+
   Object parseEnum(String value, String defaultValue) throws Exception {
     return RestRouting.parseEnum(
         "org.folio.rest.jaxrs.model.CalendarPeriodsServicePointIdCalculateopeningGetUnit",
@@ -67,12 +67,17 @@ public class RestVerticleTest implements InitAPI, PostDeployVerticle, ShutdownAP
   }
 
   Future<String> deploy() {
+    return deploy(1);
+  }
+
+  Future<String> deploy(int instances) {
     shutdownCalls = 0;
     initCalls = 0;
     JsonObject config = new JsonObject();
     config.put("packageOfImplementations", "org.folio.rest");
     config.put("http.port", port);
-    return vertx.deployVerticle(RestVerticle.class, new DeploymentOptions().setConfig(config));
+    return vertx.deployVerticle(RestVerticle.class,
+        new DeploymentOptions().setConfig(config).setInstances(instances));
   }
 
   @Test
@@ -90,6 +95,24 @@ public class RestVerticleTest implements InitAPI, PostDeployVerticle, ShutdownAP
         }));
   }
 
+  /**
+   * The init, post deploy and shutdown hooks run once, not once per instance.
+   */
+  @Test
+  public void multipleInstances(TestContext context) {
+    initResult = true;
+    shutdownFail = false;
+    deploy(3)
+        .onComplete(context.asyncAssertSuccess(res -> {
+          context.assertEquals(2, initCalls);
+          context.assertEquals(0, shutdownCalls);
+          vertx.undeploy(res).onComplete(context.asyncAssertSuccess(x -> {
+            context.assertEquals(2, initCalls);
+            context.assertEquals(1, shutdownCalls);
+          }));
+        }));
+  }
+
   @Test
   public void shutdownFail(TestContext context) {
     initResult = true;
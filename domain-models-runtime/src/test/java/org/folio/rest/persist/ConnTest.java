@@ -0,0 +1,70 @@
+package org.folio.rest.persist;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.*;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.pgclient.PgConnection;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class ConnTest {
+
+  @ParameterizedTest
+  @CsvSource({
+    "SELECT 1, true",
+    "'  select * from t;  ', true",
+    "SHOW server_version, true",
+    "VALUES (1), true",
+    "'SELECT 1; DELETE FROM t', false",
+    "DELETE FROM t, false",
+    "'WITH x AS (DELETE FROM t RETURNING id) SELECT * FROM x', false",
+    "TRUNCATE t, false",
+    "selection, false",
+  })
+  void isRead(String sql, boolean expected) {
+    assertThat(Conn.isRead(sql), is(expected));
+  }
+
+  private static PgConnection pgConnection() {
+    PgConnection pgConnection = mock(PgConnection.class, RETURNS_DEEP_STUBS);
+    when(pgConnection.query(anyString()).execute()).thenReturn(Future.succeededFuture());
+    return pgConnection;
+  }
+
+  @Test
+  void invalidateAfterCommit() {
+    PostgresClient postgresClient = mock(PostgresClient.class);
+    Promise<Void> commit = Promise.promise();
+    new Conn(postgresClient, pgConnection(), commit.future()).execute("DELETE FROM t");
+    verify(postgresClient, never()).invalidateAllCounts();
+    commit.complete();
+    verify(postgresClient).invalidateAllCounts();
+  }
+
+  @Test
+  void noInvalidateAfterRollback() {
+    PostgresClient postgresClient = mock(PostgresClient.class);
+    Promise<Void> commit = Promise.promise();
+    new Conn(postgresClient, pgConnection(), commit.future()).execute("DELETE FROM t");
+    commit.fail("rollback");
+    verify(postgresClient, never()).invalidateAllCounts();
+  }
+
+  @Test
+  void invalidateWithoutTransaction() {
+    PostgresClient postgresClient = mock(PostgresClient.class);
+    new Conn(postgresClient, pgConnection()).execute("DELETE FROM t");
+    verify(postgresClient).invalidateAllCounts();
+  }
+
+  @Test
+  void noInvalidateForRead() {
+    PostgresClient postgresClient = mock(PostgresClient.class);
+    new Conn(postgresClient, pgConnection()).execute("SELECT 1");
+    verify(postgresClient, never()).invalidateAllCounts();
+  }
+}
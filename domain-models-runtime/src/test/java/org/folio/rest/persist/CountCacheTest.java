@@ -0,0 +1,73 @@
+package org.folio.rest.persist;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.Test;
+
+public class CountCacheTest {
+
+  @Test
+  public void putAndGet() {
+    CountCache countCache = new CountCache();
+    countCache.put("t", "q", countCache.generation("t"), 5, 60000);
+    assertThat(countCache.get("q"), is(5));
+    assertThat(countCache.get("other"), is(nullValue()));
+  }
+
+  @Test
+  public void ttlDisabled() {
+    CountCache countCache = new CountCache();
+    countCache.put("t", "q", countCache.generation("t"), 5, 0);
+    assertThat(countCache.get("q"), is(nullValue()));
+  }
+
+  @Test
+  public void expired() throws InterruptedException {
+    CountCache countCache = new CountCache();
+    countCache.put("t", "q", countCache.generation("t"), 5, 1);
+    Thread.sleep(5);
+    assertThat(countCache.get("q"), is(nullValue()));
+  }
+
+  @Test
+  public void invalidate() {
+    CountCache countCache = new CountCache();
+    countCache.put("t", "q", countCache.generation("t"), 5, 60000);
+    countCache.put("u", "r", countCache.generation("u"), 6, 60000);
+    countCache.invalidate("t");
+    assertThat(countCache.get("q"), is(nullValue()));
+    assertThat(countCache.get("r"), is(6));
+  }
+
+  @Test
+  public void invalidateAll() {
+    CountCache countCache = new CountCache();
+    countCache.put("t", "q", countCache.generation("t"), 5, 60000);
+    countCache.put("u", "r", countCache.generation("u"), 6, 60000);
+    countCache.invalidateAll();
+    assertThat(countCache.get("q"), is(nullValue()));
+    assertThat(countCache.get("r"), is(nullValue()));
+  }
+
+  @Test
+  public void writeDuringCountQuery() {
+    CountCache countCache = new CountCache();
+    long generation = countCache.generation("t");
+    countCache.invalidate("t");
+    countCache.put("t", "q", generation, 5, 60000);
+    assertThat(countCache.get("q"), is(nullValue()));
+  }
+
+  @Test
+  public void maxSize() {
+    CountCache countCache = new CountCache();
+    for (int i = 0; i <= CountCache.MAX_SIZE; i++) {
+      countCache.put("t", "q" + i, countCache.generation("t"), i, 60000);
+    }
+    assertThat(countCache.get("q0"), is(nullValue()));
+    assertThat(countCache.get("q1"), is(1));
+    assertThat(countCache.get("q" + CountCache.MAX_SIZE), is(CountCache.MAX_SIZE));
+  }
+}
@@ -0,0 +1,81 @@
+package org.folio.rest.persist;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertThrows;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.folio.rest.jaxrs.model.User;
+import org.folio.rest.jaxrs.model.UserdataCollection;
+import org.junit.Test;
+
+public class FieldProjectionTest {
+
+  private String sql(String... fields) {
+    return new FieldProjection(User.class, Arrays.asList(fields)).getFieldName();
+  }
+
+  @Test
+  public void topLevel() {
+    assertThat(sql("id", "username"), is(
+        "jsonb_strip_nulls(jsonb_build_object('id', jsonb->'id', 'username', jsonb->'username')) AS jsonb"));
+  }
+
+  @Test
+  public void nested() {
+    assertThat(sql("id", "metadata.createdDate", "metadata.createdByUserId"), is(
+        "jsonb_strip_nulls(jsonb_build_object('id', jsonb->'id', 'metadata', "
+        + "CASE WHEN jsonb_typeof(jsonb->'metadata') = 'object' THEN jsonb_build_object("
+        + "'createdDate', jsonb->'metadata'->'createdDate', "
+        + "'createdByUserId', jsonb->'metadata'->'createdByUserId') END)) AS jsonb"));
+  }
+
+  @Test
+  public void completePropertyWins() {
+    String expected = "jsonb_strip_nulls(jsonb_build_object('metadata', jsonb->'metadata')) AS jsonb";
+    assertThat(sql("metadata", "metadata.createdDate"), is(expected));
+    assertThat(sql("metadata.createdDate", "metadata"), is(expected));
+  }
+
+  @Test
+  public void getFields() {
+    List<String> fields = Arrays.asList("id", "username");
+    FieldProjection projection = new FieldProjection(User.class, fields);
+    assertThat(projection.getFields(), is(fields));
+    assertThat(projection.toString(), is(projection.getFieldName()));
+  }
+
+  @Test
+  public void of() {
+    assertThat(FieldProjection.of(User.class, null), is(nullValue()));
+    assertThat(FieldProjection.of(User.class, Collections.emptyList()), is(nullValue()));
+    assertThat(FieldProjection.of(User.class, Arrays.asList("id")).getFieldName(),
+        is("jsonb_strip_nulls(jsonb_build_object('id', jsonb->'id')) AS jsonb"));
+  }
+
+  private void assertInvalid(Class<?> clazz, String field, String message) {
+    IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+        () -> new FieldProjection(clazz, Arrays.asList("id", field)));
+    assertThat(e.getMessage(), is(message));
+  }
+
+  @Test
+  public void invalid() {
+    assertInvalid(User.class, "foo", "Unknown field: foo");
+    assertInvalid(User.class, "metadata.foo", "Unknown field: metadata.foo");
+    assertInvalid(User.class, "username.foo", "Unknown field: username.foo");
+    assertInvalid(User.class, "metadata.", "Invalid field name: metadata.");
+    assertInvalid(User.class, "user'name", "Invalid field name: user'name");
+    assertInvalid(User.class, null, "field must not be null");
+    assertInvalid(UserdataCollection.class, "users.id", "Cannot select a field within an array: users.id");
+  }
+
+  @Test
+  public void empty() {
+    List<String> fields = Collections.emptyList();
+    assertThrows(IllegalArgumentException.class, () -> new FieldProjection(User.class, fields));
+  }
+}
@@ -12,6 +12,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -22,6 +23,7 @@ import java.util.UUID;
 import javax.ws.rs.core.Response;
 
 import io.vertx.pgclient.PgException;
+import org.folio.cql2pgjson.CQL2PgJSON;
 import org.folio.okapi.common.XOkapiHeaders;
 import org.folio.okapi.testing.UtilityClassTester;
 import org.folio.postgres.testing.PostgresTesterContainer;
@@ -34,6 +36,7 @@ import org.folio.rest.jaxrs.model.UserdataCollection;
 import org.folio.rest.jaxrs.model.Users;
 import org.folio.rest.jaxrs.model.Users.PostUsersResponse;
 import org.folio.rest.jaxrs.resource.support.ResponseDelegate;
+import org.folio.rest.persist.cql.CQLWrapper;
 import org.folio.rest.persist.ddlgen.SchemaMaker;
 import org.folio.rest.tools.utils.VertxUtils;
 import org.junit.AfterClass;
@@ -503,6 +506,85 @@ public class PgUtilIT {
         }));
   }
 
+  @Test
+  public void getWithFields(TestContext testContext) {
+    PostgresClient pg = PostgresClient.getInstance(vertx, "testtenant");
+    insert(testContext, pg, "getWithFields", 3);
+
+    PgUtil.get("users", User.class, UserdataCollection.class, "username=getWithFields*", "auto", 0, 10,
+        Arrays.asList("username"), okapiHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class)
+    .onComplete(testContext.asyncAssertSuccess(response -> {
+      assertThat(response.getStatus(), is(200));
+      UserdataCollection collection = (UserdataCollection) response.getEntity();
+      assertThat(collection.getTotalRecords(), is(3));
+      for (User user : collection.getUsers()) {
+        assertThat(user.getUsername(), startsWith("getWithFields "));
+        assertThat(user.getId(), is(nullValue()));
+      }
+    }));
+  }
+
+  @Test
+  public void getWithUnknownField(TestContext testContext) {
+    PgUtil.get("users", User.class, UserdataCollection.class, "username=b", "auto", 0, 10,
+        Arrays.asList("username", "foo"), okapiHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class)
+    .onComplete(asyncAssertSuccess(testContext, 400, "Unknown field: foo"));
+  }
+
+  @Test
+  public void getJsonText(TestContext testContext) {
+    PostgresClient pg = PostgresClient.getInstance(vertx, "testtenant");
+    insert(testContext, pg, "getJsonText", 5);
+
+    PgUtil.getJsonText("users", UserdataCollection.class, "username=getJsonText* sortBy username", "exact", 1, 3,
+        okapiHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class)
+    .onComplete(testContext.asyncAssertSuccess(response -> {
+      assertThat(response.getStatus(), is(200));
+      assertThat(response.getHeaderString("Content-Type"), is("application/json"));
+      UserdataCollection collection = Json.decodeValue((String) response.getEntity(), UserdataCollection.class);
+      assertThat(collection.getTotalRecords(), is(5));
+      assertThat(collection.getUsers().size(), is(3));
+      assertThat(collection.getUsers().get(0).getUsername(), is("getJsonText 2"));
+      assertThat(collection.getUsers().get(2).getUsername(), is("getJsonText 4"));
+    }));
+  }
+
+  @Test
+  public void getJsonTextWithoutTotalRecords(TestContext testContext) {
+    PgUtil.getJsonText("users", UserdataCollection.class, "username=getJsonTextNone", "none", 0, 10,
+        okapiHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class)
+    .onComplete(testContext.asyncAssertSuccess(response -> {
+      assertThat(response.getStatus(), is(200));
+      assertThat(response.getEntity(), is("{\"users\":[]}"));
+    }));
+  }
+
+  @Test
+  public void getJsonTextByInvalidCql(TestContext testContext) {
+    PgUtil.getJsonText("users", UserdataCollection.class, "/", "auto", 0, 9,
+        okapiHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class)
+    .onComplete(asyncAssertSuccess(testContext, 400));
+  }
+
+  @Test
+  public void getJsonTextWithInvalidTable(TestContext testContext) {
+    PgUtil.getJsonText("foo'bar", UserdataCollection.class, "username=b", "auto", 0, 9,
+        okapiHeaders, vertx.getOrCreateContext(), Users.GetUsersResponse.class)
+    .onComplete(asyncAssertSuccess(testContext, 500));
+  }
+
+  @Test
+  public void collectionElement() throws Exception {
+    assertThat(PgUtil.collectionElement(UserdataCollection.class), is("users"));
+  }
+
+  @Test
+  public void collectionJson() {
+    assertThat(PgUtil.collectionJson("users", Arrays.asList("{\"a\":1}", "{\"b\":2}"), 7),
+        is("{\"users\":[{\"a\":1},{\"b\":2}],\"totalRecords\":7}"));
+    assertThat(PgUtil.collectionJson("items", Collections.emptyList(), null), is("{\"items\":[]}"));
+  }
+
   @Test
   public void getByInvalidCql(TestContext testContext) {
     PgUtil.get("users", User.class, UserdataCollection.class, "/", 0, 9,
@@ -1322,6 +1404,104 @@ public class PgUtilIT {
     assertThat(msg, containsString("Unsupported modifier sort.respectaccents"));
   }
 
+  private PgUtil.PreparedCQL indexSortCql(String table, String cql, int offset, int limit) throws Exception {
+    CQL2PgJSON cql2pgJson = new CQL2PgJSON(table + ".jsonb");
+    cql2pgJson.setDbSchemaPath("templates/db_scripts/indexSort.json");
+    return new PgUtil.PreparedCQL(table, new CQLWrapper(cql2pgJson, cql, limit, offset), okapiHeaders);
+  }
+
+  private static String indexSortSql(PgUtil.PreparedCQL preparedCql, int offset, int limit) throws Exception {
+    PgUtil.OptimizedSql optimizedSql = PgUtil.indexSortSql(preparedCql, offset, limit);
+    return optimizedSql == null ? null : optimizedSql.sql;
+  }
+
+  private List<String> indexSortUsernames(TestContext testContext, String cql, int offset, int limit)
+      throws Exception {
+
+    String sql = indexSortSql(indexSortCql("users", cql, offset, limit), offset, limit);
+    assertThat(sql, is(notNullValue()));
+    List<String> usernames = new ArrayList<>();
+    Async async = testContext.async();
+    PostgresClient.getInstance(vertx, "testtenant").select(sql, QUERY_TIMEOUT,
+        testContext.asyncAssertSuccess(rowSet -> {
+          rowSet.forEach(row -> usernames.add(((JsonObject) row.getValue("jsonb")).getString("username")));
+          async.complete();
+        }));
+    async.awaitSuccess(10000 /* ms */);
+    return usernames;
+  }
+
+  @Test
+  public void indexSortOptimizedSql(TestContext testContext) throws Exception {
+    setUpUserDBForTest(testContext, PostgresClient.getInstance(vertx, "testtenant"));
+    // found within the first optimizedSqlSize index entries
+    assertThat(indexSortUsernames(testContext, "username=foo sortBy username", 1, 3),
+        is(Arrays.asList("b foo 2", "b foo 3", "b foo 4")));
+    assertThat(indexSortUsernames(testContext, "username=foo sortBy username/sort.descending id", 0, 3),
+        is(Arrays.asList("d foo 5", "d foo 4", "d foo 3")));
+    // not enough records within the first optimizedSqlSize index entries
+    assertThat(indexSortUsernames(testContext, "username=foo sortBy username/sort.descending", 3, 4),
+        is(Arrays.asList("d foo 2", "d foo 1", "b foo 5", "b foo 4")));
+    assertThat(indexSortUsernames(testContext, "username=foo sortBy username", 8, 10),
+        is(Arrays.asList("d foo 4", "d foo 5")));
+  }
+
+  @Test
+  public void indexSortTotalRecords(TestContext testContext) {
+    setUpUserDBForTest(testContext, PostgresClient.getInstance(vertx, "testtenant"));
+    // sortField title doesn't match, the fallback to the indexSort.json sort index applies
+    PgUtil.getWithOptimizedSql("templates/db_scripts/indexSort.json", "users", User.class,
+        UserdataCollection.class, "title", "username=foo sortBy username", 1, 3, QUERY_TIMEOUT,
+        okapiHeaders, vertx.getOrCreateContext(), ResponseImpl.class)
+    .onComplete(testContext.asyncAssertSuccess(response -> {
+      assertThat(response.getStatus(), is(200));
+      UserdataCollection c = (UserdataCollection) response.getEntity();
+      assertThat(c.getUsers().size(), is(3));
+      assertThat(c.getUsers().get(0).getUsername(), is("b foo 2"));
+      assertThat(c.getTotalRecords(), is(10));
+    }));
+  }
+
+  @Test
+  public void indexSortTotalRecordsNoMatch(TestContext testContext) {
+    setUpUserDBForTest(testContext, PostgresClient.getInstance(vertx, "testtenant"));
+    PgUtil.getWithOptimizedSql("templates/db_scripts/indexSort.json", "users", User.class,
+        UserdataCollection.class, "title", "username=bar sortBy username", 0, 3, QUERY_TIMEOUT,
+        okapiHeaders, vertx.getOrCreateContext(), ResponseImpl.class)
+    .onComplete(testContext.asyncAssertSuccess(response -> {
+      assertThat(response.getStatus(), is(200));
+      UserdataCollection c = (UserdataCollection) response.getEntity();
+      assertThat(c.getUsers().size(), is(0));
+      assertThat(c.getTotalRecords(), is(0));
+    }));
+  }
+
+  @Test
+  public void indexSortNotOptimized() throws Exception {
+    // no index
+    assertThat(indexSortSql(indexSortCql("users", "username=foo sortBy email", 0, 10), 0, 10),
+        is(nullValue()));
+    // no sortBy
+    assertThat(indexSortSql(indexSortCql("users", "username=foo", 0, 10), 0, 10),
+        is(nullValue()));
+    // index doesn't match respectCase
+    assertThat(indexSortSql(
+        indexSortCql("users", "username=foo sortBy username/respectCase", 0, 10), 0, 10), is(nullValue()));
+    // no limit
+    assertThat(indexSortSql(indexSortCql("users", "username=foo sortBy username", 0, -1), 0, -1),
+        is(nullValue()));
+    // optimizedSqlSize 0 in schema.json
+    assertThat(indexSortSql(
+        indexSortCql("duplicateid", "username=foo sortBy username", 0, 10), 0, 10), is(nullValue()));
+  }
+
+  @Test
+  public void indexSortOptimizedSqlSize() throws Exception {
+    String sql = indexSortSql(indexSortCql("users", "username=foo sortBy username", 0, 10), 0, 10);
+    assertThat(sql, containsString(" OFFSET 10000 LIMIT 1"));
+    assertThat(PgUtil.getOptimizedSqlSize(null), is(PgUtil.getOptimizedSqlSize()));
+  }
+
   private void truncateUsers(TestContext testContext, PostgresClient pg) {
     Async async = testContext.async();
     pg.execute("truncate " + schema + ".users CASCADE", testContext.asyncAssertSuccess(truncated -> {
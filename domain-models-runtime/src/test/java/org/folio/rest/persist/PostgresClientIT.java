@@ -23,12 +23,15 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collector;
 import java.util.stream.Stream;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.CompositeFuture;
+import io.vertx.core.Context;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
@@ -77,6 +80,7 @@ import org.folio.rest.persist.helpers.LocalRowSet;
 import org.folio.rest.persist.helpers.Poline;
 import org.folio.rest.persist.helpers.SimplePojo;
 import org.folio.rest.persist.interfaces.Results;
+import org.folio.rest.tools.utils.CancellationToken;
 import org.folio.rest.tools.utils.VertxUtils;
 import org.junit.After;
 import org.junit.AfterClass;
@@ -844,6 +848,111 @@ public class PostgresClientIT {
     }));
   }
 
+  @Test
+  public void connWithCancellation(TestContext context) {
+    PostgresClient client = postgresClient();
+    Context vertxContext = vertx.getOrCreateContext();
+    vertxContext.runOnContext(run -> {
+      CancellationToken token = CancellationToken.create(vertxContext);
+      vertx.setTimer(100, timer -> token.cancel());
+      client.withConn(conn -> conn.execute("SELECT pg_sleep(3)"))
+      .onComplete(context.asyncAssertFailure(e -> {
+        assertThat(e.getMessage(), containsString("57014"));  // query_canceled
+      }));
+    });
+  }
+
+  @Test
+  public void transWithCancellation(TestContext context) {
+    PostgresClient client = postgresClient();
+    Context vertxContext = vertx.getOrCreateContext();
+    vertxContext.runOnContext(run -> {
+      CancellationToken token = CancellationToken.create(vertxContext);
+      vertx.setTimer(100, timer -> token.cancel());
+      client.withTrans(trans -> trans.getPgConnection().query("SELECT 1, pg_sleep(3)").execute())
+      .onComplete(context.asyncAssertFailure(e -> {
+        assertThat(e.getMessage(), containsString("57014"));  // query_canceled
+      }));
+    });
+  }
+
+  @Test
+  public void connWithDeadline(TestContext context) {
+    PostgresClient client = postgresClient();
+    Context vertxContext = vertx.getOrCreateContext();
+    vertxContext.runOnContext(run -> {
+      CancellationToken.create(vertxContext).setTimeout(200);
+      client.withConn(conn -> conn.execute("SELECT pg_sleep(3)"))
+      .onComplete(context.asyncAssertFailure(e -> {
+        assertThat(e.getMessage(), containsString("57014"));  // query_canceled
+      }));
+    });
+  }
+
+  @Test
+  public void connDeadlineExceeded(TestContext context) {
+    PostgresClient client = postgresClient();
+    Context vertxContext = vertx.getOrCreateContext();
+    vertxContext.runOnContext(run -> {
+      CancellationToken.create(vertxContext).setTimeout(-1);
+      client.withTrans(conn -> Future.failedFuture("connection not expected"))
+      .onComplete(context.asyncAssertFailure(e -> {
+        assertThat(e, is(instanceOf(TimeoutException.class)));
+      }));
+    });
+  }
+
+  @Test
+  public void connAlreadyCancelled(TestContext context) {
+    PostgresClient client = postgresClient();
+    Context vertxContext = vertx.getOrCreateContext();
+    vertxContext.runOnContext(run -> {
+      CancellationToken.create(vertxContext).cancel();
+      client.withReadConn(conn -> Future.failedFuture("connection not expected"))
+      .onComplete(context.asyncAssertFailure(e -> {
+        assertThat(e, is(instanceOf(CancellationException.class)));
+        assertThat(e.getMessage(), containsString("cancelled"));
+      }));
+    });
+  }
+
+  @Test
+  public void selectWithCancellation(TestContext context) {
+    PostgresClient client = postgresClient();
+    Context vertxContext = vertx.getOrCreateContext();
+    vertxContext.runOnContext(run -> {
+      CancellationToken token = CancellationToken.create(vertxContext);
+      vertx.setTimer(100, timer -> token.cancel());
+      client.select("SELECT pg_sleep(3)", context.asyncAssertFailure(e -> {
+        assertThat(e.getMessage(), containsString("57014"));  // query_canceled
+      }));
+    });
+  }
+
+  @Test
+  public void selectSingleWithDeadline(TestContext context) {
+    PostgresClient client = postgresClient();
+    Context vertxContext = vertx.getOrCreateContext();
+    vertxContext.runOnContext(run -> {
+      CancellationToken.create(vertxContext).setTimeout(200);
+      client.selectSingle("SELECT pg_sleep(3)", context.asyncAssertFailure(e -> {
+        assertThat(e.getMessage(), containsString("57014"));  // query_canceled
+      }));
+    });
+  }
+
+  @Test
+  public void selectAlreadyCancelled(TestContext context) {
+    PostgresClient client = postgresClient();
+    Context vertxContext = vertx.getOrCreateContext();
+    vertxContext.runOnContext(run -> {
+      CancellationToken.create(vertxContext).cancel();
+      client.select("SELECT 1", context.asyncAssertFailure(e -> {
+        assertThat(e, is(instanceOf(CancellationException.class)));
+      }));
+    });
+  }
+
   @Test
   public void updateSectionCriterion(TestContext context) {
     // update key=z where key='
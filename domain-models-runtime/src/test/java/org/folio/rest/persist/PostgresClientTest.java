@@ -44,6 +44,7 @@ import io.vertx.sqlclient.SqlResult;
 import io.vertx.sqlclient.Transaction;
 import io.vertx.sqlclient.impl.RowDesc;
 import io.vertx.sqlclient.spi.DatabaseMetadata;
+import org.folio.rest.persist.cql.CQLWrapper;
 import org.folio.rest.persist.facets.FacetField;
 import org.folio.rest.persist.helpers.LocalRowSet;
 import org.folio.rest.security.AES;
@@ -133,6 +134,22 @@ public class PostgresClientTest {
     PostgresClient.setExplainQueryThreshold(previous);
   }
 
+  @Test
+  public void configCountEstimate() throws Exception {
+    long previousThreshold = PostgresClient.getTableEstimateThreshold();
+    long previousTtl = PostgresClient.getCountCacheTtl();
+    JsonObject env = new JsonObject()
+        .put("DB_TABLE_ESTIMATE_THRESHOLD", 5000L)
+        .put("DB_COUNT_CACHE_TTL", 0L);
+    JsonObject config = PostgresClient.getPostgreSQLClientConfig("footenant", "aSchemaName", env, true);
+    assertThat(config.containsKey("DB_TABLE_ESTIMATE_THRESHOLD"), is(false));
+    assertThat(config.containsKey("DB_COUNT_CACHE_TTL"), is(false));
+    assertThat(PostgresClient.getTableEstimateThreshold(), is(5000L));
+    assertThat(PostgresClient.getCountCacheTtl(), is(0L));
+    PostgresClient.setTableEstimateThreshold(previousThreshold);
+    PostgresClient.setCountCacheTtl(previousTtl);
+  }
+
   @Test
   public void configFile() throws Exception {
     // values from src/test/resources/my-postgres-conf.json
@@ -553,6 +570,82 @@ public class PostgresClientTest {
       }).onSuccess(reply -> assertTestPojoResults(reply.getResults(), total));
   }
 
+  @Test
+  public void buildQueryHelperWithoutFilterUsesTableStatistics() throws Exception {
+    PostgresClient testClient = PostgresClient.testClient();
+    QueryHelper queryHelper = testClient.buildQueryHelper("test_pojo", "jsonb", new CQLWrapper(), false, null, null);
+    assertThat(queryHelper.countQuery, containsString("pg_class"));
+    assertThat(queryHelper.cacheCount, is(true));
+  }
+
+  @Test
+  public void buildQueryHelperWithFilterUsesCountEstimate() throws Exception {
+    PostgresClient testClient = PostgresClient.testClient();
+    CQLWrapper wrapper = new CQLWrapper().setWhereClause("WHERE id IS NOT NULL");
+    QueryHelper queryHelper = testClient.buildQueryHelper("test_pojo", "jsonb", wrapper, false, null, null);
+    assertThat(queryHelper.countQuery, containsString("count_estimate("));
+    assertThat(queryHelper.cacheCount, is(true));
+  }
+
+  @Test
+  public void buildQueryHelperExactCount() throws Exception {
+    PostgresClient testClient = PostgresClient.testClient();
+    CQLWrapper wrapper = new CQLWrapper().setTotalRecords("exact");
+    QueryHelper queryHelper = testClient.buildQueryHelper("test_pojo", "jsonb", wrapper, false, null, null);
+    assertThat(queryHelper.countQuery, stringContainsInOrder("SELECT COUNT(*) FROM ", ".test_pojo"));
+    assertThat(queryHelper.cacheCount, is(false));
+  }
+
+  @Test
+  public void countIsCached() {
+    PostgresClient testClient = PostgresClient.testClient();
+    PgConnection connection = countConnection(5000);
+    QueryHelper queryHelper = new QueryHelper("count_cached");
+    queryHelper.countQuery = "SELECT 5000";
+    queryHelper.cacheCount = true;
+    assertThat(testClient.count(connection, queryHelper).result(), is(5000));
+    assertThat(testClient.count(connection, queryHelper).result(), is(5000));
+    verify(connection, times(1)).query(anyString());
+  }
+
+  @Test
+  public void countIsNotCached() {
+    PostgresClient testClient = PostgresClient.testClient();
+    PgConnection connection = countConnection(5);
+    QueryHelper queryHelper = new QueryHelper("count_not_cached");
+    queryHelper.countQuery = "SELECT 5";
+    assertThat(testClient.count(connection, queryHelper).result(), is(5));
+    assertThat(testClient.count(connection, queryHelper).result(), is(5));
+    verify(connection, times(2)).query(anyString());
+  }
+
+  @Test
+  public void countCacheInvalidatedByWrite() {
+    PostgresClient testClient = PostgresClient.testClient();
+    PgConnection connection = countConnection(7);
+    QueryHelper queryHelper = new QueryHelper("count_invalidated");
+    queryHelper.countQuery = "SELECT 7";
+    queryHelper.cacheCount = true;
+    assertThat(testClient.count(connection, queryHelper).result(), is(7));
+    testClient.invalidateCount("count_invalidated");
+    assertThat(testClient.count(connection, queryHelper).result(), is(7));
+    assertThat(testClient.count(connection, queryHelper).result(), is(7));
+    verify(connection, times(2)).query(anyString());
+  }
+
+  @SuppressWarnings("unchecked")
+  private PgConnection countConnection(int count) {
+    List<String> columnNames = Arrays.asList("count");
+    Row row = new RowImpl(new RowDesc(columnNames));
+    row.addInteger(count);
+    RowSet<Row> rowSet = new LocalRowSet(1).withColumns(columnNames).withRows(Arrays.asList(row));
+    Query<RowSet<Row>> query = mock(Query.class);
+    when(query.execute()).thenReturn(Future.succeededFuture(rowSet));
+    PgConnection connection = mock(PgConnection.class);
+    when(connection.query(anyString())).thenReturn(query);
+    return connection;
+  }
+
   @Test
   public void testProcessQuery() {
     PostgresClient testClient = PostgresClient.testClient();
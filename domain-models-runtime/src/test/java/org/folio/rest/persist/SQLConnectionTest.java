@@ -13,4 +13,13 @@ public class SQLConnectionTest {
     assertThrows(NullPointerException.class, () -> new SQLConnection(pgConnection, null, 5L).close(null));
     verify(pgConnection).close();
   }
+
+  @Test
+  void closeRunsOnClose() {
+    PgConnection pgConnection = mock(PgConnection.class);
+    Runnable onClose = mock(Runnable.class);
+    new SQLConnection(pgConnection, null, null, onClose).close(null);
+    verify(onClose).run();
+    verify(pgConnection).close();
+  }
 }
@@ -333,6 +333,30 @@ public class SchemaMakerTest {
     assertThat(ddl, containsString("GIN ' || $rmb$((lower(f_unaccent(jsonb->>'title')))public.gin_trgm_ops)"));
     assertThat(ddl, containsString("GIN ' || $rmb$(get_tsvector(f_unaccent(jsonb->>'title')))"));
     assertThat(ddl, containsString("GIN ' || $rmb$(get_tsvector((jsonb->>'author')))"));
+    assertThat(ddl, containsString("item_contributors_names_idx_containment ON harvard_circ.item USING GIN "
+        + "' || $rmb$(((jsonb->'contributors'->'names'))jsonb_path_ops)"));
+  }
+
+  @Test
+  public void generatedColumns() throws IOException, TemplateException {
+    SchemaMaker schemaMaker = schemaMaker("harvard", "circ", TenantOperation.CREATE,
+      null, null, "templates/db_scripts/generatedColumns.json");
+
+    String ddl = tidy(schemaMaker.generateSchemas());
+
+    assertThat(ddl, containsString("ALTER TABLE harvard_circ.item ADD COLUMN IF NOT EXISTS barcode text "
+        + "GENERATED ALWAYS AS(jsonb->>'barcode')STORED;"));
+    assertThat(ddl, containsString("DROP INDEX IF EXISTS harvard_circ.item_barcode_idx;"));
+    // the unique index uses the text column
+    assertThat(ddl, containsString("(lower(f_unaccent(barcode)))"));
+    assertThat(ddl, containsString("ADD COLUMN IF NOT EXISTS quantity numeric GENERATED ALWAYS AS"
+        + "(CASE WHEN jsonb_typeof(jsonb->'purchaseOrder'->'quantity')= 'number' "
+        + "THEN(jsonb->'purchaseOrder'->>'quantity')::numeric END)STORED;"));
+    assertThat(ddl, containsString("CREATE INDEX IF NOT EXISTS item_quantity_idx ON harvard_circ.item(quantity);"));
+    assertThat(ddl, containsString("ADD COLUMN IF NOT EXISTS updated_date timestamptz GENERATED ALWAYS AS"
+        + "(rmb_to_timestamptz(jsonb->'metadata'->>'updatedDate'))STORED;"));
+    assertThat(ddl, containsString("ADD COLUMN IF NOT EXISTS holdings_record_id uuid GENERATED ALWAYS AS"));
+    assertThat(ddl, containsString("ALTER TABLE harvard_circ.item DROP COLUMN IF EXISTS status CASCADE;"));
   }
 
   @Test
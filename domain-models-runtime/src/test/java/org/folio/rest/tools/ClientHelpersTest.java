@@ -4,6 +4,8 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
+import java.util.Map;
+import org.folio.rest.tools.utils.JsonFormat;
 import org.assertj.core.api.WithAssertions;
 import org.junit.jupiter.api.Test;
 
@@ -40,5 +42,22 @@ class ClientHelpersTest implements WithAssertions {
     assertThat(json).isEqualTo(new JsonObject().put("bar", "1").put("baz", "2"));
   }
 
+  @Test
+  void encode() throws Exception {
+    class Foo {
+      @JsonProperty String bar;
+    }
+    Foo foo = new Foo();
+    foo.bar = "1";
+    assertThat(ClientHelpers.encode(foo, JsonFormat.JSON).toString()).isEqualTo("{\"bar\":\"1\"}");
+    for (JsonFormat format : new JsonFormat [] { JsonFormat.SMILE, JsonFormat.CBOR }) {
+      assertThat(format.decode(ClientHelpers.encode(foo, format), Map.class)).isEqualTo(Map.of("bar", "1"));
+    }
+    assertThatThrownBy(() -> ClientHelpers.encode(null, JsonFormat.SMILE))
+    .hasMessageContaining("null");
+    assertThatThrownBy(() -> ClientHelpers.encode(new Object() {}, JsonFormat.CBOR))
+    .isInstanceOf(IllegalArgumentException.class);
+  }
+
 
 }
@@ -10,6 +10,8 @@ import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServerOptions;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.TestContext;
 import io.vertx.ext.unit.junit.VertxUnitRunner;
 import io.vertx.ext.web.Router;
@@ -21,6 +23,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
@@ -41,6 +44,7 @@ public class HttpModuleClient2Test {
   String lastPath;
   Buffer lastBuffer;
   MultiMap lastHeaders;
+  int chunkRequests;
 
   private void myPreHandle(RoutingContext ctx) {
     lastBuffer = Buffer.buffer();
@@ -63,6 +67,18 @@ public class HttpModuleClient2Test {
     Router router = Router.router(vertx);
 
     router.routeWithRegex("/test.*").handler(this::myPreHandle);
+    router.route("/chunk").handler(ctx -> {
+      chunkRequests++;
+      String query = ctx.request().getParam("query");
+      if (query.contains("bad")) {
+        ctx.response().setStatusCode(400).end("bad");
+        return;
+      }
+      ctx.response().end(new JsonObject()
+          .put("queries", new JsonArray().add(query))
+          .put("totalRecords", 1)
+          .put("first", query).encode());
+    });
 
     Promise<Void> promise = Promise.promise();
     HttpServerOptions so = new HttpServerOptions().setHandle100ContinueAutomatically(true);
@@ -200,6 +216,56 @@ public class HttpModuleClient2Test {
     cf.get(5, TimeUnit.SECONDS);
   }
 
+  private Response idsResponse(String ... ids) {
+    Response response = new Response();
+    response.setBody(new JsonObject().put("ids", new JsonArray(List.of((Object []) ids))));
+    return response;
+  }
+
+  @Test
+  public void testChunks(TestContext context) throws Exception {
+    HttpModuleClient2 httpModuleClient2 = new HttpModuleClient2("localhost", port1, "tenant");
+    BuildCQL cql = new BuildCQL(idsResponse("a", "b", "c", "d", "e"), "ids[*]", "id");
+    cql.setChunkSize(2);
+    cql.setConcurrency(2);
+
+    Response response = httpModuleClient2.request("/chunk", cql).get(5, TimeUnit.SECONDS);
+
+    context.assertNull(response.error);
+    context.assertEquals(3, chunkRequests);
+    context.assertEquals(new JsonArray().add("id==a or id==b").add("id==c or id==d").add("id==e"),
+        response.getBody().getJsonArray("queries"));
+    context.assertEquals(3, response.getBody().getInteger("totalRecords"));
+    context.assertEquals("id==a or id==b", response.getBody().getString("first"));
+    context.assertEquals("/chunk", response.getEndpoint());
+  }
+
+  @Test
+  public void testChunksChained(TestContext context) throws Exception {
+    HttpModuleClient2 httpModuleClient2 = new HttpModuleClient2("localhost", port1, "tenant");
+    BuildCQL cql = new BuildCQL(null, "ids[*]", "id");
+    cql.setChunkSize(1);
+
+    Response response = CompletableFuture.completedFuture(idsResponse("a", "b"))
+        .thenCompose(httpModuleClient2.chainedRequest("/chunk", new HashMap<>(), cql, null))
+        .get(5, TimeUnit.SECONDS);
+
+    context.assertEquals(new JsonArray().add("id==a").add("id==b"), response.getBody().getJsonArray("queries"));
+  }
+
+  @Test
+  public void testChunksError(TestContext context) throws Exception {
+    HttpModuleClient2 httpModuleClient2 = new HttpModuleClient2("localhost", port1, "tenant");
+    BuildCQL cql = new BuildCQL(idsResponse("a", "bad", "c"), "ids[*]", "id");
+    cql.setChunkSize(1);
+    cql.setConcurrency(1);
+
+    Response response = httpModuleClient2.request("/chunk", cql).get(5, TimeUnit.SECONDS);
+
+    context.assertEquals(400, response.getError().getInteger("statusCode"));
+    context.assertEquals(3, chunkRequests);
+  }
+
   @Test
   public void testWithBadPort(TestContext context) throws Exception {
     HttpModuleClient2 httpModuleClient2 = new HttpModuleClient2("localhost", port2, "tenant");
@@ -0,0 +1,31 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.folio.okapi.testing.UtilityClassTester;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class AcceptHeaderTest {
+
+  @Test
+  void utilityClass() {
+    UtilityClassTester.assertUtilityClass(AcceptHeader.class);
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "gzip, false",
+      "gzip;q=0, true",
+      "' gzip ; q=0.0 ', true",
+      "gzip;q=0.001, false",
+      "gzip;level=1;q=0, true",
+      "gzip;q=x, false",
+      "*;q=0, true",
+  })
+  void isRejected(String element, boolean expected) {
+    assertThat(AcceptHeader.isRejected(element), is(expected));
+  }
+}
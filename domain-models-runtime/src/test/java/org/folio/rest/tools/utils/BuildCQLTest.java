@@ -1,6 +1,8 @@
 package org.folio.rest.tools.utils;
 
 import static org.junit.Assert.assertEquals;
+
+import java.util.List;
 import org.folio.rest.tools.client.BuildCQL;
 import org.folio.rest.tools.client.Response;
 import org.folio.util.PercentCodec;
@@ -53,4 +55,63 @@ public class BuildCQLTest {
       assertEquals("&query1=" + PercentCodec.encode("group=librarian3 and group=librarian2"), g);
   }
 
+  @Test
+  public void chunks() {
+      Response r = new Response();
+      r.setBody(new JsonObject().put("arr", new JsonArray().add("a").add("b").addNull().add("c")));
+
+      BuildCQL buildCQL = new BuildCQL(r, "arr[*]", "id");
+      assertEquals(List.of(buildCQL.buildCQL()), buildCQL.buildCQLChunks());
+      buildCQL.setChunkSize(2);
+      assertEquals(List.of(
+          "?query=" + PercentCodec.encode("id==a or id==b"),
+          "?query=" + PercentCodec.encode("id==c")), buildCQL.buildCQLChunks());
+      buildCQL.setChunkSize(0);
+      assertEquals(1, buildCQL.buildCQLChunks().size());
+      assertEquals(List.of(), new BuildCQL(r, "arr3", "id").buildCQLChunks());
+  }
+
+  @Test
+  public void chunksOnlyForOr() {
+      Response r = new Response();
+      r.setBody(new JsonObject().put("arr", new JsonArray().add("a").add("b").add("c")));
+
+      BuildCQL and = new BuildCQL(r, "arr[*]", "id", "query", true, "and");
+      and.setChunkSize(2);
+      assertEquals(List.of(and.buildCQL()), and.buildCQLChunks());
+
+      BuildCQL or = new BuildCQL(r, "arr[*]", "id", "query", true, "OR");
+      or.setChunkSize(2);
+      assertEquals(2, or.buildCQLChunks().size());
+  }
+
+  @Test
+  public void chunksOnlyForExactMatch() {
+      Response r = new Response();
+      r.setBody(new JsonObject().put("arr", new JsonArray().add("a").add("b").add("c")));
+
+      BuildCQL wordMatch = new BuildCQL(r, "arr[*]", "title", "query", true, "or", "=");
+      wordMatch.setChunkSize(2);
+      assertEquals(List.of(wordMatch.buildCQL()), wordMatch.buildCQLChunks());
+  }
+
+  @Test
+  public void chunksWithRepeatedValues() {
+      Response r = new Response();
+      // the same holdingsRecordId of many items
+      r.setBody(new JsonObject().put("arr", new JsonArray()
+          .add("a").add("b").add("a").add("a").addNull().add("c").add("b").add("a")));
+
+      BuildCQL buildCQL = new BuildCQL(r, "arr[*]", "id");
+      buildCQL.setChunkSize(2);
+      assertEquals(List.of(
+          "?query=" + PercentCodec.encode("id==a or id==b"),
+          "?query=" + PercentCodec.encode("id==c")), buildCQL.buildCQLChunks());
+
+      // 3 distinct values fit into a single chunk
+      buildCQL.setChunkSize(3);
+      assertEquals(List.of("?query=" + PercentCodec.encode("id==a or id==b or id==c")),
+          buildCQL.buildCQLChunks());
+  }
+
 }
@@ -0,0 +1,70 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CancellationTokenTest {
+  static Vertx vertx;
+
+  @BeforeAll
+  static void beforeAll() {
+    vertx = Vertx.vertx();
+  }
+
+  @AfterAll
+  static void afterAll() {
+    vertx.close();
+  }
+
+  @Test
+  void cancel() {
+    Context context = vertx.getOrCreateContext();
+    CancellationToken token = CancellationToken.create(context);
+    assertThat(CancellationToken.get(context), is(sameInstance(token)));
+    List<String> calls = new ArrayList<>();
+    token.onCancel(() -> calls.add("a"));
+    long b = token.onCancel(() -> calls.add("b"));
+    token.onCancel(() -> calls.add("c"));
+    token.remove(b);
+    assertThat(CancellationToken.isCancelled(token), is(false));
+    token.cancel();
+    token.cancel();
+    assertThat(CancellationToken.isCancelled(token), is(true));
+    assertThat(calls, contains("a", "c"));
+    token.onCancel(() -> calls.add("d"));
+    assertThat(calls, contains("a", "c", "d"));
+  }
+
+  @Test
+  void deadline() {
+    CancellationToken token = CancellationToken.create(vertx.getOrCreateContext());
+    assertThat(token.remainingMillis(), is(Long.MAX_VALUE));
+    assertThat(CancellationToken.check(token).succeeded(), is(true));
+    token.setTimeout(60000);
+    assertThat(token.remainingMillis(), is(both(greaterThan(50000L)).and(lessThanOrEqualTo(60000L))));
+    assertThat(CancellationToken.check(token).succeeded(), is(true));
+    token.setTimeout(-1);
+    assertThat(CancellationToken.check(token).cause(), is(instanceOf(TimeoutException.class)));
+    token.cancel();
+    assertThat(CancellationToken.check(token).cause(), is(instanceOf(CancellationException.class)));
+  }
+
+  @Test
+  void none() {
+    assertThat(CancellationToken.get(null), is(nullValue()));
+    assertThat(CancellationToken.get(vertx.getOrCreateContext()), is(nullValue()));
+    assertThat(CancellationToken.current(), is(nullValue()));
+    assertThat(CancellationToken.isCancelled(null), is(false));
+    assertThat(CancellationToken.check(null).succeeded(), is(true));
+  }
+}
@@ -0,0 +1,72 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import io.vertx.core.buffer.Buffer;
+import java.util.Date;
+import java.util.Map;
+import org.folio.rest.jaxrs.model.Book;
+import org.folio.rest.jaxrs.model.Data;
+import org.folio.rest.jaxrs.model.Metadata;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class JsonFormatTest {
+
+  @ParameterizedTest
+  @CsvSource(value = {
+      "null, null",
+      "text/plain, null",
+      "application/json, JSON",
+      "'application/json; charset=UTF-8', JSON",
+      "Application/X-Jackson-Smile, SMILE",
+      "application/cbor, CBOR",
+  }, nullValues = "null")
+  void of(String contentType, JsonFormat expected) {
+    assertThat(JsonFormat.of(contentType), is(expected));
+  }
+
+  @ParameterizedTest
+  @CsvSource(value = {
+      "null, JSON",
+      "*/*, JSON",
+      "'application/json, application/cbor', JSON",
+      "'text/plain, application/cbor, application/json', CBOR",
+      "'application/x-jackson-smile;q=0, application/cbor;q=0.5', CBOR",
+      "'application/x-jackson-smile;q=0', JSON",
+      "application/x-jackson-smile, SMILE",
+  }, nullValues = "null")
+  void negotiate(String accept, JsonFormat expected) {
+    assertThat(JsonFormat.negotiate(accept), is(expected));
+  }
+
+  @Test
+  void accept() {
+    assertThat(JsonFormat.JSON.accept("application/json"), is("application/json"));
+    assertThat(JsonFormat.SMILE.accept("application/json, text/plain"),
+        is("application/x-jackson-smile, application/json, text/plain"));
+  }
+
+  @ParameterizedTest
+  @EnumSource(JsonFormat.class)
+  void roundTrip(JsonFormat format) throws Exception {
+    Book book = new Book().withStatus(3).withData(new Data().withTitle("t"))
+        .withMetadata(new Metadata().withCreatedDate(new Date(0)));
+    Buffer buffer = format.encode(book);
+    assertThat(format.isBinary(), is(not(buffer.toString().startsWith("{"))));
+    Book decoded = JsonFormat.decode(format.getMediaType(), buffer, Book.class);
+    assertThat(decoded.getStatus(), is(3));
+    assertThat(decoded.getData().getTitle(), is("t"));
+    assertThat(decoded.getMetadata().getCreatedDate(), is(new Date(0)));
+    // dates are written as text like ObjectMapperTool's mapper does
+    assertThat(format.decode(buffer, Map.class).get("metadata").toString(), containsString("1970-01-01"));
+  }
+
+  @Test
+  void decodeUnknownContentTypeAsJson() throws Exception {
+    assertThat(JsonFormat.decode("text/plain", Buffer.buffer("{\"status\":5}"), Book.class).getStatus(), is(5));
+  }
+}
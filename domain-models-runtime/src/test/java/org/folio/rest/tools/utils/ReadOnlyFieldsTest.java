@@ -0,0 +1,46 @@
+package org.folio.rest.tools.utils;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+import org.folio.okapi.testing.UtilityClassTester;
+import org.junit.jupiter.api.Test;
+
+class ReadOnlyFieldsTest {
+  static class Parent {
+    @Null
+    private String id = "i";
+    @NotNull
+    private String name = "n";
+  }
+
+  static class Child extends Parent {
+    @Null
+    private Integer count = 5;
+  }
+
+  @Test
+  void utilityClass() {
+    UtilityClassTester.assertUtilityClass(ReadOnlyFields.class);
+  }
+
+  @Test
+  void clear() {
+    Child child = new Child();
+    assertThat(ReadOnlyFields.clear(child, "count"), is(true));
+    assertThat(ReadOnlyFields.clear(child, "id"), is(true));
+    assertThat(child.count, is(nullValue()));
+    assertThat(((Parent) child).id, is(nullValue()));
+  }
+
+  @Test
+  void clearNotReadOnly() {
+    Child child = new Child();
+    assertThat(ReadOnlyFields.clear(child, "name"), is(false));
+    assertThat(ReadOnlyFields.clear(child, "unknown"), is(false));
+    assertThat(ReadOnlyFields.clear(null, "id"), is(false));
+    assertThat(((Parent) child).name, is("n"));
+  }
+}
@@ -0,0 +1,72 @@
+package org.folio.cql2pgjson;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.folio.cql2pgjson.exception.QueryValidationException;
+import org.folio.cql2pgjson.model.SqlSelect;
+import org.folio.rest.benchmarks.BenchmarkData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * CQL2PgJSON.toSql of queries the FOLIO UI and modules typically send, using a schema.json
+ * with b-tree, gin, full text and foreign key indexes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CQL2PgJSONBenchmark {
+
+  private static final Map<String, String> QUERIES = Map.of(
+      "exact", "hrid==in00000123",
+      "boolean", "title==\"harry pot*\" and hrid==in0001* not title==\"test\"",
+      "fullText", "title all \"history of science\" and contributors any \"doe roe\"",
+      "serverChoice", "\"harry potter\" sortBy title",
+      "arrayModifier", "identifiers ==/@identifierTypeId=" + BenchmarkData.uuid(7) + " \"0123456789\"",
+      "foreignKey", "holdingsRecords.callNumber==\"QA76*\"",
+      "uuidOr", IntStream.range(0, 50).mapToObj(i -> "id==" + BenchmarkData.uuid(i))
+          .collect(Collectors.joining(" or ")),
+      // 1000 ids like BuildCQL creates them
+      "uuidOr1000", IntStream.range(0, 1000).mapToObj(BenchmarkData::uuid)
+          .collect(Collectors.joining(" or ", "id==(", ")")),
+      // no = ANY array: each OR node of the chain fails the UUID check
+      "uuidOr1000Mixed", IntStream.range(0, 1000).mapToObj(i -> "id==" + BenchmarkData.uuid(i))
+          .collect(Collectors.joining(" or ", "hrid==in00000123 or ", "")),
+      "sort", "cql.allRecords=1 sortBy title/sort.descending hrid");
+
+  @Param({"exact", "boolean", "fullText", "serverChoice", "arrayModifier", "foreignKey", "uuidOr",
+      "uuidOr1000", "uuidOr1000Mixed", "sort"})
+  public String query;
+
+  private CQL2PgJSON cql2pgJson;
+  private String cql;
+
+  @Setup
+  public void setup() throws Exception {
+    cql2pgJson = new CQL2PgJSON("instance.jsonb", Arrays.asList("title", "contributors"));
+    cql2pgJson.setDbSchemaPath("benchmarks/schema.json");
+    cql = QUERIES.get(query);
+    // fail fast on a broken query instead of measuring the exception
+    toSql();
+  }
+
+  @Benchmark
+  public SqlSelect toSql() throws QueryValidationException {
+    return cql2pgJson.toSql(cql);
+  }
+}
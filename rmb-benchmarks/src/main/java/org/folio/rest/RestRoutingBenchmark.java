@@ -0,0 +1,123 @@
+package org.folio.rest;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import javax.ws.rs.core.Response;
+import org.folio.rest.benchmarks.BenchmarkData;
+import org.folio.rest.benchmarks.BenchmarkRecord;
+import org.folio.rest.benchmarks.BenchmarkRecords;
+import org.folio.rest.tools.AnnotationGrabber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * RestRouting parameter binding of a POST request with body, headers and query parameters,
+ * and sendResponse serialization of a collection. The RoutingContext is a stub-only mock
+ * so that the HTTP server isn't measured.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RestRoutingBenchmark {
+
+  /** whether the request body contains the read-only metadata that the validation removes */
+  @Param({"false", "true"})
+  public boolean readOnlyField;
+
+  @Param({"10", "100"})
+  public int records;
+
+  private RoutingContext routingContext;
+  private Buffer body;
+  private JsonObject params;
+  private Map<String, String> okapiHeaders;
+  private AsyncResult<Response> collectionResponse;
+
+  private static JsonObject param(String value, String type, String paramType, int order, String defaultValue) {
+    return new JsonObject().put("value", value).put("type", type).put("param_type", paramType)
+        .put("order", order).put("default_value", defaultValue);
+  }
+
+  @Setup
+  public void setup() {
+    HttpServerRequest request = mock(HttpServerRequest.class, withSettings().stubOnly());
+    when(request.params()).thenReturn(MultiMap.caseInsensitiveMultiMap()
+        .add("query", "title=\"harry potter\"").add("offset", "20").add("limit", "50"));
+    when(request.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+    HttpServerResponse response = mock(HttpServerResponse.class, withSettings().stubOnly());
+    when(response.headers()).thenAnswer(invocation -> MultiMap.caseInsensitiveMultiMap());
+    routingContext = mock(RoutingContext.class, withSettings().stubOnly());
+    when(routingContext.request()).thenReturn(request);
+    when(routingContext.response()).thenReturn(response);
+
+    body = BenchmarkData.record(1, readOnlyField).toBuffer();
+    params = new JsonObject()
+        .put("entity", param("entity", BenchmarkRecord.class.getName(), AnnotationGrabber.NON_ANNOTATED_PARAM, 0, null))
+        .put("okapiHeaders", param("okapiHeaders", "java.util.Map", AnnotationGrabber.NON_ANNOTATED_PARAM, 1, null))
+        .put("query", param("query", "java.lang.String", AnnotationGrabber.QUERY_PARAM, 2, null))
+        .put("offset", param("offset", "int", AnnotationGrabber.QUERY_PARAM, 3, "0"))
+        .put("limit", param("limit", "int", AnnotationGrabber.QUERY_PARAM, 4, "10"))
+        .put("lang", param("lang", "java.lang.String", AnnotationGrabber.QUERY_PARAM, 5, "en"));
+    okapiHeaders = Map.of(
+        "x-okapi-tenant", "diku",
+        RestVerticle.OKAPI_USERID_HEADER, BenchmarkData.uuid(2000));
+
+    List<BenchmarkRecord> list = IntStream.range(0, records).mapToObj(BenchmarkData::pojo)
+        .collect(Collectors.toList());
+    BenchmarkRecords collection = new BenchmarkRecords();
+    collection.setRecords(list);
+    collection.setTotalRecords(list.size());
+    collectionResponse = Future.succeededFuture(Response.status(200)
+        .header("Content-Type", "application/json").entity(collection).build());
+
+    if (parseParams()[0] == null) {
+      throw new IllegalStateException("parameter binding failed");
+    }
+  }
+
+  /**
+   * Bind the body, the okapi headers and the query parameters, validate the body and
+   * populate its metadata; the records parameter doesn't apply.
+   */
+  @Benchmark
+  public Object[] parseParams() {
+    Object[] paramArray = new Object[params.size()];
+    RestRouting.parseParams(routingContext, body, params.iterator(), paramArray, new String[0], okapiHeaders);
+    return paramArray;
+  }
+
+  /**
+   * Serialize a collection of records; the readOnlyField parameter doesn't apply.
+   */
+  @Benchmark
+  public void sendResponse() {
+    RestRouting.sendResponse(routingContext, collectionResponse, 0, "diku");
+  }
+}
@@ -0,0 +1,52 @@
+package org.folio.rest.benchmarks;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.UUID;
+
+/**
+ * Deterministic synthetic data so that the results of different runs and releases are comparable.
+ */
+public final class BenchmarkData {
+
+  private BenchmarkData() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  /**
+   * @return the i-th deterministic version 4 UUID
+   */
+  public static String uuid(int i) {
+    // version 4, IETF variant
+    return new UUID(0x1234_5678_0000_4000L | i, 0x8000_0000_0000_0000L | i).toString();
+  }
+
+  /**
+   * @param withMetadata  whether to include the read-only metadata property
+   * @return the JSON of the i-th record
+   */
+  public static JsonObject record(int i, boolean withMetadata) {
+    JsonObject json = new JsonObject()
+        .put("id", uuid(i))
+        .put("title", "The title of record " + i + ": a study of caching in ümlaut-rich catalogues")
+        .put("contributors", new JsonArray()
+            .add(new JsonObject().put("name", "Doe, Jane " + i).put("contributorNameTypeId", uuid(1000 + i % 3)))
+            .add(new JsonObject().put("name", "Roe, Richard").put("contributorNameTypeId", uuid(1000))))
+        .put("tags", new JsonArray().add("tag" + i % 10).add("benchmark"));
+    if (withMetadata) {
+      json.put("metadata", new JsonObject()
+          .put("createdDate", "2022-06-01T12:00:00.000+00:00")
+          .put("createdByUserId", uuid(2000))
+          .put("updatedDate", "2022-06-02T12:00:00.000+00:00")
+          .put("updatedByUserId", uuid(2000)));
+    }
+    return json;
+  }
+
+  /**
+   * @return BenchmarkRecord of the i-th record without metadata
+   */
+  public static BenchmarkRecord pojo(int i) {
+    return record(i, false).mapTo(BenchmarkRecord.class);
+  }
+}
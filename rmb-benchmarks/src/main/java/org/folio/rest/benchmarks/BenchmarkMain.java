@@ -0,0 +1,54 @@
+package org.folio.rest.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks with defaults suitable for tracking regressions from release to release:
+ * all benchmarks of this module, one fork, gc profiler for the allocation rate,
+ * and JSON results written to jmh-result.json.
+ *
+ * <p>All JMH command line options are supported and take precedence, for example
+ * {@code java -jar target/benchmarks.jar CQL2PgJSONBenchmark -rff cql.json}.
+ */
+public final class BenchmarkMain {
+  public static final String RESULT_FILE = "jmh-result.json";
+
+  private BenchmarkMain() {
+    throw new UnsupportedOperationException("Cannot instantiate utility class.");
+  }
+
+  public static void main(String[] args) throws Exception {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    if (commandLine.shouldHelp()) {
+      commandLine.showHelp();
+      return;
+    }
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (commandLine.getIncludes().isEmpty()) {
+      options.include("org\\.folio\\..*Benchmark");
+    }
+    if (! commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    if (! commandLine.getResult().hasValue()) {
+      options.result(RESULT_FILE);
+    }
+    if (! commandLine.getForkCount().hasValue()) {
+      options.forks(1);
+    }
+    if (commandLine.getProfilers().isEmpty()) {
+      options.addProfiler(GCProfiler.class);
+    }
+    Runner runner = new Runner(options.build());
+    if (commandLine.shouldList()) {
+      runner.list();
+      return;
+    }
+    runner.run();
+  }
+}
@@ -0,0 +1,99 @@
+package org.folio.rest.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+import javax.validation.Valid;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Null;
+import javax.validation.constraints.Pattern;
+import org.folio.rest.jaxrs.model.Metadata;
+
+/**
+ * A record shaped like the POJOs that RMB generates from a JSON schema, with a read-only metadata property.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BenchmarkRecord {
+
+  public static class Contributor {
+    @JsonProperty("name")
+    @NotNull
+    private String name;
+    @JsonProperty("contributorNameTypeId")
+    private String contributorNameTypeId;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public String getContributorNameTypeId() {
+      return contributorNameTypeId;
+    }
+
+    public void setContributorNameTypeId(String contributorNameTypeId) {
+      this.contributorNameTypeId = contributorNameTypeId;
+    }
+  }
+
+  @JsonProperty("id")
+  @Pattern(regexp = "^[a-fA-F0-9]{8}-[a-fA-F0-9]{4}-[1-5][a-fA-F0-9]{3}-[89abAB][a-fA-F0-9]{3}-[a-fA-F0-9]{12}$")
+  private String id;
+  @JsonProperty("title")
+  @NotNull
+  private String title;
+  @JsonProperty("contributors")
+  @Valid
+  private List<Contributor> contributors = new ArrayList<>();
+  @JsonProperty("tags")
+  private List<String> tags = new ArrayList<>();
+  /** read-only */
+  @JsonProperty("metadata")
+  @Null
+  @Valid
+  private Metadata metadata;
+
+  public String getId() {
+    return id;
+  }
+
+  public void setId(String id) {
+    this.id = id;
+  }
+
+  public String getTitle() {
+    return title;
+  }
+
+  public void setTitle(String title) {
+    this.title = title;
+  }
+
+  public List<Contributor> getContributors() {
+    return contributors;
+  }
+
+  public void setContributors(List<Contributor> contributors) {
+    this.contributors = contributors;
+  }
+
+  public List<String> getTags() {
+    return tags;
+  }
+
+  public void setTags(List<String> tags) {
+    this.tags = tags;
+  }
+
+  public Metadata getMetadata() {
+    return metadata;
+  }
+
+  public void setMetadata(Metadata metadata) {
+    this.metadata = metadata;
+  }
+}
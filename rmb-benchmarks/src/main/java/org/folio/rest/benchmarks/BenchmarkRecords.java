@@ -0,0 +1,33 @@
+package org.folio.rest.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A collection of records shaped like the collection POJOs that RMB generates.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BenchmarkRecords {
+  @JsonProperty("records")
+  private List<BenchmarkRecord> records = new ArrayList<>();
+  @JsonProperty("totalRecords")
+  private Integer totalRecords;
+
+  public List<BenchmarkRecord> getRecords() {
+    return records;
+  }
+
+  public void setRecords(List<BenchmarkRecord> records) {
+    this.records = records;
+  }
+
+  public Integer getTotalRecords() {
+    return totalRecords;
+  }
+
+  public void setTotalRecords(Integer totalRecords) {
+    this.totalRecords = totalRecords;
+  }
+}
@@ -0,0 +1,78 @@
+package org.folio.rest.persist;
+
+import io.vertx.pgclient.impl.RowImpl;
+import io.vertx.sqlclient.Row;
+import io.vertx.sqlclient.RowSet;
+import io.vertx.sqlclient.impl.RowDesc;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.folio.rest.benchmarks.BenchmarkData;
+import org.folio.rest.benchmarks.BenchmarkRecord;
+import org.folio.rest.persist.helpers.LocalRowSet;
+import org.folio.rest.persist.interfaces.Results;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PostgresClient.processResults and deserializeRow over synthetic RowSets with the
+ * id and jsonb columns that a SELECT of a RMB table returns.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PostgresClientBenchmark {
+
+  @Param({"10", "100", "1000"})
+  public int rows;
+
+  private PostgresClient postgresClient;
+  private RowSet<Row> rowSet;
+  private Row row;
+
+  @Setup
+  public void setup() {
+    postgresClient = PostgresClient.testClient();
+    List<String> columnNames = Arrays.asList("id", "jsonb");
+    RowDesc rowDesc = new RowDesc(columnNames);
+    List<Row> list = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      Row r = new RowImpl(rowDesc);
+      r.addUUID(UUID.fromString(BenchmarkData.uuid(i)));
+      r.addValue(BenchmarkData.record(i, true));
+      list.add(r);
+    }
+    rowSet = new LocalRowSet(rows).withColumns(columnNames).withRows(list);
+    row = list.get(0);
+  }
+
+  @Benchmark
+  public Results<BenchmarkRecord> processResults() {
+    return postgresClient.processResults(rowSet, rows, 0, rows, BenchmarkRecord.class);
+  }
+
+  /**
+   * A single row, independent of the rows parameter.
+   */
+  @Benchmark
+  public Object deserializeRow() throws Exception {
+    PostgresClient.ResultsHelper<BenchmarkRecord> resultsHelper =
+        new PostgresClient.ResultsHelper<>(rowSet, rows, BenchmarkRecord.class);
+    return postgresClient.deserializeRow(resultsHelper, new HashMap<>(), false, row);
+  }
+}
@@ -0,0 +1,82 @@
+package org.folio.rest.tools.parser;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import java.util.concurrent.TimeUnit;
+import org.folio.rest.benchmarks.BenchmarkData;
+import org.folio.rest.tools.client.Response;
+import org.folio.rest.tools.client.exceptions.ResponseNullPointer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * JsonPathParser lookups and Response.joinOn of a user collection with a user group collection.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonPathParserBenchmark {
+
+  @Param({"10", "100"})
+  public int records;
+
+  private JsonObject recordCollection;
+  private JsonObject users;
+  private Response groups;
+
+  @Setup
+  public void setup() {
+    JsonArray array = new JsonArray();
+    for (int i = 0; i < records; i++) {
+      array.add(BenchmarkData.record(i, true));
+    }
+    recordCollection = new JsonObject().put("records", array).put("totalRecords", records);
+
+    JsonArray userArray = new JsonArray();
+    for (int i = 0; i < records; i++) {
+      userArray.add(new JsonObject().put("id", BenchmarkData.uuid(i)).put("username", "user" + i)
+          .put("patronGroup", BenchmarkData.uuid(3000 + i % 5)));
+    }
+    users = new JsonObject().put("users", userArray).put("totalRecords", records);
+
+    JsonArray groupArray = new JsonArray();
+    for (int i = 0; i < 5; i++) {
+      groupArray.add(new JsonObject().put("id", BenchmarkData.uuid(3000 + i)).put("group", "group" + i));
+    }
+    groups = new Response();
+    groups.setBody(new JsonObject().put("usergroups", groupArray).put("totalRecords", 5));
+  }
+
+  @Benchmark
+  public Object getValueAtWildcard() {
+    return new JsonPathParser(recordCollection).getValueAt("records[*].contributors[*].name");
+  }
+
+  @Benchmark
+  public Object getValueAtIndex() {
+    return new JsonPathParser(recordCollection).getValueAt("records[" + (records - 1) + "].metadata.createdDate");
+  }
+
+  /**
+   * Replace each patronGroup id by the group name. joinOn changes the body, therefore
+   * this includes copying the user collection.
+   */
+  @Benchmark
+  public Response joinOn() throws ResponseNullPointer {
+    Response response = new Response();
+    response.setBody(users.copy());
+    return response.joinOn("users[*].patronGroup", groups, "usergroups[*].id", "group");
+  }
+}
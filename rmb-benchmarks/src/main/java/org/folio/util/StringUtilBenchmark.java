@@ -0,0 +1,64 @@
+package org.folio.util;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * PercentCodec and StringUtil encoding of CQL queries for URLs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StringUtilBenchmark {
+
+  private static final Map<String, String> VALUES = Map.of(
+      "ascii", "status == open and (title=\"harry potter\" or title=\"lord of the rings\")",
+      "unicode", "contributors=\"Müller, Jürgen\" and title=\"Война и мир\" and title=\"東京の歴史\"",
+      "long", "id==(" + "12345678-1234-4123-8123-123456789012 or ".repeat(50) + "12345678-1234-4123-8123-123456789012)");
+
+  @Param({"ascii", "unicode", "long"})
+  public String value;
+
+  private String s;
+
+  @Setup
+  public void setup() {
+    s = VALUES.get(value);
+  }
+
+  @Benchmark
+  public String percentCodecEncodeAsString() {
+    return PercentCodec.encodeAsString(s);
+  }
+
+  @Benchmark
+  public StringBuilder percentCodecEncodeAppend() {
+    StringBuilder url = new StringBuilder("http://localhost:9130/instance-storage/instances?query=");
+    PercentCodec.encode(url, s);
+    return url;
+  }
+
+  @Benchmark
+  public String urlEncode() {
+    return StringUtil.urlEncode(s);
+  }
+
+  @Benchmark
+  public String cqlEncode() {
+    return StringUtil.cqlEncode(s);
+  }
+}